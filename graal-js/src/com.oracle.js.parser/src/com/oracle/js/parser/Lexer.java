@@ -136,8 +136,11 @@ public class Lexer extends Scanner {
 
     /** Map to intern strings during parsing (memory footprint). */
     private final Map<String, TruffleString> internedStrings;
+    /** Interns identifiers and strings directly from the source content. */
+    private final RegionInternTable internedRegions;
 
     private static final int JAVASCRIPT_WHITESPACE_HIGH_START = '\u1680'; // Ogham space mark
+    private static final char ASCII_LIMIT = 0x80;
 
     /**
      * Constructor
@@ -185,6 +188,7 @@ public class Lexer extends Scanner {
 
         this.pauseOnFunctionBody = pauseOnFunctionBody;
         this.internedStrings = new HashMap<>();
+        this.internedRegions = new RegionInternTable();
     }
 
     private Lexer(final Lexer lexer, final State state) {
@@ -204,6 +208,7 @@ public class Lexer extends Scanner {
         last = EOL;
         pauseOnFunctionBody = false;
         internedStrings = lexer.internedStrings;
+        internedRegions = lexer.internedRegions;
     }
 
     static class State extends Scanner.State {
@@ -450,6 +455,17 @@ public class Lexer extends Scanner {
         while (isWhitespace(ch0)) {
             if (isEOL(ch0)) {
                 skipEOL(addEOL);
+            } else if (ch0 == ' ' || ch0 == '\t') {
+                // Fast path for indentation: skip the whole run at once.
+                int i = position + 1;
+                while (i < limit) {
+                    char c = content.charAt(i);
+                    if (c != ' ' && c != '\t') {
+                        break;
+                    }
+                    i++;
+                }
+                reset(i);
             } else {
                 skip(1);
             }
@@ -457,10 +473,12 @@ public class Lexer extends Scanner {
     }
 
     private void skipUntilEOL() {
-        // Scan for EOL.
-        while (!atEOF() && !isEOL(ch0)) {
-            skip(1);
+        // Scan for EOL, without maintaining the lookahead characters.
+        int i = position;
+        while (i < limit && !isEOL(content.charAt(i))) {
+            i++;
         }
+        reset(i);
     }
 
     private void skipSingleLineComment() {
@@ -491,6 +509,17 @@ public class Lexer extends Scanner {
             // If end of line handle else skip character.
             if (isEOL(ch0)) {
                 skipEOL(true);
+            } else if (ch0 != '*') {
+                // Skip the run of characters up to the next '*' or end of line.
+                int i = position + 1;
+                while (i < limit) {
+                    char c = content.charAt(i);
+                    if (c == '*' || isEOL(c)) {
+                        break;
+                    }
+                    i++;
+                }
+                reset(i);
             } else {
                 skip(1);
             }
@@ -928,6 +957,10 @@ public class Lexer extends Scanner {
     private TruffleString valueOfIdent(final int start, final int length, final boolean convertUnicode) {
         // End of scan.
         final int end = start + length;
+        if (!convertUnicode || !containsBackslash(start, end)) {
+            // No escapes: intern directly from the source content.
+            return internRegion(start, length);
+        }
         // Buffer for recording characters.
         final StringBuilder sb = new StringBuilder(length);
 
@@ -1168,9 +1201,20 @@ public class Lexer extends Scanner {
                     skipEOL(false);
                     continue;
                 }
+                // Skip escaped character.
+                skip(1);
+            } else {
+                // Skip the run of literal characters up to the next quote, escape or line end.
+                int i = position + 1;
+                while (i < limit) {
+                    char c = content.charAt(i);
+                    if (c == quote || c == '\\' || Lexer.isStringLineTerminator(c)) {
+                        break;
+                    }
+                    i++;
+                }
+                reset(i);
             }
-            // Skip literal character.
-            skip(1);
         }
 
         // If close quote.
@@ -1564,6 +1608,17 @@ public class Lexer extends Scanner {
                 if (!IdentUtils.isIdentifierPart(codePoint)) {
                     error(Lexer.message(MSG_ILLEGAL_IDENTIFIER_CHARACTER), TokenType.IDENT, start, position - start);
                 }
+            } else if (ch0 < ASCII_LIMIT && IdentUtils.isIdentifierPart(ch0)) {
+                // Fast path: skip the whole run of ASCII identifier characters at once.
+                int i = position + 1;
+                while (i < limit) {
+                    char c = content.charAt(i);
+                    if (c >= ASCII_LIMIT || !IdentUtils.isIdentifierPart(c)) {
+                        break;
+                    }
+                    i++;
+                }
+                reset(i);
             } else if (IdentUtils.isIdentifierPart(ch0)) {
                 skip(1);
             } else if (Character.isHighSurrogate(ch0) && Character.isLowSurrogate(ch1) && IdentUtils.isIdentifierPart(Character.toCodePoint(ch0, ch1))) {
@@ -2048,7 +2103,7 @@ public class Lexer extends Scanner {
                 }
                 return value;
             case STRING:
-                return stringIntern(source.getString(start, len)); // String
+                return internRegion(start, len); // String
             case ESCSTRING:
                 return valueOfString(start, len, strict); // String
             case IDENT:
@@ -2145,6 +2200,92 @@ public class Lexer extends Scanner {
         return interned;
     }
 
+    private boolean containsBackslash(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (content.charAt(i) == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Interns the given region of the source content. Identifiers and strings recur often, so
+     * looking them up without first copying them into a new String saves most allocations.
+     */
+    private TruffleString internRegion(final int start, final int length) {
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + content.charAt(i);
+        }
+        TruffleString interned = internedRegions.get(content, start, length, hash);
+        if (interned == null) {
+            String key = content.substring(start, start + length);
+            interned = stringIntern(key);
+            internedRegions.put(key, interned);
+        }
+        return interned;
+    }
+
+    /**
+     * Open-addressing hash table from strings to interned TruffleStrings that can be queried with
+     * a region of a string instead of a String instance. Hashes are compatible with
+     * {@link String#hashCode()}.
+     */
+    private static final class RegionInternTable {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private TruffleString[] values = new TruffleString[INITIAL_CAPACITY];
+        private int size;
+
+        TruffleString get(String content, int start, int length, int hash) {
+            int mask = keys.length - 1;
+            for (int i = mix(hash) & mask;; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key == null) {
+                    return null;
+                } else if (key.length() == length && key.hashCode() == hash && content.regionMatches(start, key, 0, length)) {
+                    return values[i];
+                }
+            }
+        }
+
+        void put(String key, TruffleString value) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash();
+            }
+            insert(keys, values, key, value);
+            size++;
+        }
+
+        private void rehash() {
+            String[] oldKeys = keys;
+            TruffleString[] oldValues = values;
+            keys = new String[oldKeys.length * 2];
+            values = new TruffleString[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(keys, values, oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static void insert(String[] keys, TruffleString[] values, String key, TruffleString value) {
+            int mask = keys.length - 1;
+            int i = mix(key.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
     /**
      * Get the correctly localized error message for a given message id format arguments
      *
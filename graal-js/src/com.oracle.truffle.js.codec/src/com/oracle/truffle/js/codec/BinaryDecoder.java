@@ -57,6 +57,15 @@ public class BinaryDecoder {
         this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
     }
 
+    /**
+     * Creates a decoder that starts reading at the given absolute position. The buffer's content
+     * is shared, not copied.
+     */
+    public BinaryDecoder(ByteBuffer buffer, int position) {
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.position(position);
+    }
+
     private int getU1() {
         return Byte.toUnsignedInt(buffer.get());
     }
@@ -119,15 +128,13 @@ public class BinaryDecoder {
 
     public TruffleString getString() {
         byte[] byteArray = getByteArray();
-        return TruffleString.fromByteArrayUncached(byteArray, TruffleString.Encoding.UTF_16);
+        return TruffleString.fromByteArrayUncached(byteArray, 0, byteArray.length, TruffleString.Encoding.UTF_16, false);
     }
 
     public byte[] getByteArray() {
         int size = getUInt();
         byte[] array = new byte[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = (byte) getU1();
-        }
+        buffer.get(array);
         return array;
     }
 
@@ -152,25 +159,11 @@ public class BinaryDecoder {
     }
 
     public long getInt64() {
-        long result = 0;
-        int shift = 0;
-        for (int i = 0; i < Long.BYTES; i++) {
-            long b = getU1();
-            result |= b << shift;
-            shift += 8;
-        }
-        return result;
+        return buffer.getLong();
     }
 
     public int getInt32() {
-        int result = 0;
-        int shift = 0;
-        for (int i = 0; i < Integer.BYTES; i++) {
-            long b = getU1();
-            result |= b << shift;
-            shift += 8;
-        }
-        return result;
+        return buffer.getInt();
     }
 
     public boolean hasRemaining() {
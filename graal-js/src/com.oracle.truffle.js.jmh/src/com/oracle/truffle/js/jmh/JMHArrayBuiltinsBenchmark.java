@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Frequently used {@code Array.prototype} builtins.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHArrayBuiltinsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int ARRAY_SIZE = 10000;
+
+        Context context;
+        Value ints;
+        Value objects;
+        Value mapFilterReduce;
+        Value sortNumbers;
+        Value sortObjects;
+        Value indexOf;
+        Value pushPop;
+        Value sliceSpliceConcat;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var ints = Array.from({length: " + ARRAY_SIZE + "}, (_, i) => (i * 7919) % " + ARRAY_SIZE + ");\n" +
+                            "var objects = ints.map(i => ({key: i, name: 'n' + i}));\n" +
+                            "function mapFilterReduce(a) { return a.map(x => x * 2).filter(x => x % 3 === 0).reduce((s, x) => s + x, 0); }\n" +
+                            "function sortNumbers(a) { return a.slice().sort((x, y) => x - y); }\n" +
+                            "function sortObjects(a) { return a.slice().sort((x, y) => x.key - y.key); }\n" +
+                            "function indexOf(a) { var s = 0; for (var i = 0; i < 100; i++) { s += a.indexOf(i * 97) + (a.includes(-i) ? 1 : 0); } return s; }\n" +
+                            "function pushPop(n) { var a = []; for (var i = 0; i < n; i++) { a.push(i); } var s = 0; while (a.length > 0) { s += a.pop(); } return s; }\n" +
+                            "function sliceSpliceConcat(a) { var b = a.slice(10, 5000); b.splice(100, 50, 1, 2, 3); return b.concat(a).length; }\n"));
+            Value bindings = context.getBindings("js");
+            ints = bindings.getMember("ints");
+            objects = bindings.getMember("objects");
+            mapFilterReduce = bindings.getMember("mapFilterReduce");
+            sortNumbers = bindings.getMember("sortNumbers");
+            sortObjects = bindings.getMember("sortObjects");
+            indexOf = bindings.getMember("indexOf");
+            pushPop = bindings.getMember("pushPop");
+            sliceSpliceConcat = bindings.getMember("sliceSpliceConcat");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testMapFilterReduce(MyState state) {
+        return state.mapFilterReduce.execute(state.ints);
+    }
+
+    @Benchmark
+    public Value testSortNumbers(MyState state) {
+        return state.sortNumbers.execute(state.ints);
+    }
+
+    @Benchmark
+    public Value testSortObjects(MyState state) {
+        return state.sortObjects.execute(state.objects);
+    }
+
+    @Benchmark
+    public Value testIndexOf(MyState state) {
+        return state.indexOf.execute(state.ints);
+    }
+
+    @Benchmark
+    public Value testPushPop(MyState state) {
+        return state.pushPop.execute(MyState.ARRAY_SIZE);
+    }
+
+    @Benchmark
+    public Value testSliceSpliceConcat(MyState state) {
+        return state.sliceSpliceConcat.execute(state.ints);
+    }
+}
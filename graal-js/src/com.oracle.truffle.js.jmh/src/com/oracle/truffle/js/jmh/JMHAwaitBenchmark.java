@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a single {@code await} of different kinds of values. Each operation is one await, so
+ * running with {@code -prof gc} reports the allocated bytes per await ({@code gc.alloc.rate.norm}).
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHAwaitBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int AWAITS = 10000;
+
+        Context context;
+        Value awaitPrimitive;
+        Value awaitResolvedPromise;
+        Value awaitPendingPromise;
+        Value result;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var result = {value: 0};\n" +
+                            "var cached = Promise.resolve(1);\n" +
+                            "async function primitiveLoop(n) { var s = 0; for (var i = 0; i < n; i++) { s += await i; } return s; }\n" +
+                            "async function resolvedLoop(n) { var s = 0; for (var i = 0; i < n; i++) { s += await cached; } return s; }\n" +
+                            "async function pendingLoop(n) { var s = 0; for (var i = 0; i < n; i++) { s += await new Promise(r => r(i)); } return s; }\n" +
+                            "function awaitPrimitive(n) { primitiveLoop(n).then(v => { result.value = v; }); }\n" +
+                            "function awaitResolvedPromise(n) { resolvedLoop(n).then(v => { result.value = v; }); }\n" +
+                            "function awaitPendingPromise(n) { pendingLoop(n).then(v => { result.value = v; }); }\n"));
+            Value bindings = context.getBindings("js");
+            awaitPrimitive = bindings.getMember("awaitPrimitive");
+            awaitResolvedPromise = bindings.getMember("awaitResolvedPromise");
+            awaitPendingPromise = bindings.getMember("awaitPendingPromise");
+            result = bindings.getMember("result");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MyState.AWAITS)
+    public Value testAwaitPrimitive(MyState state) {
+        state.awaitPrimitive.execute(MyState.AWAITS);
+        return state.result.getMember("value");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MyState.AWAITS)
+    public Value testAwaitResolvedPromise(MyState state) {
+        state.awaitResolvedPromise.execute(MyState.AWAITS);
+        return state.result.getMember("value");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MyState.AWAITS)
+    public Value testAwaitPendingPromise(MyState state) {
+        state.awaitPendingPromise.execute(MyState.AWAITS);
+        return state.result.getMember("value");
+    }
+}
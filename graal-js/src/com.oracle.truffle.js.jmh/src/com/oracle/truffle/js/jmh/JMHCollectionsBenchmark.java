@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Map}, {@code Set} and {@code WeakMap} operations.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHCollectionsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int SIZE = 10000;
+
+        Context context;
+        Value mapSetGetDelete;
+        Value mapIterate;
+        Value setAddHas;
+        Value weakMapSetGet;
+        Value map;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var map = new Map();\n" +
+                            "for (var i = 0; i < " + SIZE + "; i++) { map.set('k' + i, i); }\n" +
+                            "var keys = Array.from(map.keys());\n" +
+                            "var objects = keys.map(k => ({k}));\n" +
+                            "function mapSetGetDelete(n) {\n" +
+                            "    var m = new Map(), s = 0;\n" +
+                            "    for (var i = 0; i < n; i++) { m.set(keys[i], i); m.set(i, keys[i]); }\n" +
+                            "    for (var i = 0; i < n; i++) { s += m.get(keys[i]) + m.get(i).length; }\n" +
+                            "    for (var i = 0; i < n; i += 2) { m.delete(keys[i]); }\n" +
+                            "    return s + m.size;\n" +
+                            "}\n" +
+                            "function mapIterate(m) { var s = 0; for (var [k, v] of m) { s += v; } m.forEach(v => { s -= v; }); return s; }\n" +
+                            "function setAddHas(n) {\n" +
+                            "    var set = new Set(), s = 0;\n" +
+                            "    for (var i = 0; i < n; i++) { set.add(objects[i]); set.add(i * 0.5); }\n" +
+                            "    for (var i = 0; i < n; i++) { if (set.has(objects[i]) && set.has(i)) { s++; } }\n" +
+                            "    return s + set.size;\n" +
+                            "}\n" +
+                            "function weakMapSetGet(n) {\n" +
+                            "    var wm = new WeakMap(), s = 0;\n" +
+                            "    for (var i = 0; i < n; i++) { wm.set(objects[i], i); }\n" +
+                            "    for (var i = 0; i < n; i++) { s += wm.get(objects[i]); }\n" +
+                            "    return s;\n" +
+                            "}\n"));
+            Value bindings = context.getBindings("js");
+            mapSetGetDelete = bindings.getMember("mapSetGetDelete");
+            mapIterate = bindings.getMember("mapIterate");
+            setAddHas = bindings.getMember("setAddHas");
+            weakMapSetGet = bindings.getMember("weakMapSetGet");
+            map = bindings.getMember("map");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testMapSetGetDelete(MyState state) {
+        return state.mapSetGetDelete.execute(MyState.SIZE);
+    }
+
+    @Benchmark
+    public Value testMapIterate(MyState state) {
+        return state.mapIterate.execute(state.map);
+    }
+
+    @Benchmark
+    public Value testSetAddHas(MyState state) {
+        return state.setAddHas.execute(MyState.SIZE);
+    }
+
+    @Benchmark
+    public Value testWeakMapSetGet(MyState state) {
+        return state.weakMapSetGet.execute(MyState.SIZE);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parse time of (minified) script bundles. Pass real-world bundles with
+ * {@code -p bundle=/path/to/bundle.js}; by default, a generated minified-style bundle is used.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHParserBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({""}) String bundle;
+
+        Context context;
+        Source source;
+
+        @Setup(Level.Trial)
+        public void doSetup() throws IOException {
+            context = Context.create("js");
+            String code = bundle.isEmpty() ? generateBundle(2000) : new String(Files.readAllBytes(Paths.get(bundle)), StandardCharsets.UTF_8);
+            // Do not cache the source, so that every parse call has to parse it again.
+            source = Source.newBuilder("js", code, bundle.isEmpty() ? "bundle.js" : bundle).cached(false).buildLiteral();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+
+        private static String generateBundle(int modules) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("(function(){var m={};");
+            for (int i = 0; i < modules; i++) {
+                sb.append("m[").append(i).append("]=function(e,t,n){\"use strict\";");
+                sb.append("var r=n(").append(i / 2).append("),o=\"module").append(i).append(": \"+r.name,a={id:").append(i);
+                sb.append(",name:'m").append(i % 100).append("',deps:[").append(i / 3).append(',').append(i / 5).append("]};");
+                sb.append("/* exports */function u(e){for(var t=0;t<e.length;t++){if(e[t]===null)continue;a.deps.push(e[t]*2.5)}return o+a.name}");
+                sb.append("t.exports={value:u,label:\"\\u00e4\\t\"+o,flag:!0,count:0x1F};};\n");
+            }
+            sb.append("return m;})();");
+            return sb.toString();
+        }
+    }
+
+    @Benchmark
+    public Value testParseBundle(MyState state) {
+        return state.context.parse(state.source);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Promise and async function throughput. Pending jobs are run when the call returns to the host,
+ * so every invocation includes draining the microtask queue.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHPromiseBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int ITERATIONS = 1000;
+
+        Context context;
+        Value promiseChain;
+        Value promiseAll;
+        Value asyncAwait;
+        Value result;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var result = {value: 0};\n" +
+                            "function promiseChain(n) {\n" +
+                            "    var p = Promise.resolve(0);\n" +
+                            "    for (var i = 0; i < n; i++) { p = p.then(v => v + 1); }\n" +
+                            "    p.then(v => { result.value = v; });\n" +
+                            "}\n" +
+                            "function promiseAll(n) {\n" +
+                            "    var ps = [];\n" +
+                            "    for (var i = 0; i < n; i++) { ps.push(new Promise(resolve => resolve(i))); }\n" +
+                            "    Promise.all(ps).then(vs => { result.value = vs.length; });\n" +
+                            "}\n" +
+                            "async function add(a, b) { return a + await b; }\n" +
+                            "async function asyncLoop(n) { var s = 0; for (var i = 0; i < n; i++) { s = await add(s, i); } return s; }\n" +
+                            "function asyncAwait(n) { asyncLoop(n).then(v => { result.value = v; }); }\n"));
+            Value bindings = context.getBindings("js");
+            promiseChain = bindings.getMember("promiseChain");
+            promiseAll = bindings.getMember("promiseAll");
+            asyncAwait = bindings.getMember("asyncAwait");
+            result = bindings.getMember("result");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testPromiseChain(MyState state) {
+        state.promiseChain.execute(MyState.ITERATIONS);
+        return state.result.getMember("value");
+    }
+
+    @Benchmark
+    public Value testPromiseAll(MyState state) {
+        state.promiseAll.execute(MyState.ITERATIONS);
+        return state.result.getMember("value");
+    }
+
+    @Benchmark
+    public Value testAsyncAwait(MyState state) {
+        state.asyncAwait.execute(MyState.ITERATIONS);
+        return state.result.getMember("value");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RegExp execution. Dynamically created patterns hit the compiled regex cache if there are few
+ * distinct patterns and miss it if there are more distinct patterns than the cache can hold.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHRegExpBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int ITERATIONS = 1000;
+
+        @Param({"1", "10000"}) int patterns;
+
+        Context context;
+        Value input;
+        Value execLiteral;
+        Value execDynamic;
+        Value replace;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var input = 'GET /api/v1/users/12345/orders?limit=10&offset=20 HTTP/1.1';\n" +
+                            "var counter = 0;\n" +
+                            "function execLiteral(s, n) { var r = 0; for (var i = 0; i < n; i++) { var m = /\\/users\\/(\\d+)\\/(\\w+)\\?limit=(\\d+)/.exec(s); r += m[1].length; } return r; }\n" +
+                            "function execDynamic(s, n, patterns) {\n" +
+                            "    var r = 0;\n" +
+                            "    for (var i = 0; i < n; i++) {\n" +
+                            "        var re = new RegExp('(\\\\w+)=(\\\\d+)|x' + (counter++ % patterns));\n" +
+                            "        r += re.exec(s)[2].length;\n" +
+                            "    }\n" +
+                            "    return r;\n" +
+                            "}\n" +
+                            "function replace(s, n) { var r = 0; for (var i = 0; i < n; i++) { r += s.replace(/(\\d+)/g, '<$1>').length; } return r; }\n"));
+            Value bindings = context.getBindings("js");
+            input = bindings.getMember("input");
+            execLiteral = bindings.getMember("execLiteral");
+            execDynamic = bindings.getMember("execDynamic");
+            replace = bindings.getMember("replace");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testExecLiteral(MyState state) {
+        return state.execLiteral.execute(state.input, MyState.ITERATIONS);
+    }
+
+    @Benchmark
+    public Value testExecDynamic(MyState state) {
+        return state.execDynamic.execute(state.input, MyState.ITERATIONS, state.patterns);
+    }
+
+    @Benchmark
+    public Value testReplace(MyState state) {
+        return state.replace.execute(state.input, MyState.ITERATIONS);
+    }
+}
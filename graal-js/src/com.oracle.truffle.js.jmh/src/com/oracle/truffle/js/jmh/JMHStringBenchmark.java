@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * String concatenation, substrings and searching.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHStringBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        protected static final int ITERATIONS = 1000;
+
+        Context context;
+        Value text;
+        Value concat;
+        Value templateConcat;
+        Value substring;
+        Value search;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", "" +
+                            "var text = 'The quick brown fox jumps over the lazy dog. '.repeat(200);\n" +
+                            "function concat(n) { var s = ''; for (var i = 0; i < n; i++) { s += 'item' + i + ','; } return s.length; }\n" +
+                            "function templateConcat(n) { var s = ''; for (var i = 0; i < n; i++) { s = `${s}<li>${i}</li>`; } return s.length; }\n" +
+                            "function substring(t, n) { var s = 0; for (var i = 0; i < n; i++) { s += t.substring(i, i + 20).length + t.slice(-i - 5, -i).length + t.substr(i, 3).charCodeAt(1); } return s; }\n" +
+                            "function search(t, n) { var s = 0; for (var i = 0; i < n; i++) { s += t.indexOf('lazy', i) + t.lastIndexOf('quick') + (t.startsWith('The') ? 1 : 0) + t.split(' ', 5).length; } return s; }\n"));
+            Value bindings = context.getBindings("js");
+            text = bindings.getMember("text");
+            concat = bindings.getMember("concat");
+            templateConcat = bindings.getMember("templateConcat");
+            substring = bindings.getMember("substring");
+            search = bindings.getMember("search");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testConcat(MyState state) {
+        return state.concat.execute(MyState.ITERATIONS);
+    }
+
+    @Benchmark
+    public Value testTemplateConcat(MyState state) {
+        return state.templateConcat.execute(MyState.ITERATIONS);
+    }
+
+    @Benchmark
+    public Value testSubstring(MyState state) {
+        return state.substring.execute(state.text, MyState.ITERATIONS);
+    }
+
+    @Benchmark
+    public Value testSearch(MyState state) {
+        return state.search.execute(state.text, MyState.ITERATIONS);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Translates lazily translated functions on a small dedicated thread pool ahead of their first
+ * call, so that the thread executing the script does not have to.
+ *
+ * Translation is published via {@link JSFunctionData#initializeRootInBackground()}, which does not
+ * take the context lock that serializes on-demand translations, so the executing thread is never
+ * blocked by a background translation of a function it does not need. If the pool is saturated,
+ * further batches are dropped, and if a translation fails with a JS error (e.g., an early error),
+ * the function is left untranslated; in both cases, the function is translated on its first call by
+ * the calling thread as usual, which then also reports the error.
+ */
+final class BackgroundTranslation {
+
+    private static final int MAX_THREADS = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int MAX_QUEUED_BATCHES = 64;
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private static final DebugCounter translated = DebugCounter.create("Functions translated in background");
+    private static final DebugCounter failed = DebugCounter.create("Background translations failed");
+    private static final DebugCounter dropped = DebugCounter.create("Background translation batches dropped");
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private BackgroundTranslation() {
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_BATCHES), r -> {
+            Thread thread = new Thread(r, "graaljs-background-translation");
+            thread.setDaemon(true);
+            return thread;
+        }, (r, e) -> dropped.inc());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static void submit(List<JSFunctionData> functions) {
+        JSFunctionData[] batch = functions.toArray(new JSFunctionData[functions.size()]);
+        EXECUTOR.execute(() -> {
+            for (JSFunctionData functionData : batch) {
+                try {
+                    functionData.initializeRootInBackground();
+                    translated.inc();
+                } catch (AbstractTruffleException | StackOverflowError e) {
+                    // translated (and the error thrown) on first call instead
+                    failed.inc();
+                }
+            }
+        });
+    }
+}
@@ -49,16 +49,39 @@ import com.oracle.truffle.js.nodes.JSNodeDecoder;
 import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.runtime.JSContext;
 
+/**
+ * Provides the AST of a script from a binary snapshot (as written by {@code JSNodeEncoder}).
+ *
+ * The snapshot header (magic, format checksum, source length and hash) is validated once, when the
+ * provider is created. The snapshot is never copied: every {@link #apply} decodes directly from the
+ * provider's buffer, and function bodies are only decoded when the function is first called.
+ */
 public class BinarySnapshotProvider implements SnapshotProvider {
     public static final int MAGIC = 0x314e4942;
+    /** Size of the header: magic, checksum, source length, and source hash. */
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
     private final ByteBuffer buffer;
+    private final int sourceLength;
+    private final int sourceHash;
 
     public BinarySnapshotProvider(ByteBuffer buffer) {
-        this.buffer = buffer;
-        assert checkFormat(new BinaryDecoder(buffer));
+        // positions in the snapshot are relative to its start
+        this.buffer = buffer.slice().asReadOnlyBuffer();
+        BinaryDecoder decoder = new BinaryDecoder(this.buffer);
+        checkFormat(decoder);
+        this.sourceLength = decoder.getInt32();
+        this.sourceHash = decoder.getInt32();
+    }
+
+    public BinarySnapshotProvider(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
     }
 
-    private static boolean checkFormat(BinaryDecoder decoder) {
+    private static void checkFormat(BinaryDecoder decoder) {
+        if (decoder.getBuffer().remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Unknown format");
+        }
         int magic = decoder.getInt32();
         if (magic != MAGIC) {
             throw new IllegalArgumentException("Unknown format");
@@ -67,23 +90,15 @@ public class BinarySnapshotProvider implements SnapshotProvider {
         if (checksum != JSNodeDecoder.getChecksum()) {
             throw new IllegalArgumentException("Snapshot verification failed");
         }
-        return true;
-    }
-
-    public BinarySnapshotProvider(byte[] bytes) {
-        this(ByteBuffer.wrap(bytes));
     }
 
     @Override
     public Object apply(NodeFactory nodeFactory, JSContext context, Source source) {
-        BinaryDecoder decoder = new BinaryDecoder(buffer);
-        checkFormat(decoder);
-        int sourceLength = decoder.getInt32();
-        int sourceHash = decoder.getInt32();
         CharSequence code = source.getCharacters();
         if (code.length() != sourceLength || code.hashCode() != sourceHash) {
             throw new IllegalArgumentException("Snapshot verification failed");
         }
+        BinaryDecoder decoder = new BinaryDecoder(buffer, HEADER_SIZE);
         return new JSNodeDecoder().decodeNode(new NodeDecoder.DecoderState(decoder), nodeFactory, context, source);
     }
 }
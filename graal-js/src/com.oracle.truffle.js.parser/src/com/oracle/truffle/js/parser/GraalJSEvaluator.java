@@ -67,6 +67,7 @@ import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
@@ -83,6 +84,7 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JSFrameDescriptor;
 import com.oracle.truffle.js.nodes.JSFrameSlot;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.nodes.ScriptNode;
@@ -97,6 +99,7 @@ import com.oracle.truffle.js.nodes.promise.PerformPromiseThenNode;
 import com.oracle.truffle.js.parser.date.DateParser;
 import com.oracle.truffle.js.parser.env.DebugEnvironment;
 import com.oracle.truffle.js.parser.env.Environment;
+import com.oracle.truffle.js.parser.snapshot.RecordingSnapshotRecorder;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.GraalJSException;
 import com.oracle.truffle.js.runtime.JSArguments;
@@ -126,6 +129,7 @@ import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.CodeCache;
 import com.oracle.truffle.js.runtime.util.Pair;
 
 /**
@@ -243,6 +247,10 @@ public final class GraalJSEvaluator implements JSParser {
         if (isModuleSource(source)) {
             return fakeScriptForModule(context, source);
         }
+        CodeCache codeCache = context.getCodeCache();
+        if (codeCache != null && prolog.isEmpty() && epilog.isEmpty() && argumentNames == null) {
+            return parseScriptWithCodeCache(context, codeCache, source, isStrict);
+        }
         try {
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
@@ -250,6 +258,56 @@ public final class GraalJSEvaluator implements JSParser {
         }
     }
 
+    /**
+     * Loads the script from the persistent code cache or, on a miss, translates it while recording
+     * a new cache entry (unless recording is not supported).
+     */
+    private static ScriptNode parseScriptWithCodeCache(JSContext context, CodeCache codeCache, Source source, boolean isStrict) {
+        TruffleLanguage.Env env = JavaScriptLanguage.getCurrentEnv();
+        String variant = codeCacheVariant(context, isStrict);
+        ByteBuffer snapshot = codeCache.load(env, source, variant);
+        if (snapshot != null) {
+            try {
+                return ScriptNode.fromFunctionRoot(context, (FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source));
+            } catch (RuntimeException e) {
+                // stale or corrupt entry (e.g. written by a different version): parse from scratch
+                codeCache.invalidate(env, source, variant);
+            }
+        }
+        SnapshotRecorder recorder = SnapshotRecorderHolder.RECORDER;
+        try {
+            if (recorder == null || context.getContextOptions().isLazyTranslation()) {
+                return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, "", "", null);
+            }
+            Pair<ScriptNode, ByteBuffer> recorded = recorder.translateScript(context, source, isStrict);
+            if (recorded.getSecond() != null) {
+                codeCache.store(env, source, variant, recorded.getSecond());
+            }
+            return recorded.getFirst();
+        } catch (com.oracle.js.parser.ParserException e) {
+            throw Errors.createSyntaxError(e.getMessage());
+        }
+    }
+
+    /**
+     * Everything besides the source code that the encoded AST depends on.
+     */
+    private static String codeCacheVariant(JSContext context, boolean isStrict) {
+        return JSNodeDecoder.getChecksum() + ";" + isStrict + ";" + context.getContextOptions().getCodeCacheKey();
+    }
+
+    private static final class SnapshotRecorderHolder {
+        static final SnapshotRecorder RECORDER = loadSnapshotRecorder();
+
+        private static SnapshotRecorder loadSnapshotRecorder() {
+            if (JSConfig.SubstrateVM) {
+                // recording relies on reflective node factory calls
+                return null;
+            }
+            return new RecordingSnapshotRecorder();
+        }
+    }
+
     private static boolean isModuleSource(Source source) {
         String mimeType = source.getMimeType();
         return MODULE_MIME_TYPE.equals(mimeType) || (mimeType == null && source.getName().endsWith(MODULE_SOURCE_NAME_SUFFIX));
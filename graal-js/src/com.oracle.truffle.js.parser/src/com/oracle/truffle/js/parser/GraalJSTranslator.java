@@ -221,6 +221,8 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     protected final int sourceLength;
     protected final int prologLength;
     private final boolean isParentStrict;
+    /** Lazily translated functions to be translated in the background. */
+    private List<JSFunctionData> backgroundTranslationQueue;
 
     protected GraalJSTranslator(LexicalContext lc, NodeFactory factory, JSContext context, Source source, List<String> argumentNames, int prologLength, Environment environment,
                     boolean isParentStrict) {
@@ -313,6 +315,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             throw new IllegalArgumentException("root function node is not a script");
         }
         JSFunctionExpressionNode functionExpression = (JSFunctionExpressionNode) transformFunction(functionNode);
+        submitBackgroundTranslation();
         return ScriptNode.fromFunctionData(context, functionExpression.getFunctionData());
     }
 
@@ -381,6 +384,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
             functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
                             needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+            functionData.setNumericComparatorOrder(numericComparatorOrder(functionNode));
 
             LexicalContext savedLC = lc.copy();
             Environment parentEnv = environment;
@@ -389,6 +393,13 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 translator.translateFunctionOnDemand(functionNode, fd, isStrict, isGlobal, needsParentFrame, functionName, hasSyntheticArguments);
             });
             functionRoot = null;
+
+            if (context.getContextOptions().isBackgroundTranslation() && isBackgroundTranslationCandidate(functionNode)) {
+                if (backgroundTranslationQueue == null) {
+                    backgroundTranslationQueue = new ArrayList<>();
+                }
+                backgroundTranslationQueue.add(functionData);
+            }
         } else {
             Environment prevEnv = environment;
             try (EnvironmentCloseable functionEnv = enterFunctionEnvironment(functionNode, isStrict, isGlobal, hasSyntheticArguments)) {
@@ -423,6 +434,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
 
                 functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
                                 needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                functionData.setNumericComparatorOrder(numericComparatorOrder(functionNode));
 
                 if (functionNode.isModule()) {
                     functionRoot = createModuleRoot(functionNode, functionData, currentFunction, body);
@@ -489,10 +501,67 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             currentFunction.freeze();
             assert currentFunction.isDeepFrozen();
 
-            return createFunctionRoot(functionNode, functionData, currentFunction, body);
+            FunctionRootNode functionRoot = createFunctionRoot(functionNode, functionData, currentFunction, body);
+            submitBackgroundTranslation();
+            return functionRoot;
+        }
+    }
+
+    /**
+     * Top-level functions of a script or module are likely to be called during startup; other
+     * functions are only worth translating ahead of time if they are large.
+     */
+    private boolean isBackgroundTranslationCandidate(FunctionNode functionNode) {
+        return (environment != null && currentFunction().isGlobal()) || functionNode.getFinish() - functionNode.getStart() >= JSConfig.BackgroundTranslationMinLength;
+    }
+
+    /**
+     * Hands the lazily translated functions collected so far over to background translation. Must
+     * only be called once the enclosing function environments are frozen.
+     */
+    protected final void submitBackgroundTranslation() {
+        if (backgroundTranslationQueue != null) {
+            BackgroundTranslation.submit(backgroundTranslationQueue);
+            backgroundTranslationQueue = null;
         }
     }
 
+    /**
+     * Returns 1 if the function's body is {@code return a - b;} (or the arrow function's body is
+     * {@code a - b}) for its two parameters {@code a} and {@code b}, -1 for {@code b - a}, and 0
+     * otherwise. Array.prototype.sort uses this to sort numbers without calling the function.
+     */
+    private static int numericComparatorOrder(FunctionNode functionNode) {
+        if (functionNode.isGenerator() || functionNode.isAsync() || functionNode.getNumOfParams() != 2 || !functionNode.hasSimpleParameterList()) {
+            return 0;
+        }
+        List<Statement> statements = functionNode.getBody().getStatements();
+        if (statements.size() != 1 || !(statements.get(0) instanceof com.oracle.js.parser.ir.ReturnNode)) {
+            return 0;
+        }
+        Expression expression = ((com.oracle.js.parser.ir.ReturnNode) statements.get(0)).getExpression();
+        if (!(expression instanceof BinaryNode) || expression.tokenType() != TokenType.SUB) {
+            return 0;
+        }
+        Expression lhs = ((BinaryNode) expression).getLhs();
+        Expression rhs = ((BinaryNode) expression).getRhs();
+        if (!(lhs instanceof IdentNode) || !(rhs instanceof IdentNode)) {
+            return 0;
+        }
+        String first = functionNode.getParameters().get(0).getName();
+        String second = functionNode.getParameters().get(1).getName();
+        String left = ((IdentNode) lhs).getName();
+        String right = ((IdentNode) rhs).getName();
+        if (first.equals(second)) {
+            return 0;
+        } else if (first.equals(left) && second.equals(right)) {
+            return 1;
+        } else if (second.equals(left) && first.equals(right)) {
+            return -1;
+        }
+        return 0;
+    }
+
     private FunctionRootNode createFunctionRoot(FunctionNode functionNode, JSFunctionData functionData, FunctionEnvironment currentFunction, JavaScriptNode body) {
         SourceSection functionSourceSection = createSourceSection(functionNode);
         FunctionBodyNode functionBody = factory.createFunctionBody(body);
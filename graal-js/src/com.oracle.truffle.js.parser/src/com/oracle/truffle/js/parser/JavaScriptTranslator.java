@@ -134,6 +134,7 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
             throw new IllegalArgumentException("root function node is not a module");
         }
         JSFunctionExpressionNode functionExpression = (JSFunctionExpressionNode) transformFunction(functionNode);
+        submitBackgroundTranslation();
         return functionExpression.getFunctionData();
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -38,27 +38,25 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package com.oracle.truffle.js.runtime.util;
+package com.oracle.truffle.js.parser;
 
-import java.util.LinkedHashMap;
+import java.nio.ByteBuffer;
 
-public final class LRUCache<K, V> extends LinkedHashMap<K, V> {
-
-    private static final long serialVersionUID = 7813848977534444613L;
-    private final int maxCacheSize;
-
-    public LRUCache(int maxCacheSize) {
-        this(maxCacheSize, 16);
-    }
-
-    public LRUCache(int maxCacheSize, int initialCapacity) {
-        super(initialCapacity, 0.75f, true);
-        this.maxCacheSize = maxCacheSize;
-    }
-
-    @Override
-    protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
-        return size() > maxCacheSize;
-    }
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.util.Pair;
 
+/**
+ * Records binary snapshots (see {@link BinarySnapshotProvider}) of scripts for the persistent code
+ * cache. If recording is not supported (e.g., on SubstrateVM), existing cache entries are still
+ * used but no new ones are written.
+ */
+public interface SnapshotRecorder {
+    /**
+     * Translates the given script, recording the node factory calls on the way, and returns the
+     * translated script together with its encoded AST. The encoded AST is {@code null} if the
+     * script could be translated but not encoded.
+     */
+    Pair<ScriptNode, ByteBuffer> translateScript(JSContext context, Source source, boolean isStrict);
 }
@@ -38,7 +38,7 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package com.oracle.truffle.js.snapshot;
+package com.oracle.truffle.js.parser.snapshot;
 
 import static com.oracle.truffle.js.nodes.JSNodeDecoder.BREAK_TARGET_LABEL;
 import static com.oracle.truffle.js.nodes.JSNodeDecoder.BREAK_TARGET_SWITCH;
@@ -38,9 +38,10 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package com.oracle.truffle.js.snapshot;
+package com.oracle.truffle.js.parser.snapshot;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
@@ -56,9 +57,15 @@ public final class RecordingProxy {
     public static NodeFactory createRecordingNodeFactory(final Recording rec, final NodeFactory nodeFactory) {
         InvocationHandler invocationHandler = new InvocationHandler() {
             @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
                 rec.recordCall(method, args != null ? args : new Object[0]);
-                Object result = method.invoke(nodeFactory, args);
+                Object result;
+                try {
+                    result = method.invoke(nodeFactory, args);
+                } catch (InvocationTargetException e) {
+                    // propagate exceptions of the node factory (e.g. early errors) unchanged
+                    throw e.getCause();
+                }
                 rec.recordReturn(method, result);
                 return result;
             }
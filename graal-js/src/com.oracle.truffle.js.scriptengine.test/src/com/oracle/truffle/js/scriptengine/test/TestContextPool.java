@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.ContextPool;
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestContextPool {
+
+    private static void closeBindings(Bindings bindings) throws Exception {
+        ((AutoCloseable) bindings).close();
+    }
+
+    @Test
+    public void notPooledByDefault() {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            assertNull(engine.getContextPool());
+        }
+    }
+
+    @Test
+    public void discard() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 2)) {
+            ContextPool pool = engine.getContextPool();
+            assertNotNull(pool);
+            assertEquals(2, pool.getCapacity());
+
+            Bindings bindings = engine.createBindings();
+            assertEquals(1, engine.eval("x = 1", bindings));
+            Context first = engine.getPolyglotContext(contextFor(bindings));
+            closeBindings(bindings);
+            assertEquals(1, pool.getDiscarded());
+
+            bindings = engine.createBindings();
+            assertEquals("undefined", engine.eval("typeof x", bindings));
+            assertNotSame(first, engine.getPolyglotContext(contextFor(bindings)));
+            closeBindings(bindings);
+            assertEquals(2, pool.getHits() + pool.getMisses());
+        }
+    }
+
+    @Test
+    public void recycledContextIsFresh() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1)) {
+            ContextPool pool = engine.getContextPool();
+            for (int i = 0; i < 2; i++) {
+                Bindings bindings = engine.createBindings();
+                assertEquals("undefined", engine.eval("typeof y", bindings));
+                engine.eval("let x = 1; var y = 2;", bindings);
+                assertEquals(3, engine.eval("x + y", bindings));
+                closeBindings(bindings);
+            }
+            assertEquals(2, pool.getDiscarded());
+            assertEquals(2, pool.getHits() + pool.getMisses());
+        }
+    }
+
+    @Test
+    public void foreignBindingsBypassPool() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1)) {
+            ContextPool pool = engine.getContextPool();
+            ScriptContext scriptContext = new SimpleScriptContext();
+            scriptContext.setBindings(new SimpleBindings(), ScriptContext.ENGINE_SCOPE);
+            assertEquals(3, engine.eval("1 + 2", scriptContext));
+            assertEquals(0, pool.getHits() + pool.getMisses());
+        }
+    }
+
+    @Test
+    public void closedBindingsAcquireNewContext() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1)) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("value", 42);
+            closeBindings(bindings);
+            assertNull(bindings.get("value"));
+            bindings.put("value", 43);
+            assertEquals(43, engine.eval("value", bindings));
+            closeBindings(bindings);
+        }
+    }
+
+    @Test
+    public void magicOptionsBypassPool() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1)) {
+            ContextPool pool = engine.getContextPool();
+            Bindings bindings = engine.createBindings();
+            bindings.put("polyglot.js.ecmascript-version", "2020");
+            assertEquals(3, engine.eval("1 + 2", bindings));
+            assertEquals(0, pool.getHits() + pool.getMisses());
+        }
+    }
+
+    @Test
+    public void closedPool() throws Exception {
+        GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 2);
+        ContextPool pool = engine.getContextPool();
+        Bindings bindings = engine.createBindings();
+        engine.eval("1", bindings);
+        engine.close();
+        closeBindings(bindings);
+        assertEquals(1, pool.getDiscarded());
+        assertTrue(pool.toString().startsWith("ContextPool["));
+    }
+
+    private static ScriptContext contextFor(Bindings bindings) {
+        ScriptContext scriptContext = new SimpleScriptContext();
+        scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        return scriptContext;
+    }
+}
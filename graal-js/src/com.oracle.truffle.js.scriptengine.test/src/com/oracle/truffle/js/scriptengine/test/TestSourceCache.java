@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.graalvm.polyglot.Engine;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+import com.oracle.truffle.js.scriptengine.SourceCache;
+
+public class TestSourceCache {
+
+    private static final String SOURCE_CACHE_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine.source-cache-size";
+
+    private static GraalJSScriptEngine createEngine(Engine polyglotEngine, long sourceCacheSize) {
+        System.setProperty(SOURCE_CACHE_SIZE_SYSTEM_PROPERTY, Long.toString(sourceCacheSize));
+        try {
+            return GraalJSScriptEngine.create(polyglotEngine, null);
+        } finally {
+            System.clearProperty(SOURCE_CACHE_SIZE_SYSTEM_PROPERTY);
+        }
+    }
+
+    @Test
+    public void disabledByDefault() {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            assertNull(engine.getSourceCache());
+        }
+    }
+
+    @Test
+    public void repeatedEval() throws ScriptException {
+        try (GraalJSScriptEngine engine = createEngine(null, 1000)) {
+            SourceCache cache = engine.getSourceCache();
+            assertNotNull(cache);
+            engine.eval("var counter = 0;");
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(i, engine.eval("++counter"));
+            }
+            assertEquals(9, cache.getHits());
+            assertEquals(2, cache.getMisses());
+            assertEquals(2, cache.size());
+            assertEquals("var counter = 0;".length() + "++counter".length(), cache.getCharacters());
+            assertTrue(cache.getHitRate() > 0.8);
+        }
+    }
+
+    @Test
+    public void boundedByCharacters() throws ScriptException {
+        try (GraalJSScriptEngine engine = createEngine(null, 10)) {
+            SourceCache cache = engine.getSourceCache();
+            engine.eval("1 + 2");
+            engine.eval("3 + 4");
+            assertEquals(2, cache.size());
+            engine.eval("5 + 6");
+            assertEquals(2, cache.size());
+            assertEquals(1, cache.getEvictions());
+            engine.eval("'a string that is too long to be cached'");
+            assertEquals(2, cache.size());
+            assertTrue(cache.getCharacters() <= cache.getCapacity());
+        }
+    }
+
+    @Test
+    public void capacityPerScriptEngine() {
+        try (Engine polyglotEngine = Engine.newBuilder().allowExperimentalOptions(true).build()) {
+            try (GraalJSScriptEngine engine1 = createEngine(polyglotEngine, 100);
+                            GraalJSScriptEngine engine2 = createEngine(polyglotEngine, 200)) {
+                assertNotSame(engine1.getSourceCache(), engine2.getSourceCache());
+                assertEquals(100, engine1.getSourceCache().getCapacity());
+                assertEquals(200, engine2.getSourceCache().getCapacity());
+            }
+        }
+    }
+
+    @Test
+    public void fileName() throws ScriptException {
+        try (GraalJSScriptEngine engine = createEngine(null, 1000)) {
+            engine.eval("function f() { return new Error().stack; }");
+            engine.put(ScriptEngine.FILENAME, "first.js");
+            assertTrue(engine.eval("f() + new Error().stack").toString().contains("first.js"));
+            engine.put(ScriptEngine.FILENAME, "second.js");
+            String stack = engine.eval("f() + new Error().stack").toString();
+            assertTrue(stack, stack.contains("second.js"));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * A bounded pool of pre-initialized polyglot contexts used by a {@link GraalJSScriptEngine} for new
+ * {@link javax.script.ScriptContext script contexts} and {@link javax.script.Bindings bindings}.
+ * Idle contexts are created ahead of time by a background thread, so checking out a context does
+ * not pay for context and realm initialization. Checkout and return do not block.
+ * <p>
+ * Returned contexts are closed rather than reused: top-level lexical declarations and
+ * non-configurable global variables cannot be removed from a global object, so only a fresh
+ * context guarantees that nothing leaks from one checkout into the next.
+ *
+ * @see GraalJSScriptEngine#create(org.graalvm.polyglot.Engine, Context.Builder, int)
+ */
+public final class ContextPool implements AutoCloseable {
+
+    private final Supplier<Context> contextFactory;
+    private final int capacity;
+    private final Queue<Context> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ExecutorService filler;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    ContextPool(Supplier<Context> contextFactory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("context pool size must be positive");
+        }
+        this.contextFactory = contextFactory;
+        this.capacity = capacity;
+        this.filler = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "graal-js-script-engine-context-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fill();
+    }
+
+    /**
+     * Checks out a context. Returns an idle pre-initialized context if there is one, or creates a
+     * new one in the calling thread otherwise.
+     */
+    Context acquire() {
+        Context context = idle.poll();
+        if (context != null) {
+            idleCount.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            context = createContext();
+        }
+        fill();
+        return context;
+    }
+
+    /**
+     * Returns a context that was checked out with {@link #acquire()}. The context is closed and the
+     * pool is refilled with a new one.
+     */
+    void release(Context context) {
+        discarded.incrementAndGet();
+        context.close();
+        fill();
+    }
+
+    private Context createContext() {
+        Context context = contextFactory.get();
+        context.initialize(GraalJSScriptEngine.ID);
+        return context;
+    }
+
+    private void fill() {
+        while (!closed.get()) {
+            int pending = pendingCount.get();
+            if (idleCount.get() + pending >= capacity) {
+                return;
+            }
+            if (pendingCount.compareAndSet(pending, pending + 1)) {
+                try {
+                    filler.execute(this::fillOne);
+                } catch (RejectedExecutionException e) {
+                    pendingCount.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void fillOne() {
+        try {
+            if (!closed.get()) {
+                Context context = createContext();
+                idleCount.incrementAndGet();
+                idle.offer(context);
+                if (closed.get()) {
+                    closeIdle();
+                }
+            }
+        } finally {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    private void closeIdle() {
+        Context context;
+        while ((context = idle.poll()) != null) {
+            idleCount.decrementAndGet();
+            context.close();
+        }
+    }
+
+    /**
+     * Closes all idle contexts and stops refilling the pool. Contexts that are checked out are
+     * closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            filler.shutdown();
+            closeIdle();
+        }
+    }
+
+    /**
+     * Returns the maximum number of idle contexts.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the current number of idle contexts.
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Returns the number of checkouts that got an idle context.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of checkouts that found the pool empty and had to wait for a new context
+     * to be created.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of returned contexts that were closed.
+     */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ContextPool[capacity=" + capacity + ", idle=" + getIdleCount() + ", hits=" + getHits() + ", misses=" + getMisses() + ", discarded=" + getDiscarded() + "]";
+    }
+}
@@ -67,12 +67,20 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Value deleteProperty;
     private Value clear;
     private Context.Builder contextBuilder;
+    // pool to take the context from, null if the context builder was customized
+    private ContextPool contextPool;
+    private boolean pooledContext;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
 
     GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+        this(contextBuilder, scriptContext, null);
+    }
+
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, ContextPool contextPool) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
@@ -88,7 +96,12 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null) {
+            context = contextPool.acquire();
+            pooledContext = true;
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -120,6 +133,7 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    contextPool = null;
                     return true;
                 }
             } else {
@@ -176,7 +190,18 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     @Override
     public void close() {
         if (context != null) {
-            context.close();
+            if (pooledContext) {
+                // the bindings acquire a new context if they are used again
+                Context pooled = context;
+                context = null;
+                global = null;
+                deleteProperty = null;
+                clear = null;
+                pooledContext = false;
+                contextPool.release(pooled);
+            } else {
+                context.close();
+            }
         }
     }
 
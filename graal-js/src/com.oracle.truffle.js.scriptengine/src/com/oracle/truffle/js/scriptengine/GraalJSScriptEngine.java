@@ -40,7 +40,6 @@
  */
 package com.oracle.truffle.js.scriptengine;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -82,7 +81,7 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
@@ -95,6 +94,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_CHARSET_OPTION = "js.charset";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
     private static final String INSECURE_SCRIPTENGINE_ACCESS_SYSTEM_PROPERTY = "graaljs.insecure-scriptengine-access";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine.context-pool-size";
+    private static final String SOURCE_CACHE_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine.source-cache-size";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
 
     private static final HostAccess NASHORN_HOST_ACCESS = createNashornHostAccess();
@@ -286,14 +287,20 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final ContextPool contextPool;
+    private final SourceCache sourceCache;
 
     private boolean evalCalled;
 
     GraalJSScriptEngine(GraalJSEngineFactory factory) {
-        this(factory, factory.getPolyglotEngine(), null);
+        this(factory, factory.getPolyglotEngine(), null, Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0));
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
+        this(factory, engine, contextConfig, 0);
+    }
+
+    GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig, int contextPoolSize) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -320,8 +327,16 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
             }
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
+        long sourceCacheSize = Long.getLong(SOURCE_CACHE_SIZE_SYSTEM_PROPERTY, 0);
+        this.sourceCache = sourceCacheSize > 0 ? new SourceCache(sourceCacheSize) : null;
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        if (contextPoolSize > 0) {
+            Context.Builder pooledConfig = this.contextConfig;
+            this.contextPool = new ContextPool(() -> createDefaultContext(pooledConfig), contextPoolSize);
+        } else {
+            this.contextPool = null;
+        }
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, this.contextPool), ScriptContext.ENGINE_SCOPE);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -338,8 +353,12 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        // the builder may be shared with the context pool thread
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
@@ -353,6 +372,29 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (contextPool != null) {
+            contextPool.close();
+        }
+    }
+
+    /**
+     * Returns the pool of pre-initialized polyglot contexts used by this script engine or
+     * <code>null</code> if contexts are not pooled.
+     *
+     * @see #create(Engine, org.graalvm.polyglot.Context.Builder, int)
+     */
+    public ContextPool getContextPool() {
+        return contextPool;
+    }
+
+    /**
+     * Returns the cache of sources evaluated from strings or <code>null</code> if the cache is
+     * disabled. The cache is enabled by setting the system property
+     * {@code graaljs.scriptengine.source-cache-size} to the maximum total number of characters of
+     * the cached scripts before the script engine is created.
+     */
+    public SourceCache getSourceCache() {
+        return sourceCache;
     }
 
     /**
@@ -387,7 +429,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, contextPool);
     }
 
     @Override
@@ -435,16 +477,17 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return eval(createSource(script, ctxt), ctxt);
     }
 
-    private static Source createSource(String script, ScriptContext ctxt) throws ScriptException {
+    private Source createSource(String script, ScriptContext ctxt) throws ScriptException {
         final Object val = ctxt.getAttribute(ScriptEngine.FILENAME);
-        if (val == null) {
-            return Source.newBuilder(ID, script, "<eval>").buildLiteral();
-        } else {
-            try {
-                return Source.newBuilder(ID, new File(val.toString())).content(script).build();
-            } catch (IOException ioex) {
-                throw new ScriptException(ioex);
+        String fileName = val == null ? null : val.toString();
+        try {
+            if (sourceCache != null) {
+                return sourceCache.getSource(script, fileName);
+            } else {
+                return SourceCache.createSource(script, fileName);
             }
+        } catch (IOException ioex) {
+            throw new ScriptException(ioex);
         }
     }
 
@@ -516,6 +559,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                     engineB.remove(optionSetter.getOptionKey());
                 }
             }
+            // not pooled: nothing returns the context of bindings the engine does not own
             ctx = createDefaultContext(builder);
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
@@ -747,6 +791,28 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return new GraalJSScriptEngine(null, engine, newContextConfig);
     }
 
+    /**
+     * Creates a new GraalJS script engine like {@link #create(Engine, Context.Builder)} that takes
+     * the polyglot contexts of new bindings and script contexts from a pool of pre-initialized
+     * contexts. The pool is refilled in the background. Bindings that set
+     * {@code polyglot.js.*} options get a context of their own, and so do script contexts whose
+     * bindings were not created by this engine. Closing pooled {@link #createBindings() bindings}
+     * closes their context; it is not reused.
+     *
+     * @param engine the engine to be used for context configurations or <code>null</code> if a
+     *            default engine should be used.
+     * @param newContextConfig a base configuration to create new context instances or
+     *            <code>null</code> if the default configuration should be used to construct new
+     *            context instances.
+     * @param contextPoolSize the maximum number of idle contexts.
+     */
+    public static GraalJSScriptEngine create(Engine engine, Context.Builder newContextConfig, int contextPoolSize) {
+        if (contextPoolSize <= 0) {
+            throw new IllegalArgumentException("context pool size must be positive");
+        }
+        return new GraalJSScriptEngine(null, engine, newContextConfig, contextPoolSize);
+    }
+
     private static boolean isInterfaceImplemented(final Class<?> iface, final Value obj) {
         for (final Method method : iface.getMethods()) {
             // ignore methods of java.lang.Object class
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.graalvm.polyglot.Source;
+
+/**
+ * A least-recently-used cache of the {@link Source} objects that
+ * {@link GraalJSScriptEngine#eval(String, javax.script.ScriptContext)} creates for script strings.
+ * Evaluating an equal {@link Source} object allows the polyglot engine to reuse the parsed code,
+ * but the engine only keeps the parsed code as long as the source object is alive. By keeping
+ * recently used sources alive, scripts that are evaluated repeatedly as strings are parsed only
+ * once, as if they had been {@link GraalJSScriptEngine#compile(String) compiled}. Each script
+ * engine has its own cache, which is bounded by the total number of characters of the cached
+ * scripts.
+ */
+public final class SourceCache {
+
+    private final long capacity;
+    private final LinkedHashMap<Key, Source> sources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long characters;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    SourceCache(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("source cache size must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a source for the given script and file name ({@code null} for literal sources),
+     * reusing a previously created equal source if there is one.
+     */
+    Source getSource(String script, String fileName) throws IOException {
+        Key key = new Key(script, fileName);
+        synchronized (this) {
+            Source source = sources.get(key);
+            if (source != null) {
+                hits++;
+                return source;
+            }
+            misses++;
+        }
+        Source source = createSource(script, fileName);
+        if (script.length() > capacity) {
+            return source;
+        }
+        synchronized (this) {
+            Source existing = sources.putIfAbsent(key, source);
+            if (existing != null) {
+                return existing;
+            }
+            characters += script.length();
+            evictEldest();
+            return source;
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<Key> iterator = sources.keySet().iterator();
+        while (characters > capacity) {
+            characters -= iterator.next().script.length();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    static Source createSource(String script, String fileName) throws IOException {
+        if (fileName == null) {
+            return Source.newBuilder(GraalJSScriptEngine.ID, script, "<eval>").buildLiteral();
+        } else {
+            return Source.newBuilder(GraalJSScriptEngine.ID, new File(fileName)).content(script).build();
+        }
+    }
+
+    /**
+     * Returns the maximum total number of characters of the cached sources.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the current number of cached sources.
+     */
+    public synchronized int size() {
+        return sources.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached source.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to create a new source.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the total number of characters of the cached sources.
+     */
+    public synchronized long getCharacters() {
+        return characters;
+    }
+
+    /**
+     * Returns the number of sources that were evicted to stay within the capacity.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a cached source.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Removes all cached sources. The statistics are not reset.
+     */
+    public synchronized void clear() {
+        sources.clear();
+        characters = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SourceCache[capacity=" + capacity + ", size=" + sources.size() + ", characters=" + characters + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+
+    private static final class Key {
+        private final String script;
+        private final String fileName;
+        private final int hash;
+
+        Key(String script, String fileName) {
+            this.script = script;
+            this.fileName = fileName;
+            this.hash = script.hashCode() * 31 + Objects.hashCode(fileName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && script.equals(other.script) && Objects.equals(fileName, other.fileName);
+        }
+    }
+}
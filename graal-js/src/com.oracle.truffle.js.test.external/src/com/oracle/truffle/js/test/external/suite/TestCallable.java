@@ -60,6 +60,7 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.parser.JSParser;
+import com.oracle.truffle.js.parser.snapshot.Recording;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSContextOptions;
@@ -68,7 +69,6 @@ import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
-import com.oracle.truffle.js.snapshot.Recording;
 
 public class TestCallable extends AbstractTestCallable {
 
@@ -182,7 +182,7 @@ public class TestCallable extends AbstractTestCallable {
     // Installs a built-in for the evaluation using snapshot. A built-in
     // is needed for the correct processing of promises, exceptions etc.
     // This built-in is not defined in com.oracle.truffle.js.builtins
-    // to avoid the dependency on com.oracle.truffle.js.snapshot there.
+    // to avoid the dependency on com.oracle.truffle.js.parser there.
     private static void installEvalUsingSnapshotBuiltin(Context polyglotContext) {
         polyglotContext.initialize(JavaScriptLanguage.ID);
         polyglotContext.enter();
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests the in-place sorting of int and double arrays, with the default comparator and with
+ * recognized numeric comparator functions.
+ */
+
+load("assert.js");
+
+function stringCompare(x, y) {
+    var s = String(x), t = String(y);
+    return s < t ? -1 : (s > t ? 1 : 0);
+}
+
+function checkSort(array, comparator, reference) {
+    var expected = array.slice().sort(reference);
+    var actual = comparator === undefined ? array.slice().sort() : array.slice().sort(comparator);
+    assertSame(expected.length, actual.length);
+    for (var i = 0; i < expected.length; i++) {
+        assertTrue(Object.is(expected[i], actual[i]));
+    }
+}
+
+var ints = [];
+for (var i = 0; i < 1000; i++) {
+    ints.push(((i * 7919) % 2003) - 1000);
+}
+ints.push(0, 1, 10, 100, -1, -10, 2147483647, -2147483648, 9, 99);
+
+var doubles = [];
+for (var i = 0; i < 1000; i++) {
+    doubles.push((((i * 7919) % 2003) - 1000) / 8);
+}
+doubles.push(0, 1e21, 1e-7, 123.456, -0.5, Infinity, -Infinity, 5e-324);
+
+var integralDoubles = [0.5];
+for (var i = 0; i < 500; i++) {
+    integralDoubles.push(((i * 7919) % 2003) - 1000);
+}
+integralDoubles.shift();
+
+var specialDoubles = doubles.concat([NaN, -0, 0, -0, NaN]);
+
+// default comparator
+checkSort(ints, undefined, stringCompare);
+checkSort(doubles, undefined, stringCompare);
+checkSort(integralDoubles, undefined, stringCompare);
+checkSort(specialDoubles, undefined, stringCompare);
+
+// numeric comparators
+[ints, doubles, integralDoubles, specialDoubles].forEach(function(array) {
+    checkSort(array, (a, b) => a - b, function(a, b) { return (a - b); });
+    checkSort(array, (a, b) => b - a, function(a, b) { return (b - a); });
+    checkSort(array, function (x, y) { return x - y; }, function(a, b) { return (a - b); });
+    checkSort(array, function cmp(x, y) { return y - x }, function(a, b) { return (b - a); });
+    checkSort(array, (a, b) => { return a - b; }, function(a, b) { return (a - b); });
+    checkSort(array, (a, b) => /* ascending */ (a) -
+                               (b), function(a, b) { return (a - b); });
+    checkSort(array, function(a, b) {
+        // descending
+        return b - a;
+    }, function(a, b) { return (b - a); });
+});
+
+// -0 and 0 compare equal and must keep their relative order
+var zeros = [0, -0, 1, -0, 0];
+zeros.sort((a, b) => a - b);
+assertTrue(Object.is(0, zeros[0]));
+assertTrue(Object.is(-0, zeros[1]));
+assertTrue(Object.is(-0, zeros[2]));
+assertTrue(Object.is(0, zeros[3]));
+assertSame(1, zeros[4]);
+
+// comparator functions that only look similar must still be called
+var calls = 0;
+var a = 1;
+[3, 1, 2].sort((x, y) => (calls++, a - y));
+assertTrue(calls > 0);
+calls = 0;
+[3, 1, 2].sort((x, y) => { x - y; calls++; return 0; });
+assertTrue(calls > 0);
+
+// arrays with holes are not sorted in place
+var holes = [3, , 1, , 2];
+holes.sort((a, b) => a - b);
+assertSame(5, holes.length);
+assertSame(1, holes[0]);
+assertSame(2, holes[1]);
+assertSame(3, holes[2]);
+assertFalse(3 in holes);
+assertFalse(4 in holes);
+
+// frozen arrays must still throw
+assertThrows(() => Object.freeze([2, 1]).sort(), TypeError);
+assertThrows(() => Object.freeze([2.5, 1.5]).sort((a, b) => a - b), TypeError);
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests await of primitives and settled promises, including many awaits in one invocation.
+ *
+ * @option shell
+ */
+
+// Regular assertSame does not work in promise jobs
+// (it just triggers an unhandled promise rejection that is ignored).
+var assertSame = function (expected, actual) {
+    if (expected !== actual) {
+        console.log(expected + ' !== ' + actual);
+        quit(1);
+    }
+};
+
+var log = [];
+
+// await of a primitive takes exactly one job, like await of a fulfilled promise
+(async function () {
+    log.push('a0');
+    await 1;
+    log.push('a1');
+    await undefined;
+    log.push('a2');
+})();
+(async function () {
+    log.push('b0');
+    await Promise.resolve();
+    log.push('b1');
+    await Promise.resolve();
+    log.push('b2');
+})();
+Promise.resolve().then(() => log.push('p1')).then(() => log.push('p2'));
+
+// awaiting a thenable calls its then method in a separate job
+var thenable = {
+    then(resolve) {
+        log.push('then');
+        resolve('t');
+    }
+};
+(async function () {
+    log.push('t0');
+    log.push(await thenable);
+})();
+
+// many awaits of one invocation, mixing fulfilled and rejected values
+async function mixed(n) {
+    var sum = 0;
+    for (var i = 0; i < n; i++) {
+        try {
+            if (i % 4 === 0) {
+                sum += await Promise.reject(i);
+            } else if (i % 4 === 1) {
+                sum += await Promise.resolve(i);
+            } else if (i % 4 === 2) {
+                sum += await i;
+            } else {
+                sum += await new Promise(resolve => Promise.resolve().then(() => resolve(i)));
+            }
+        } catch (e) {
+            sum -= e;
+        }
+    }
+    return sum;
+}
+
+// awaits in async generators
+async function* gen() {
+    yield await 'x';
+    yield await Promise.resolve('y');
+    try {
+        await Promise.reject('z');
+    } catch (e) {
+        yield e;
+    }
+}
+
+async function collect() {
+    var values = [];
+    for await (var v of gen()) {
+        values.push(v);
+    }
+    return values.join();
+}
+
+var expectedSum = 0;
+for (var i = 0; i < 100; i++) {
+    expectedSum += (i % 4 === 0) ? -i : i;
+}
+
+Promise.all([mixed(100), collect()]).then(([sum, values]) => {
+    assertSame('a0,b0,t0,a1,b1,p1,then,a2,b2,p2,t', log.join());
+    assertSame(expectedSum, sum);
+    assertSame('x,y,z', values);
+});
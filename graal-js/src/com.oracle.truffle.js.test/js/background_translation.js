@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests that functions translated in the background behave like lazily translated ones.
+ *
+ * @option lazy-translation=true
+ * @option background-translation=true
+ */
+
+load("assert.js");
+
+var captured = 40;
+
+function topLevel(a, b) {
+    let local = a * b;
+    function inner(x) {
+        return x + local + captured;
+    }
+    return inner(2);
+}
+
+const arrow = (s) => s.split('').reverse().join('');
+
+class Point {
+    constructor(x, y) {
+        this.x = x;
+        this.y = y;
+    }
+    get length() {
+        return Math.sqrt(this.x * this.x + this.y * this.y);
+    }
+}
+
+function* gen(n) {
+    for (let i = 0; i < n; i++) {
+        yield i * i;
+    }
+}
+
+async function asyncTopLevel(v) {
+    return await v + 1;
+}
+
+function large(n) {
+    // Large enough to be translated in the background even though it is not at the top level.
+    function nestedLarge(m) {
+        var result = 0;
+        for (var i = 0; i < m; i++) {
+            switch (i % 4) {
+                case 0: result += i; break;
+                case 1: result -= i; break;
+                case 2: result *= 2; break;
+                default: result = Math.floor(result / 3);
+            }
+        }
+        try {
+            if (m < 0) {
+                throw new RangeError("negative");
+            }
+        } catch (e) {
+            return e.message;
+        }
+        return result + captured;
+    }
+    return nestedLarge(n);
+}
+
+assertSame(48, topLevel(2, 3));
+assertSame("cba", arrow("abc"));
+assertSame(5, new Point(3, 4).length);
+assertSame("0,1,4,9", [...gen(4)].join());
+assertSame("negative", large(-1));
+assertSame(large(10), large(10));
+
+asyncTopLevel(41).then(v => assertSame(42, v));
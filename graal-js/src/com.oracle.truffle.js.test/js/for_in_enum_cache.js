@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests for-in, Object.keys, Object.values and Object.entries on objects of the same shape.
+ */
+
+load("assert.js");
+
+function forInKeys(o) {
+    var keys = [];
+    for (var k in o) {
+        keys.push(k);
+    }
+    return keys.join();
+}
+
+function forInValues(o) {
+    var values = [];
+    for (var k in o) {
+        values.push(o[k]);
+    }
+    return values.join();
+}
+
+for (var i = 0; i < 100; i++) {
+    var o = {b: i, a: 'x', 1: true};
+    assertSame('1,b,a', forInKeys(o));
+    assertSame('true,' + i + ',x', forInValues(o));
+    assertSame('1,b,a', Object.keys(o).join());
+    assertSame('true,' + i + ',x', Object.values(o).join());
+    assertSame('1,true;b,' + i + ';a,x', Object.entries(o).map(e => e.join()).join(';'));
+}
+
+// accessors are called for every object
+var calls = 0;
+for (var i = 0; i < 10; i++) {
+    var o = {a: i, get b() { calls++; return this.a * 2; }};
+    assertSame(i + ',' + (i * 2), Object.values(o).join());
+    assertSame('a,' + i + ';b,' + (i * 2), Object.entries(o).map(e => e.join()).join(';'));
+}
+assertSame(20, calls);
+
+// non-enumerable and symbol keys are skipped
+var o = {a: 1, [Symbol('s')]: 2};
+Object.defineProperty(o, 'hidden', {value: 3, enumerable: false});
+assertSame('a', forInKeys(o));
+assertSame('1', Object.values(o).join());
+
+// deleting properties during enumeration
+var o = {a: 1, b: 2, c: 3};
+var keys = [];
+for (var k in o) {
+    keys.push(k);
+    if (k === 'a') {
+        delete o.b;
+    }
+}
+assertSame('a,c', keys.join());
+
+// enumerable properties of prototypes are visited, unless shadowed
+var proto = {};
+var o1 = Object.create(proto);
+o1.a = 1;
+o1.b = 2;
+assertSame('a,b', forInKeys(o1));
+proto.c = 3;
+proto.a = 4;
+var o2 = Object.create(proto);
+o2.a = 1;
+o2.b = 2;
+assertSame('a,b,c', forInKeys(o1));
+assertSame('a,b,c', forInKeys(o2));
+Object.defineProperty(o2, 'c', {value: 5, enumerable: false});
+assertSame('a,b', forInKeys(o2));
+
+Object.prototype.inherited = true;
+try {
+    assertSame('a,b,inherited', forInKeys({a: 1, b: 2}));
+} finally {
+    delete Object.prototype.inherited;
+}
+assertSame('a,b', forInKeys({a: 1, b: 2}));
+
+// objects with elements do not use the shape cache
+var arr = [1, 2];
+arr.x = 3;
+assertSame('0,1,x', forInKeys(arr));
+assertSame('0,1,x', Object.keys(arr).join());
+assertSame('a,b,0', forInKeys(Object.assign(Object.create(['p']), {a: 1, b: 2})));
+
+true;
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests JSON.parse of objects with repeated layouts and of arrays with uniform element types.
+ */
+
+load("assert.js");
+
+// duplicate keys: last value wins, first position is kept
+var dup = JSON.parse('{"a":1,"b":2,"a":3}');
+assertSame(3, dup.a);
+assertSame('["a","b"]', JSON.stringify(Object.keys(dup)));
+assertSame('{"a":3,"b":2}', JSON.stringify(dup));
+
+// __proto__ is an own data property
+var proto = JSON.parse('{"__proto__":{"x":1}}');
+assertSame(Object.prototype, Object.getPrototypeOf(proto));
+assertTrue(Object.prototype.hasOwnProperty.call(proto, "__proto__"));
+assertSame(1, proto.__proto__.x);
+
+// index-like keys
+var indexed = JSON.parse('{"1":"b","0":"a","x":"c"}');
+assertSame('["0","1","x"]', JSON.stringify(Object.keys(indexed)));
+
+// properties are writable, enumerable and configurable
+var desc = Object.getOwnPropertyDescriptor(JSON.parse('{"p":true}'), "p");
+assertTrue(desc.writable && desc.enumerable && desc.configurable);
+
+// records with the same layout
+var records = [];
+for (var i = 0; i < 100; i++) {
+    records.push({id: i, name: "n" + i, score: i / 4, tags: [i, i + 1], nested: {ok: i % 2 === 0}});
+}
+var json = JSON.stringify(records);
+var parsed = JSON.parse(json);
+assertSame(100, parsed.length);
+assertSame(json, JSON.stringify(parsed));
+assertSame(17, parsed[17].id);
+assertSame("n17", parsed[17].name);
+assertSame(4.25, parsed[17].score);
+assertSame(false, parsed[17].nested.ok);
+
+// arrays of uniform and mixed element types
+assertSame("[1,2,3]", JSON.stringify(JSON.parse("[1, 2, 3]")));
+assertSame("[1,2.5,-3]", JSON.stringify(JSON.parse("[1,2.5,-3]")));
+assertSame("[{},[],null,\"s\",true,1]", JSON.stringify(JSON.parse('[{},[],null,"s",true,1]')));
+assertSame(-Infinity, 1 / JSON.parse("[-0]")[0]);
+assertSame(-Infinity, 1 / JSON.parse("[1,-0]")[1]);
+assertSame(0, JSON.parse("[]").length);
+
+var ints = JSON.parse("[" + Array.from({length: 1000}, (_, k) => k).join() + "]");
+assertSame(1000, ints.length);
+assertSame(999, ints[999]);
+ints.push(1.5, "x");
+assertSame(1002, ints.length);
+assertSame("x", ints[1001]);
+
+var objs = JSON.parse('[{"a":1},{"a":2},{"a":3}]');
+objs[1] = 42;
+objs.push(null);
+assertSame('[{"a":1},42,{"a":3},null]', JSON.stringify(objs));
+
+// reviver still sees the parsed structure
+var revived = JSON.parse('{"a":[1,2],"b":{"c":3}}', (k, v) => typeof v === "number" ? v * 10 : v);
+assertSame('{"a":[10,20],"b":{"c":30}}', JSON.stringify(revived));
+
+// errors
+assertThrows(() => JSON.parse("[1,2"), SyntaxError);
+assertThrows(() => JSON.parse("[1,]"), SyntaxError);
+assertThrows(() => JSON.parse('{"a":1,}'), SyntaxError);
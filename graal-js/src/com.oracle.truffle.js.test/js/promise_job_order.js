@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022, 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Tests the order of promise reaction jobs, including more jobs than fit into the initial job queue.
+ *
+ * @option shell
+ */
+
+// Regular assertSame does not work in promise jobs
+// (it just triggers an unhandled promise rejection that is ignored).
+var assertSame = function (expected, actual) {
+    if (expected !== actual) {
+        console.log(expected + ' !== ' + actual);
+        quit(1);
+    }
+};
+
+var log = [];
+
+// reactions on settled promises run in the order of the then() calls
+var fulfilled = Promise.resolve('f');
+var rejected = Promise.reject('r');
+for (let i = 0; i < 40; i++) {
+    if (i % 3 === 0) {
+        rejected.catch(e => log.push(e + i));
+    } else {
+        fulfilled.then(v => log.push(v + i));
+    }
+}
+
+// reactions triggered by resolve() interleave with already queued jobs
+var resolveLater;
+var pending = new Promise(resolve => resolveLater = resolve);
+pending.then(v => log.push(v + '1'));
+pending.then(v => log.push(v + '2'));
+resolveLater('p');
+
+// chained reactions run after all jobs that were queued before them
+Promise.resolve().then(() => log.push('c1')).then(() => log.push('c2')).then(() => log.push('c3'));
+Promise.resolve().then(() => log.push('d1')).then(() => log.push('d2'));
+
+// resolving with a native promise takes two extra jobs
+new Promise(resolve => resolve(Promise.resolve('t'))).then(v => log.push(v));
+
+var expected = [];
+for (var i = 0; i < 40; i++) {
+    expected.push((i % 3 === 0 ? 'r' : 'f') + i);
+}
+expected.push('p1', 'p2', 'c1', 'd1', 'c2', 'd2', 'c3', 't');
+
+Promise.resolve().then(() => 0).then(() => 0).then(() => 0).then(() => {
+    assertSame(expected.join(), log.join());
+});
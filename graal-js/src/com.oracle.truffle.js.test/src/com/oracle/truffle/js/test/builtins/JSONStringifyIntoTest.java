@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSONStringifyIntoTest {
+
+    private static final String VALUE = "({a: [1, 2.5, null], s: 'caf\\u00e9 \\ud83d\\ude00', n: {k: true}})";
+    private static final String EXPECTED = "{\"a\":[1,2.5,null],\"s\":\"café 😀\",\"n\":{\"k\":true}}";
+
+    @Test
+    public void testArrayBuffer() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "var buffer = new ArrayBuffer(100);" +
+                            "var written = Graal.jsonStringifyInto(" + VALUE + ", buffer);" +
+                            "String.fromCharCode.apply(null, new Uint8Array(buffer, 0, written));");
+            assertEquals(EXPECTED, new String(result.asString().getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testTypedArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "var array = new Uint8Array(new ArrayBuffer(8), 2, 4);" +
+                            "var written = Graal.jsonStringifyInto([1], array);" +
+                            "written + ':' + Array.from(new Uint8Array(array.buffer)).join();");
+            assertEquals("3:0,0,91,49,93,0,0,0", result.asString());
+        }
+    }
+
+    @Test
+    public void testHostByteBuffer() {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.ALL).build()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+            buffer.put((byte) '#');
+            Value stringifyInto = context.eval(ID, "Graal.jsonStringifyInto");
+            int written = stringifyInto.execute(context.eval(ID, VALUE), buffer).asInt();
+            byte[] expected = EXPECTED.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected.length, written);
+            assertEquals(1 + expected.length, buffer.position());
+            byte[] actual = new byte[written];
+            buffer.flip();
+            assertEquals('#', buffer.get());
+            buffer.get(actual);
+            Assert.assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testPrettyPrint() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "var buffer = new ArrayBuffer(100);" +
+                            "var written = Graal.jsonStringifyInto({a: [1]}, buffer, null, 1);" +
+                            "String.fromCharCode.apply(null, new Uint8Array(buffer, 0, written)) === JSON.stringify({a: [1]}, null, 1);");
+            assertTrue(result.asBoolean());
+        }
+    }
+
+    @Test
+    public void testNotSerializable() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertTrue(context.eval(ID, "Graal.jsonStringifyInto(function() {}, new ArrayBuffer(10))").isNull());
+        }
+    }
+
+    @Test
+    public void testTargetTooSmall() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "Graal.jsonStringifyInto({abc: 'def'}, new ArrayBuffer(4))");
+            Assert.fail("RangeError expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage().startsWith("RangeError"));
+        }
+    }
+
+    @Test
+    public void testMultiByteCharacters() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            // 2, 3 and 4 byte UTF-8 sequences: 1 + 2 + 3 + 4 + 1 bytes including the quotes
+            Value result = context.eval(ID, "var buffer = new ArrayBuffer(11);" +
+                            "var written = Graal.jsonStringifyInto('\\u00e9\\u20ac\\ud83d\\ude00', buffer);" +
+                            "written + ':' + Array.from(new Uint8Array(buffer)).join();");
+            assertEquals("11:34,195,169,226,130,172,240,159,152,128,34", result.asString());
+        }
+    }
+
+    @Test
+    public void testMultiByteTargetTooSmall() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "var buffer = new ArrayBuffer(10);" +
+                            "var error;" +
+                            "try { Graal.jsonStringifyInto('\\u00e9\\u20ac\\ud83d\\ude00', buffer); } catch (e) { error = e; }" +
+                            "error.name + ':' + new Uint8Array(buffer).every(b => b === 0);");
+            assertEquals("RangeError:true", result.asString());
+        }
+    }
+
+    @Test
+    public void testInvalidTarget() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "Graal.jsonStringifyInto({}, {})");
+            Assert.fail("TypeError expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage().startsWith("TypeError"));
+        }
+    }
+
+    @Test
+    public void testDetachedDuringStringify() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, "var buffer = new ArrayBuffer(100);" +
+                            "Graal.jsonStringifyInto({toJSON() { Polyglot.detachArrayBuffer(buffer); return 1; }}, buffer)");
+            Assert.fail("TypeError expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage().startsWith("TypeError"));
+        }
+    }
+
+    @Test
+    public void testHostByteBufferAccessDenied() {
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.EXPLICIT).build()) {
+            ByteBuffer buffer = ByteBuffer.allocate(100);
+            context.eval(ID, "Graal.jsonStringifyInto").execute(1, buffer);
+            Assert.fail("TypeError expected");
+        } catch (PolyglotException ex) {
+            assertTrue(ex.getMessage().startsWith("TypeError"));
+        }
+    }
+}
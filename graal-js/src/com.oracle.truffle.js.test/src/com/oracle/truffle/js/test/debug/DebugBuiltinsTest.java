@@ -59,6 +59,7 @@ public class DebugBuiltinsTest {
         ctx.eval("js", "Debug.getClass(); Debug.getClass({}); Debug.getClass([]);");
         ctx.eval("js", "Debug.shape(); Debug.shape({}); Debug.shape([]);");
         ctx.eval("js", "Debug.dumpCounters();");
+        ctx.eval("js", "Debug.dumpPropertyCacheStatistics();");
         ctx.eval("js", "Debug.dumpFunctionTree(()=>{return true;});");
         ctx.eval("js", "Debug.printObject(); Debug.printObject({}); Debug.printObject([]);");
         ctx.eval("js", "Debug.toJavaString(); Debug.toJavaString({}); Debug.toJavaString([]);");
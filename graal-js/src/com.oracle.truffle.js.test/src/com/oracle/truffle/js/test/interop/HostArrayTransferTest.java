@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.interop;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests of {@code Polyglot.copyFromHostArray} and {@code Polyglot.copyToHostArray}.
+ */
+public class HostArrayTransferTest {
+
+    private static final HostAccess ARRAY_ACCESS = HostAccess.newBuilder(HostAccess.EXPLICIT).allowArrayAccess(true).allowBufferAccess(true).build();
+
+    private static Context newContext() {
+        return JSTest.newContextBuilder().allowHostAccess(ARRAY_ACCESS).build();
+    }
+
+    private static Value polyglotFunction(Context context, String name) {
+        return context.getBindings(ID).getMember("Polyglot").getMember(name);
+    }
+
+    @Test
+    public void testNewArray() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value ints = copyFrom.execute(new int[]{1, -2, 3});
+            assertTrue(ints.hasArrayElements());
+            Value isArray = context.eval(ID, "(a => Array.isArray(a) && a.length)");
+            assertEquals(3, isArray.execute(ints).asInt());
+            Value sum = context.eval(ID, "(a => a.reduce((x, y) => x + y, 0))");
+            assertEquals(2, sum.execute(ints).asInt());
+            assertEquals(4.5, sum.execute(copyFrom.execute(new double[]{1.5, 3})).asDouble(), 0);
+            assertEquals(-1, sum.execute(copyFrom.execute(new byte[]{1, -2})).asInt());
+            assertEquals(0, isArray.execute(copyFrom.execute(new int[0])).asInt());
+
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[]{5, 6, 7});
+            buffer.position(1);
+            assertEquals(13, sum.execute(copyFrom.execute(buffer)).asInt());
+            assertEquals(3, buffer.position());
+        }
+    }
+
+    @Test
+    public void testTypedArrayRoundTrip() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+
+            Value int32 = context.eval(ID, "new Int32Array(5)");
+            copyFrom.execute(new int[]{1, 2, 3}, int32, 2);
+            assertEquals("0,0,1,2,3", int32.invokeMember("join").asString());
+            int[] ints = new int[6];
+            assertEquals(5, copyTo.execute(int32, ints, 1).asInt());
+            assertArrayEquals(new int[]{0, 0, 0, 1, 2, 3}, ints);
+
+            Value float64 = context.eval(ID, "new Float64Array(new ArrayBuffer(40), 8, 3)");
+            copyFrom.execute(new double[]{0.5, 1.5, 2.5}, float64);
+            double[] doubles = new double[3];
+            copyTo.execute(float64, doubles);
+            assertArrayEquals(new double[]{0.5, 1.5, 2.5}, doubles, 0);
+
+            Value uint8 = context.eval(ID, "new Uint8Array(3)");
+            copyFrom.execute(new byte[]{-1, 0, 1}, uint8);
+            assertEquals("255,0,1", uint8.invokeMember("join").asString());
+            ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+            copyTo.execute(uint8, buffer);
+            assertEquals(3, buffer.position());
+            assertEquals(-1, buffer.get(0));
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+
+            Value clamped = context.eval(ID, "new Uint8ClampedArray(2)");
+            copyFrom.execute(new byte[]{-5, 5}, clamped);
+            assertEquals("0,5", clamped.invokeMember("join").asString());
+
+            Value int16 = context.eval(ID, "new Int16Array(2)");
+            copyFrom.execute(new double[]{1.9, 65537}, int16);
+            assertEquals("1,1", int16.invokeMember("join").asString());
+
+            Value array = context.eval(ID, "[1.5, '2', , {valueOf() { return 4; }}]");
+            double[] doubles = new double[4];
+            copyTo.execute(array, doubles);
+            assertArrayEquals(new double[]{1.5, 2, Double.NaN, 4}, doubles, 0);
+            int[] ints = new int[4];
+            copyTo.execute(array, ints);
+            assertArrayEquals(new int[]{1, 2, 0, 4}, ints);
+
+            Value target = context.eval(ID, "[9]");
+            copyFrom.execute(new int[]{7, 8}, target, 2);
+            assertEquals("9,,7,8", target.invokeMember("join").asString());
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+            assertError("TypeError", () -> copyFrom.execute(new Object()));
+            assertError("TypeError", () -> copyFrom.execute(new int[1], context.eval(ID, "({})")));
+            assertError("RangeError", () -> copyFrom.execute(new int[3], context.eval(ID, "new Int32Array(3)"), 1));
+            assertError("RangeError", () -> copyTo.execute(context.eval(ID, "[1, 2, 3]"), new int[2]));
+            assertError("TypeError", () -> copyTo.execute(context.eval(ID, "[1]"), ByteBuffer.allocate(1).asReadOnlyBuffer()));
+        }
+    }
+
+    @Test
+    public void testAccessDenied() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+            assertError("TypeError", () -> copyFrom.execute(new int[1]));
+            assertError("TypeError", () -> copyTo.execute(context.eval(ID, "[1]"), ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    public void testByteBufferPosition() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.position(1);
+            assertEquals(2, copyTo.execute(context.eval(ID, "new Uint8Array([3, 4])"), buffer, 1).asInt());
+            assertEquals(3, buffer.position());
+            assertEquals(4, buffer.get(3));
+            assertEquals(2, copyTo.execute(context.eval(ID, "[5, 6]"), buffer, 1).asInt());
+            assertEquals(5, buffer.position());
+
+            buffer.position(4);
+            copyFrom.execute(buffer, context.eval(ID, "new Uint8Array(4)"));
+            assertEquals(8, buffer.position());
+        }
+    }
+
+    @Test
+    public void testFastArrayTarget() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value target = context.eval(ID, "[1.5, 2, 3]");
+            copyFrom.execute(new int[]{7, 8, 9}, target, 1);
+            assertEquals("1.5,7,8,9", target.invokeMember("join").asString());
+
+            target = context.eval(ID, "[1, 2]");
+            copyFrom.execute(new byte[]{-1}, target, 2);
+            assertEquals("1,2,-1", target.invokeMember("join").asString());
+
+            target = context.eval(ID, "Object.freeze([1, 2])");
+            copyFrom.execute(new int[]{7}, target);
+            assertEquals("1,2", target.invokeMember("join").asString());
+        }
+    }
+
+    @Test
+    public void testForeignArray() {
+        try (Context context = newContext()) {
+            Value copyFrom = polyglotFunction(context, "copyFromHostArray");
+            Value copyTo = polyglotFunction(context, "copyToHostArray");
+            Value sum = context.eval(ID, "(a => a.reduce((x, y) => x + y, 0))");
+            assertEquals(3, sum.execute(copyFrom.execute(new long[]{1, 2})).asInt());
+            long[] longs = new long[2];
+            copyTo.execute(context.eval(ID, "[4, 5]"), longs);
+            assertArrayEquals(new long[]{4, 5}, longs);
+        }
+    }
+
+    private static void assertError(String errorName, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.isGuestException() && e.getMessage().startsWith(errorName));
+            return;
+        }
+        throw new AssertionError("expected " + errorName);
+    }
+}
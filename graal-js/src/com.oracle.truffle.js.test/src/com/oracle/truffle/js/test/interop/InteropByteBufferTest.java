@@ -355,4 +355,52 @@ public class InteropByteBufferTest {
         }
     }
 
+    @Test
+    public void testAliasedDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder());
+        buffer.putInt(4, 42);
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer);
+            Value ints = context.eval(ID, "var ints = new Int32Array(new ArrayBuffer(buffer)); ints[2] = 7; ints;");
+            assertEquals(4, ints.getArraySize());
+            assertEquals(42, ints.getArrayElement(1).asInt());
+            assertEquals(7, buffer.getInt(8));
+            buffer.putInt(12, -1);
+            assertEquals(-1, context.eval(ID, "ints[3]").asInt());
+            assertEquals(16, context.eval(ID, "new DataView(ints.buffer).byteLength").asInt());
+        }
+    }
+
+    @Test
+    public void testAliasedSlice() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        ByteBuffer slice = buffer.position(2).slice();
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", slice);
+            assertEquals(6, context.eval(ID, "var bytes = new Uint8Array(new ArrayBuffer(buffer)); bytes[0] = 255; bytes.length").asInt());
+            assertEquals(-1, buffer.get(2));
+        }
+    }
+
+    @Test
+    public void testDetachAliasedBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer);
+            Value result = context.eval(ID, "var ab = new ArrayBuffer(buffer); var bytes = new Uint8Array(ab); Polyglot.detachArrayBuffer(ab); [ab.byteLength, bytes.length, bytes[0]]");
+            assertEquals(0, result.getArrayElement(0).asInt());
+            assertEquals(0, result.getArrayElement(1).asInt());
+            assertTrue(result.getArrayElement(2).isNull());
+        }
+    }
+
+    @Test
+    public void testReadOnlyBufferNotAliased() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put(0, (byte) 5);
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer.asReadOnlyBuffer());
+            assertEquals(5, context.eval(ID, "new Int8Array(new ArrayBuffer(buffer))[0]").asInt());
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+import com.oracle.truffle.js.test.JSTest;
+import com.oracle.truffle.js.test.TestHelper;
+
+public class BackgroundTranslationTest {
+
+    private static final String CODE = "function topLevel(a) { return a + 1; }\n" +
+                    "topLevel;";
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    private static TestHelper newTestHelper(boolean backgroundTranslation) {
+        return new TestHelper(JSTest.newContextBuilder().option(JSContextOptions.LAZY_TRANSLATION_NAME, "true").option(JSContextOptions.BACKGROUND_TRANSLATION_NAME,
+                        String.valueOf(backgroundTranslation)));
+    }
+
+    private static JSFunctionData defineUncalledFunction(TestHelper helper) {
+        return JSFunction.getFunctionData((JSFunctionObject) helper.runNoPolyglot(CODE));
+    }
+
+    @Test
+    public void testTranslatedBeforeFirstCall() throws InterruptedException {
+        try (TestHelper helper = newTestHelper(true)) {
+            JSFunctionData functionData = defineUncalledFunction(helper);
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (functionData.getRootNode() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNotNull("function was not translated in the background", functionData.getRootNode());
+        }
+    }
+
+    @Test
+    public void testLazyWithoutBackgroundTranslation() {
+        try (TestHelper helper = newTestHelper(false)) {
+            // nothing translates the function until it is called
+            assertNull(defineUncalledFunction(helper).getRootNode());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.codec.BinaryDecoder;
+import com.oracle.truffle.js.codec.BinaryEncoder;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.parser.BinarySnapshotProvider;
+import com.oracle.truffle.js.runtime.Strings;
+
+public class BinarySnapshotProviderTest {
+
+    private static final String CODE = "1 + 2";
+
+    private static ByteBuffer header(int magic, int checksum, CharSequence code) {
+        BinaryEncoder encoder = new BinaryEncoder();
+        encoder.putInt32(magic);
+        encoder.putInt32(checksum);
+        encoder.putInt32(code.length());
+        encoder.putInt32(code.hashCode());
+        return encoder.getBuffer();
+    }
+
+    private static Source source(String code) {
+        return Source.newBuilder(JavaScriptLanguage.ID, code, "snapshot-test.js").build();
+    }
+
+    private static void assertRejected(String expectedMessage, ByteBuffer buffer) {
+        try {
+            new BinarySnapshotProvider(buffer);
+            fail("snapshot should have been rejected");
+        } catch (IllegalArgumentException e) {
+            assertEquals(expectedMessage, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        BinaryEncoder encoder = new BinaryEncoder();
+        encoder.putInt(-1234567);
+        encoder.putUInt(300);
+        encoder.putLong(Long.MIN_VALUE);
+        encoder.putDouble(-0.5);
+        encoder.putInt32(0xcafebabe);
+        encoder.putInt64(0x0123456789abcdefL);
+        encoder.putString(Strings.fromJavaString("snapshot é€"));
+        encoder.putByteArray(new byte[]{1, -2, 3});
+        encoder.putBigInteger(BigInteger.valueOf(1000));
+
+        BinaryDecoder decoder = new BinaryDecoder(encoder.getBuffer());
+        assertEquals(-1234567, decoder.getInt());
+        assertEquals(300, decoder.getUInt());
+        assertEquals(Long.MIN_VALUE, decoder.getLong());
+        assertEquals(-0.5, decoder.getDouble(), 0);
+        assertEquals(0xcafebabe, decoder.getInt32());
+        assertEquals(0x0123456789abcdefL, decoder.getInt64());
+        assertEquals("snapshot é€", Strings.toJavaString(decoder.getString()));
+        assertArrayEquals(new byte[]{1, -2, 3}, decoder.getByteArray());
+        assertEquals(BigInteger.valueOf(1000), decoder.getBigInteger());
+        assertFalse(decoder.hasRemaining());
+    }
+
+    @Test
+    public void testDecodeFromPosition() {
+        BinaryEncoder encoder = new BinaryEncoder();
+        encoder.putInt32(1);
+        int position = encoder.getPosition();
+        encoder.putInt32(2);
+        ByteBuffer buffer = encoder.getBuffer();
+
+        assertEquals(2, new BinaryDecoder(buffer, position).getInt32());
+        // the decoder reads from a view and does not move the shared buffer
+        assertEquals(0, buffer.position());
+        assertEquals(1, new BinaryDecoder(buffer).getInt32());
+    }
+
+    @Test
+    public void testHeaderTooShort() {
+        assertRejected("Unknown format", ByteBuffer.allocate(3 * Integer.BYTES));
+    }
+
+    @Test
+    public void testBadMagic() {
+        assertRejected("Unknown format", header(BinarySnapshotProvider.MAGIC + 1, JSNodeDecoder.getChecksum(), CODE));
+    }
+
+    @Test
+    public void testBadChecksum() {
+        assertRejected("Snapshot verification failed", header(BinarySnapshotProvider.MAGIC, JSNodeDecoder.getChecksum() + 1, CODE));
+    }
+
+    @Test
+    public void testSourceMismatch() {
+        BinarySnapshotProvider provider = new BinarySnapshotProvider(header(BinarySnapshotProvider.MAGIC, JSNodeDecoder.getChecksum(), CODE));
+        for (String code : new String[]{"1 + 3", "1 + 2;"}) {
+            try {
+                provider.apply(null, null, source(code));
+                fail("snapshot should not match " + code);
+            } catch (IllegalArgumentException e) {
+                assertEquals("Snapshot verification failed", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CodeCacheTest {
+
+    private static final String CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }\n" +
+                    "var o = {a: [1, 2, 3], s: 'x' + 'y'};\n" +
+                    "fib(15) + o.a.length + o.s;";
+
+    private static void eval(Path cacheDir) {
+        eval(cacheDir, true);
+    }
+
+    private static void eval(Path cacheDir, boolean allowIO) {
+        try (Context context = JSTest.newContextBuilder().allowIO(allowIO).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).build()) {
+            Source source = Source.newBuilder(JavaScriptLanguage.ID, CODE, "code-cache-test.js").buildLiteral();
+            assertEquals("613xy", context.eval(source).asString());
+        }
+    }
+
+    private static List<Path> listEntries(Path dir) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        for (Path entry : listEntries(dir)) {
+            Files.delete(entry);
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            eval(cacheDir);
+            List<Path> entries = listEntries(cacheDir);
+            assertEquals(1, entries.size());
+            assertTrue(entries.get(0).getFileName().toString().endsWith(".bin"));
+            long size = Files.size(entries.get(0));
+            assertTrue(size > 0);
+
+            // second run is served from the cache and must not rewrite the entry
+            long modified = Files.getLastModifiedTime(entries.get(0)).toMillis();
+            eval(cacheDir);
+            assertEquals(entries, listEntries(cacheDir));
+            assertEquals(modified, Files.getLastModifiedTime(entries.get(0)).toMillis());
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testCorruptEntry() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            eval(cacheDir);
+            Path entry = listEntries(cacheDir).get(0);
+            Files.write(entry, "garbage".getBytes(StandardCharsets.UTF_8));
+
+            // corrupt entries are ignored and replaced
+            eval(cacheDir);
+            assertEquals(1, listEntries(cacheDir).size());
+            assertTrue(Files.size(entry) > "garbage".length());
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testIODenied() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            // the cache directory is subject to the IO policy of the context
+            eval(cacheDir, false);
+            assertTrue(listEntries(cacheDir).isEmpty());
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testOptionsVariant() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            eval(cacheDir);
+            try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).option(
+                            JSContextOptions.CONST_AS_VAR_NAME, "true").build()) {
+                context.eval(Source.newBuilder(JavaScriptLanguage.ID, CODE, "code-cache-test.js").buildLiteral());
+            }
+            // different options must not reuse the entry of the first run
+            assertEquals(2, listEntries(cacheDir).size());
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.CompilationCache;
+
+public class CompilationCacheTest {
+
+    @Test
+    public void testGetPut() {
+        CompilationCache<String, Integer> cache = new CompilationCache<>(16);
+        assertNull(cache.get("a"));
+        cache.put("a", 1, 1);
+        cache.put("b", 2, 1);
+        assertEquals(1, (int) cache.get("a"));
+        assertEquals(2, (int) cache.get("b"));
+        cache.put("a", 3, 1);
+        assertEquals(3, (int) cache.get("a"));
+
+        CompilationCache.Statistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(2, statistics.getSize());
+        assertEquals(2, statistics.getWeight());
+    }
+
+    @Test
+    public void testWeightBound() {
+        CompilationCache<Integer, Integer> cache = new CompilationCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            if (cache.get(i % 300) == null) {
+                cache.put(i % 300, i, 1 + i % 7);
+            }
+            assertTrue(cache.getStatistics().getWeight() <= 100);
+        }
+        assertNull(cache.get(-1));
+        cache.put(-1, -1, 1000);
+        assertNull(cache.get(-1));
+    }
+
+    @Test
+    public void testOversizedEntryDoesNotEvict() {
+        CompilationCache<String, Integer> cache = new CompilationCache<>(16);
+        for (int i = 0; i < 5; i++) {
+            cache.put("small" + i, i, 1);
+        }
+        // make the oversized entry more frequent than any of the existing entries
+        for (int i = 0; i < 10; i++) {
+            assertNull(cache.get("oversized"));
+        }
+        cache.put("oversized", -1, 100);
+        assertNull(cache.get("oversized"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, (int) cache.get("small" + i));
+        }
+        assertEquals(5, cache.getStatistics().getWeight());
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        CompilationCache<String, Integer> cache = new CompilationCache<>(128);
+        int hits = 0;
+        int requests = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 50; i++) {
+                String key = "frequent" + i;
+                requests++;
+                if (cache.get(key) == null) {
+                    cache.put(key, i, 1);
+                } else {
+                    hits++;
+                }
+            }
+            for (int i = 0; i < 200; i++) {
+                String key = "once" + round + "_" + i;
+                if (cache.get(key) == null) {
+                    cache.put(key, i, 1);
+                }
+            }
+        }
+        // An LRU cache of this size would not have any hits for this access pattern.
+        assertTrue(hits > requests * 9 / 10);
+    }
+
+    @Test
+    public void testWeightOfSource() {
+        assertEquals(1, CompilationCache.weightOfSource(0));
+        assertEquals(1, CompilationCache.weightOfSource(1023));
+        assertEquals(2, CompilationCache.weightOfSource(1024));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+public class JSHashMapTest {
+
+    private static Object randomKey(Random random) {
+        int k = random.nextInt(2000);
+        switch (k % 3) {
+            case 0:
+                return k;
+            case 1:
+                return k + 0.5;
+            default:
+                return Strings.fromJavaString("k" + k);
+        }
+    }
+
+    private static void assertSameContents(LinkedHashMap<Object, Object> expected, JSHashMap actual) {
+        assertEquals(expected.size(), actual.size());
+        JSHashMap.Cursor cursor = actual.getEntries();
+        for (Map.Entry<Object, Object> entry : expected.entrySet()) {
+            assertTrue(cursor.advance());
+            assertEquals(entry.getKey(), cursor.getKey());
+            assertEquals(entry.getValue(), cursor.getValue());
+        }
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testAgainstLinkedHashMap() {
+        Random random = new Random(42);
+        LinkedHashMap<Object, Object> expected = new LinkedHashMap<>();
+        JSHashMap actual = new JSHashMap();
+        for (int i = 0; i < 100000; i++) {
+            Object key = randomKey(random);
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                case 2:
+                    assertEquals(expected.remove(key) != null, actual.remove(key));
+                    break;
+                case 3:
+                    if (random.nextInt(1000) == 0) {
+                        expected.clear();
+                        actual.clear();
+                    }
+                    break;
+                default:
+                    if (!expected.containsKey(key)) {
+                        expected.put(key, i);
+                    } else {
+                        // LinkedHashMap keeps the insertion position of updated keys, too
+                        expected.replace(key, i);
+                    }
+                    actual.put(key, i);
+                    break;
+            }
+            assertEquals(expected.containsKey(key), actual.has(key));
+            assertEquals(expected.get(key), actual.get(key));
+        }
+        assertSameContents(expected, actual);
+    }
+
+    @Test
+    public void testCursorSurvivesCompaction() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        JSHashMap.Cursor cursor = map.getEntries();
+        List<Object> visited = new ArrayList<>();
+        while (cursor.advance()) {
+            Object key = cursor.getKey();
+            visited.add(key);
+            // removing all entries shrinks and compacts the table during iteration
+            map.remove(key);
+            if ((int) key < 500) {
+                map.put(1000 + (int) key, key);
+            }
+        }
+        assertEquals(1500, visited.size());
+        for (int i = 0; i < visited.size(); i++) {
+            assertEquals(i, visited.get(i));
+        }
+        assertEquals(0, map.size());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursorAfterClear() {
+        JSHashMap map = new JSHashMap();
+        map.put(1, "a");
+        map.put(2, "b");
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        JSHashMap.Cursor copy = cursor.copy();
+        map.clear();
+        map.put(3, "c");
+        // cursors continue with the entries added after clear
+        assertTrue(cursor.advance());
+        assertEquals(3, cursor.getKey());
+        assertFalse(cursor.advance());
+        assertTrue(copy.advance());
+        assertEquals("c", copy.getValue());
+    }
+
+    @Test
+    public void testReinsertMovesToEnd() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 4; i++) {
+            map.put(i, i);
+        }
+        map.remove(0);
+        map.put(0, 0);
+        map.put(2, 20);
+        JSHashMap.Cursor cursor = map.getEntries();
+        Iterator<Integer> expected = List.of(1, 2, 3, 0).iterator();
+        while (cursor.advance()) {
+            assertEquals(expected.next(), cursor.getKey());
+        }
+        assertFalse(expected.hasNext());
+        assertEquals(20, map.get(2));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.array.SparseIndexMap;
+import com.oracle.truffle.js.test.JSTest;
+
+public class SparseArrayTest {
+
+    private static long orNoKey(Long key) {
+        return key == null ? SparseIndexMap.NO_KEY : key;
+    }
+
+    private static void assertSameContents(TreeMap<Long, Object> expected, SparseIndexMap actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty() ? SparseIndexMap.NO_KEY : expected.firstKey(), actual.firstKey());
+        assertEquals(expected.isEmpty() ? SparseIndexMap.NO_KEY : expected.lastKey(), actual.lastKey());
+        long[] keys = actual.keys();
+        int i = 0;
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getKey().longValue(), keys[i++]);
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testIndexMapAgainstTreeMap() {
+        Random random = new Random(42);
+        TreeMap<Long, Object> expected = new TreeMap<>();
+        SparseIndexMap actual = new SparseIndexMap();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000);
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                    assertEquals(expected.remove(key), actual.remove(key));
+                    break;
+                case 2:
+                    assertEquals(orNoKey(expected.higherKey(key)), actual.higherKey(key));
+                    assertEquals(orNoKey(expected.lowerKey(key)), actual.lowerKey(key));
+                    break;
+                case 3:
+                    if (random.nextInt(100) == 0) {
+                        expected.tailMap(key).clear();
+                        actual.removeFrom(key);
+                        assertSameContents(expected, actual);
+                    }
+                    break;
+                default:
+                    assertEquals(expected.put(key, i), actual.put(key, i));
+                    break;
+            }
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+        }
+        assertSameContents(expected, actual);
+        assertSameContents(expected, actual.copy());
+    }
+
+    @Test
+    public void testIndexMapAppend() {
+        SparseIndexMap map = new SparseIndexMap();
+        long[] keys = new long[10000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 1000L;
+            map.put(keys[i], i);
+        }
+        assertArrayEquals(keys, map.keys());
+        for (int i = keys.length - 1; i >= 0; i--) {
+            assertEquals(i, map.remove(keys[i]));
+        }
+        assertEquals(0, map.size());
+        assertEquals(SparseIndexMap.NO_KEY, map.firstKey());
+        assertEquals(SparseIndexMap.NO_KEY, map.lastKey());
+    }
+
+    @Test
+    public void testTransitionBackToHolesArray() {
+        try (Context context = JSTest.newContextBuilder().option("js.debug-builtin", "true").build()) {
+            context.eval(JavaScriptLanguage.ID, "var arr = []; arr[0] = 0; arr[1000000] = 1;");
+            assertEquals("SparseArray", context.eval(JavaScriptLanguage.ID, "Debug.arraytype(arr)").asString());
+            context.eval(JavaScriptLanguage.ID, "for (var i = 1; i < 100; i += 2) { arr[i] = i; }");
+            assertEquals("SparseArray", context.eval(JavaScriptLanguage.ID, "Debug.arraytype(arr)").asString());
+            context.eval(JavaScriptLanguage.ID, "arr.length = 100;");
+            context.eval(JavaScriptLanguage.ID, "for (var i = 100; i < 150; i += 2) { arr[i] = i; }");
+            assertEquals("HolesObjectArray", context.eval(JavaScriptLanguage.ID, "Debug.arraytype(arr)").asString());
+            assertEquals(149, context.eval(JavaScriptLanguage.ID, "arr.length").asInt());
+            assertEquals(99, context.eval(JavaScriptLanguage.ID, "arr[99]").asInt());
+            assertEquals(true, context.eval(JavaScriptLanguage.ID, "arr[98] === undefined && !(98 in arr)").asBoolean());
+            assertEquals(76, context.eval(JavaScriptLanguage.ID, "Object.keys(arr).length").asInt());
+        }
+    }
+}
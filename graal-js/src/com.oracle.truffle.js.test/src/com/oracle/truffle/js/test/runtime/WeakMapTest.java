@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.util.WeakMap;
+import com.oracle.truffle.js.test.JSTest;
+
+public class WeakMapTest extends JSTest {
+
+    @Override
+    public void setup() {
+        super.setup();
+        testHelper.enterContext();
+    }
+
+    @Override
+    public void close() {
+        testHelper.leaveContext();
+        super.close();
+    }
+
+    private JSObject createOrdinaryObject() {
+        return JSOrdinary.create(testHelper.getJSContext(), testHelper.getRealm());
+    }
+
+    private WeakMap createWeakMap() {
+        return (WeakMap) JSWeakMap.getInternalWeakMap(JSWeakMap.create(testHelper.getJSContext(), testHelper.getRealm()));
+    }
+
+    @Test
+    public void testKeyShapeUnchanged() {
+        JSObject key = createOrdinaryObject();
+        Shape shape = key.getShape();
+        WeakMap map = createWeakMap();
+        map.putValue(key, 42);
+        assertSame(shape, key.getShape());
+        assertEquals(42, map.getValue(key));
+        assertTrue(map.hasValue(key));
+        assertEquals(42, map.removeValue(key));
+        assertFalse(map.hasValue(key));
+        assertSame(shape, key.getShape());
+    }
+
+    @Test
+    public void testKeyInManyMaps() {
+        JSObject key = createOrdinaryObject();
+        WeakMap[] maps = new WeakMap[20];
+        for (int i = 0; i < maps.length; i++) {
+            maps[i] = createWeakMap();
+            assertNull(maps[i].putValue(key, i));
+        }
+        for (int i = 0; i < maps.length; i++) {
+            assertEquals(i, maps[i].getValue(key));
+            assertEquals(i, maps[i].putValue(key, -i));
+        }
+        for (int i = 0; i < maps.length; i += 2) {
+            assertEquals(-i, maps[i].removeValue(key));
+        }
+        for (int i = 0; i < maps.length; i++) {
+            assertEquals(i % 2 != 0, maps[i].hasValue(key));
+        }
+    }
+
+    @Test
+    public void testManyKeys() {
+        WeakMap first = createWeakMap();
+        WeakMap second = createWeakMap();
+        JSObject[] keys = new JSObject[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = createOrdinaryObject();
+            first.putValue(keys[i], i);
+            if (i % 3 == 0) {
+                second.putValue(keys[i], keys[i]);
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, first.getValue(keys[i]));
+            assertEquals(i % 3 == 0 ? keys[i] : null, second.getValue(keys[i]));
+        }
+    }
+}
@@ -54,8 +54,8 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.parser.JSParser;
+import com.oracle.truffle.js.parser.snapshot.Recording;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.snapshot.Recording;
 import com.oracle.truffle.js.test.JSTest;
 
 public class RecordingTest extends JSTest {
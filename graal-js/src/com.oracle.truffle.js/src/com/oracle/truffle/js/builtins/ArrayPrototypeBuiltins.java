@@ -172,6 +172,7 @@ import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
@@ -2720,6 +2721,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
 
         @Child private DeletePropertyNode deletePropertyNode; // DeletePropertyOrThrow
         private final ConditionProfile isSparse = ConditionProfile.create();
+        private final ConditionProfile sortedInPlace = ConditionProfile.create();
         private final BranchProfile hasCompareFnBranch = BranchProfile.create();
         private final BranchProfile noCompareFnBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
@@ -2742,7 +2744,12 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return thisObj;
             }
 
+            int order = compare == Undefined.instance ? 0 : numericComparatorOrder(compare);
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
+            if ((compare == Undefined.instance || order != 0) && sortedInPlace.profile(sortNumberArrayInPlace(thisObj, scriptArray, order))) {
+                reportLoopCount(len);
+                return thisObj;
+            }
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
             sortIntl(getComparator(thisObj, compare), array);
@@ -2758,6 +2765,44 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return thisObj;
         }
 
+        /**
+         * Sorts the int[] or double[] storage of a dense array in place, without boxing the
+         * elements, if the default comparator ({@code order == 0}) or a recognized numeric
+         * comparator function ({@code order} 1 or -1) is used. Returns {@code false} if the generic
+         * sort has to be used instead.
+         */
+        @TruffleBoundary
+        private static boolean sortNumberArrayInPlace(JSDynamicObject thisObj, ScriptArray scriptArray, int order) {
+            if (!(scriptArray instanceof AbstractIntArray || scriptArray instanceof AbstractDoubleArray) || !((AbstractWritableArray) scriptArray).isSortableInPlace(thisObj)) {
+                return false;
+            }
+            if (order == 0) {
+                if (scriptArray instanceof AbstractIntArray) {
+                    ((AbstractIntArray) scriptArray).sortByStringOrder(thisObj);
+                } else {
+                    ((AbstractDoubleArray) scriptArray).sortByStringOrder(thisObj);
+                }
+                return true;
+            } else if (scriptArray instanceof AbstractIntArray) {
+                ((AbstractIntArray) scriptArray).sortByNumericOrder(thisObj, order < 0);
+                return true;
+            } else {
+                return ((AbstractDoubleArray) scriptArray).sortByNumericOrder(thisObj, order < 0);
+            }
+        }
+
+        /**
+         * Returns 1 for comparator functions of the form {@code (a, b) => a - b}, -1 for
+         * {@code (a, b) => b - a}, and 0 for any other value. For number elements, these are
+         * side-effect free and equivalent to a numeric sort.
+         */
+        private static int numericComparatorOrder(Object compare) {
+            if (!JSFunction.isJSFunction(compare)) {
+                return 0;
+            }
+            return JSFunction.getFunctionData((JSFunctionObject) compare).getNumericComparatorOrder();
+        }
+
         private void delete(Object obj, Object i) {
             if (deletePropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
@@ -264,7 +265,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
-import com.oracle.truffle.js.runtime.util.LRUCache;
+import com.oracle.truffle.js.runtime.util.CompilationCache;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TemporalErrors;
@@ -2101,10 +2102,6 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             return a.equals(b);
         }
 
-        protected LRUCache<CachedSourceKey, ScriptNode> createCache() {
-            return new LRUCache<>(context.getContextOptions().getFunctionConstructorCacheSize());
-        }
-
         @SuppressWarnings("unused")
         @Specialization(guards = {"equals(cachedParamList, paramList)", "equals(cachedBody, body)", "equals(cachedSourceName, sourceName)"}, limit = "1")
         protected final JSDynamicObject doCached(String paramList, String body, String sourceName,
@@ -2123,9 +2120,9 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
 
         @Specialization(replaces = "doCached")
         protected final JSDynamicObject doUncached(String paramList, String body, String sourceName,
-                        @Cached("createCache()") LRUCache<CachedSourceKey, ScriptNode> cache,
                         @Cached("createCountingProfile()") ConditionProfile cacheHit) {
-            ScriptNode cached = cacheLookup(cache, new CachedSourceKey(paramList, body, sourceName));
+            CompilationCache<Object, ScriptNode> cache = context.getFunctionConstructorCache();
+            ScriptNode cached = cache == null ? null : cache.get(new CachedSourceKey(paramList, body, sourceName, generatorFunction, asyncFunction));
             JSRealm realm = getRealm();
             if (cacheHit.profile(cached == null)) {
                 return parseAndEvalFunction(cache, realm, paramList, body, sourceName);
@@ -2134,13 +2131,6 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             }
         }
 
-        @TruffleBoundary
-        protected ScriptNode cacheLookup(LRUCache<CachedSourceKey, ScriptNode> cache, CachedSourceKey sourceKey) {
-            synchronized (cache) {
-                return cache.get(sourceKey);
-            }
-        }
-
         @TruffleBoundary(transferToInterpreterOnException = false)
         protected final ScriptNode parseFunction(String paramList, String body, String sourceName) {
             CompilerAsserts.neverPartOfCompilation();
@@ -2153,10 +2143,11 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         }
 
         @TruffleBoundary(transferToInterpreterOnException = false)
-        private JSDynamicObject parseAndEvalFunction(LRUCache<CachedSourceKey, ScriptNode> cache, JSRealm realm, String paramList, String body, String sourceName) {
+        private JSDynamicObject parseAndEvalFunction(CompilationCache<Object, ScriptNode> cache, JSRealm realm, String paramList, String body, String sourceName) {
             ScriptNode parsedBody = parseFunction(paramList, body, sourceName);
-            synchronized (cache) {
-                cache.put(new CachedSourceKey(paramList, body, sourceName), parsedBody);
+            if (cache != null) {
+                cache.put(new CachedSourceKey(paramList, body, sourceName, generatorFunction, asyncFunction), parsedBody,
+                                CompilationCache.weightOfSource(paramList.length() + body.length()));
             }
             return evalParsedFunction(realm, parsedBody);
         }
@@ -2169,11 +2160,15 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             private final String body;
             private final String paramList;
             private final String sourceName;
+            private final boolean generatorFunction;
+            private final boolean asyncFunction;
 
-            CachedSourceKey(String paramList, String body, String sourceName) {
+            CachedSourceKey(String paramList, String body, String sourceName, boolean generatorFunction, boolean asyncFunction) {
                 this.body = body;
                 this.paramList = paramList;
                 this.sourceName = sourceName;
+                this.generatorFunction = generatorFunction;
+                this.asyncFunction = asyncFunction;
             }
 
             @Override
@@ -2182,12 +2177,13 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                     return false;
                 }
                 CachedSourceKey k = (CachedSourceKey) o;
-                return k.body.equals(body) && k.paramList.equals(paramList) && k.sourceName.equals(sourceName);
+                return k.body.equals(body) && k.paramList.equals(paramList) && k.sourceName.equals(sourceName) &&
+                                k.generatorFunction == generatorFunction && k.asyncFunction == asyncFunction;
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(body, paramList, sourceName);
+                return Objects.hash(body, paramList, sourceName, generatorFunction, asyncFunction);
             }
         }
 
@@ -2261,9 +2257,31 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
                         @Cached @Shared("errorBranch") BranchProfile errorBranch,
                         @CachedLibrary(limit = "InteropLibraryLimit") @Shared("bufferInterop") @SuppressWarnings("unused") InteropLibrary bufferInterop) {
             getBufferSizeSafe(buffer, bufferInterop, errorBranch);
+            if (!useShared) {
+                JSDynamicObject aliasingBuffer = createAliasingArrayBuffer(buffer);
+                if (aliasingBuffer != null) {
+                    return swapPrototype(aliasingBuffer, newTarget);
+                }
+            }
             return swapPrototype(JSArrayBuffer.createInteropArrayBuffer(getContext(), getRealm(), buffer), newTarget);
         }
 
+        /**
+         * Host byte buffers are wrapped directly instead of accessing them through interop.
+         */
+        @TruffleBoundary
+        private JSDynamicObject createAliasingArrayBuffer(Object buffer) {
+            JSRealm realm = getRealm();
+            TruffleLanguage.Env env = realm.getEnv();
+            if (env.isHostObject(buffer)) {
+                Object hostObject = env.asHostObject(buffer);
+                if (hostObject instanceof ByteBuffer) {
+                    return JSArrayBuffer.createAliasingArrayBuffer(getContext(), realm, (ByteBuffer) hostObject);
+                }
+            }
+            return null;
+        }
+
         @Override
         protected JSDynamicObject getIntrinsicDefaultProto(JSRealm realm) {
             return useShared ? realm.getSharedArrayBufferPrototype() : realm.getArrayBufferPrototype();
@@ -69,6 +69,7 @@ import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugContinueInInterp
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugCreateSafeIntegerNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugDumpCountersNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugDumpFunctionTreeNodeGen;
+import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugDumpPropertyCacheStatisticsNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugHeapDumpNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugIsHolesArrayNodeGen;
 import com.oracle.truffle.js.builtins.DebugBuiltinsFactory.DebugJSStackNodeGen;
@@ -119,6 +120,7 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.PropertyCacheStatistics;
 
 /**
  * Contains builtins for {@code Debug} object.
@@ -143,6 +145,7 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         className(1),
         shape(1),
         dumpCounters(0),
+        dumpPropertyCacheStatistics(0),
         dumpFunctionTree(1),
         printObject(1),
         toJavaString(1),
@@ -187,6 +190,8 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
                 return DebugShapeNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
             case dumpCounters:
                 return DebugDumpCountersNodeGen.create(context, builtin, args().createArgumentNodes(context));
+            case dumpPropertyCacheStatistics:
+                return DebugDumpPropertyCacheStatisticsNodeGen.create(context, builtin, args().createArgumentNodes(context));
             case dumpFunctionTree:
                 return DebugDumpFunctionTreeNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
             case printObject:
@@ -328,6 +333,22 @@ public final class DebugBuiltins extends JSBuiltinsContainer.SwitchEnum<DebugBui
         }
     }
 
+    public abstract static class DebugDumpPropertyCacheStatisticsNode extends JSBuiltinNode {
+        public DebugDumpPropertyCacheStatisticsNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object dumpPropertyCacheStatistics() {
+            PropertyCacheStatistics statistics = getContext().getPropertyCacheStatistics();
+            if (statistics != null) {
+                statistics.dump(getRealm().getOutputWriter());
+            }
+            return Undefined.instance;
+        }
+    }
+
     public abstract static class DebugDumpFunctionTreeNode extends JSBuiltinNode {
         public DebugDumpFunctionTreeNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
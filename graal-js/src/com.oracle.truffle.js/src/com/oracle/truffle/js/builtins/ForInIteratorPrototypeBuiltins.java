@@ -126,6 +126,10 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
         private final BranchProfile growProfile = BranchProfile.create();
         private final ConditionProfile fastOwnKeysProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile sameShapeProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile useEnumCacheProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCacheKeyProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCacheSameShapeProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile enumCachePrototypeProfile = ConditionProfile.createBinaryProfile();
 
         private static final Object DONE = null;
         private static final int MAX_PROTO_DEPTH = 1000;
@@ -171,12 +175,20 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
                     JSClass jsclass = JSObject.getJSClass(object);
                     Shape objectShape = object.getShape();
                     boolean fastOwnKeys;
+                    boolean enumCache = false;
                     List<?> list;
                     int size;
                     if (fastOwnKeysProfile.profile(JSConfig.FastOwnKeys && hasOnlyShapePropertiesNode.execute(object, jsclass))) {
                         fastOwnKeys = true;
-                        // if the object does not have enumerable properties, no need to enumerate
-                        list = JSShape.getPropertiesIfHasEnumerablePropertyNames(objectShape);
+                        if (useEnumCacheProfile.profile(isReceiver(state) && prototypesHaveNoEnumerableProperties(object))) {
+                            // only the cached enumerable keys of the receiver's shape are left,
+                            // and they cannot be shadowed, so no need to track visited keys
+                            enumCache = true;
+                            list = JSShape.getEnumerablePropertyNames(objectShape);
+                        } else {
+                            // if the object does not have enumerable properties, no need to enumerate
+                            list = JSShape.getPropertiesIfHasEnumerablePropertyNames(objectShape);
+                        }
                         size = list.size();
                     } else {
                         fastOwnKeys = false;
@@ -188,12 +200,26 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
                     state.remainingKeysSize = size;
                     state.remainingKeysIndex = 0;
                     state.fastOwnKeys = fastOwnKeys;
+                    state.enumCache = enumCache;
                     state.objectWasVisited = true;
                 }
 
                 assert state.remainingKeysSize == state.remainingKeys.size();
                 while (state.remainingKeysIndex < state.remainingKeysSize) {
                     final Object next = listGet.execute(state.remainingKeys, state.remainingKeysIndex++);
+                    if (enumCacheKeyProfile.profile(state.enumCache)) {
+                        if (enumCacheSameShapeProfile.profile(state.objectShape == object.getShape())) {
+                            // same shape => key is still an enumerable own property
+                            return next;
+                        }
+                        // shape has changed => property may have been deleted or redefined
+                        PropertyDescriptor desc = getOwnPropertyNode.execute(object, next);
+                        if (desc != null && desc.getEnumerable()) {
+                            return next;
+                        } else {
+                            continue;
+                        }
+                    }
                     final Object key = getKey(next);
                     if (!JSGuards.isString(key)) {
                         continue;
@@ -232,9 +258,15 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
                     }
                 }
 
-                JSDynamicObject proto = getPrototypeNode.execute(object);
-                if (tryFastForwardImmutablePrototype(proto)) {
+                JSDynamicObject proto;
+                if (enumCachePrototypeProfile.profile(state.enumCache)) {
+                    // the prototypes did not have enumerable properties at the start
                     proto = Null.instance;
+                } else {
+                    proto = getPrototypeNode.execute(object);
+                    if (tryFastForwardImmutablePrototype(proto)) {
+                        proto = Null.instance;
+                    }
                 }
                 state.object = proto;
                 state.objectWasVisited = false;
@@ -265,6 +297,26 @@ public final class ForInIteratorPrototypeBuiltins extends JSBuiltinsContainer.Sw
             }
         }
 
+        private static boolean isReceiver(ForInIterator state) {
+            return state.visitedShapesSize == 0 && state.protoDepth == 0;
+        }
+
+        /**
+         * Checks if the prototype chain consists only of objects without enumerable properties, in
+         * which case the enumeration cache of the receiver's shape yields all the keys.
+         */
+        private boolean prototypesHaveNoEnumerableProperties(JSDynamicObject object) {
+            JSDynamicObject proto = getPrototypeNode.execute(object);
+            for (int depth = 0; proto != Null.instance; depth++) {
+                JSClass jsclass = JSObject.getJSClass(proto);
+                if (depth >= MAX_PROTO_DEPTH || !hasOnlyShapePropertiesNode.execute(proto, jsclass) || !JSShape.getEnumerablePropertyNames(proto.getShape()).isEmpty()) {
+                    return false;
+                }
+                proto = getPrototypeNode.execute(proto);
+            }
+            return true;
+        }
+
         private boolean tryFastForwardImmutablePrototype(JSDynamicObject proto) {
             if (proto == Null.instance) {
                 return false;
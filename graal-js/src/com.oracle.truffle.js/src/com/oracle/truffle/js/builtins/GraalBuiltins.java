@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.JSONStringifyIntoNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltins.JSONStringifyNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Boundaries;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.ByteArrayAccess;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Contains builtins of the {@code Graal} object.
+ */
+public final class GraalBuiltins extends JSBuiltinsContainer.Lambda {
+
+    public static final JSBuiltinsContainer BUILTINS = new GraalBuiltins();
+
+    protected GraalBuiltins() {
+        super(Strings.GRAAL);
+        defineFunction(Strings.JSON_STRINGIFY_INTO, 4, (context, builtin) -> JSONStringifyIntoNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context)));
+    }
+
+    /**
+     * {@code Graal.jsonStringifyInto(value, target, replacer, space)}: serializes the value like
+     * {@code JSON.stringify(value, replacer, space)} and writes the result as UTF-8 into the target,
+     * which is an ArrayBuffer, a TypedArray, or a (host or foreign) buffer. Host {@link ByteBuffer}s
+     * are written at their position, which is advanced. Returns the number of bytes written, or
+     * undefined if the value is not serializable. Throws a RangeError if the target is too small.
+     */
+    public abstract static class JSONStringifyIntoNode extends JSBuiltinNode {
+        @Child private JSONStringifyNode stringifyNode;
+
+        public JSONStringifyIntoNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+            this.stringifyNode = JSONStringifyNode.create(context);
+        }
+
+        @Specialization
+        protected Object stringifyInto(Object value, Object target, Object replacer, Object space,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @Cached TruffleString.GetInternalByteArrayNode getInternalByteArrayNode) {
+            Object json = stringifyNode.execute(value, replacer, space);
+            if (json == Undefined.instance) {
+                return Undefined.instance;
+            }
+            // JSON.stringify escapes lone surrogates, so the result is always well-formed.
+            TruffleString utf8 = switchEncodingNode.execute((TruffleString) json, TruffleString.Encoding.UTF_8);
+            InternalByteArray bytes = getInternalByteArrayNode.execute(utf8, TruffleString.Encoding.UTF_8);
+            // The target is resolved only now: toJSON, the replacer, or getters may have detached it.
+            return writeInto(target, bytes);
+        }
+
+        @TruffleBoundary
+        private int writeInto(Object target, InternalByteArray bytes) {
+            if (JSArrayBuffer.isJSHeapArrayBuffer(target)) {
+                byte[] byteArray = JSArrayBuffer.getByteArray(target);
+                if (byteArray == null) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                return write(ByteBuffer.wrap(byteArray), bytes);
+            } else if (JSArrayBuffer.isJSDirectOrSharedArrayBuffer(target)) {
+                ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(target);
+                if (byteBuffer == null) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                return write(Boundaries.byteBufferSlice(byteBuffer, 0, byteBuffer.capacity()), bytes);
+            } else if (JSArrayBuffer.isJSInteropArrayBuffer(target)) {
+                Object interopBuffer = JSArrayBuffer.getInteropBuffer(target);
+                if (interopBuffer == null) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                return writeForeign(interopBuffer, 0, -1, false, bytes);
+            } else if (JSArrayBufferView.isJSArrayBufferView(target)) {
+                JSDynamicObject view = (JSDynamicObject) target;
+                if (JSArrayBufferView.hasDetachedBuffer(view, getContext())) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                int offset = JSArrayBufferView.getByteOffset(view, getContext());
+                int length = JSArrayBufferView.getByteLength(view, getContext());
+                JSDynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+                if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+                    return write(ByteBuffer.wrap(JSArrayBuffer.getByteArray(arrayBuffer), offset, length), bytes);
+                } else if (JSArrayBuffer.isJSInteropArrayBuffer(arrayBuffer)) {
+                    return writeForeign(JSArrayBuffer.getInteropBuffer(arrayBuffer), offset, length, false, bytes);
+                } else {
+                    return write(Boundaries.byteBufferSlice(JSArrayBuffer.getDirectByteBuffer(arrayBuffer), offset, offset + length), bytes);
+                }
+            } else if (JSRuntime.isForeignObject(target)) {
+                return writeForeign(target, 0, -1, true, bytes);
+            }
+            throw Errors.createTypeError("ArrayBuffer, TypedArray or ByteBuffer expected");
+        }
+
+        /**
+         * Writes into a foreign buffer using interop messages, which enforce the host access policy.
+         * Host {@link ByteBuffer}s are written in bulk once interop has confirmed the access.
+         *
+         * @param limit number of bytes available from the offset, or -1 for the rest of the buffer
+         * @param atPosition whether a host {@link ByteBuffer} is written at its position
+         */
+        private int writeForeign(Object buffer, int offset, int limit, boolean atPosition, InternalByteArray bytes) {
+            InteropLibrary interop = InteropLibrary.getUncached(buffer);
+            if (!interop.hasBufferElements(buffer)) {
+                throw Errors.createTypeError("ArrayBuffer, TypedArray or ByteBuffer expected");
+            }
+            try {
+                if (!interop.isBufferWritable(buffer)) {
+                    throw Errors.createTypeError("Target buffer is read-only");
+                }
+                long available = limit >= 0 ? limit : interop.getBufferSize(buffer) - offset;
+                TruffleLanguage.Env env = getRealm().getEnv();
+                if (env.isHostObject(buffer) && env.asHostObject(buffer) instanceof ByteBuffer) {
+                    ByteBuffer hostBuffer = (ByteBuffer) env.asHostObject(buffer);
+                    if (atPosition) {
+                        return write(hostBuffer, bytes);
+                    }
+                    return write(Boundaries.byteBufferSlice(hostBuffer, offset, (int) (offset + available)), bytes);
+                }
+                int length = bytes.getLength();
+                if (length > available) {
+                    throw Errors.createRangeError("Target buffer too small, " + length + " bytes needed");
+                }
+                byte[] array = bytes.getArray();
+                int arrayOffset = bytes.getOffset();
+                // there is no bulk buffer write message, so write a long at a time
+                int i = 0;
+                for (; i + Long.BYTES <= length; i += Long.BYTES) {
+                    interop.writeBufferLong(buffer, ByteOrder.LITTLE_ENDIAN, offset + i, ByteArrayAccess.littleEndian().getInt64(array, arrayOffset + i));
+                }
+                for (; i < length; i++) {
+                    interop.writeBufferByte(buffer, offset + i, array[arrayOffset + i]);
+                }
+                return length;
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw Errors.createTypeErrorInteropException(buffer, e, "writeBuffer", this);
+            }
+        }
+
+        private static int write(ByteBuffer buffer, InternalByteArray bytes) {
+            int length = bytes.getLength();
+            if (length > buffer.remaining()) {
+                throw Errors.createRangeError("Target buffer too small, " + length + " bytes needed");
+            }
+            buffer.put(bytes.getArray(), bytes.getOffset(), length);
+            return length;
+        }
+    }
+}
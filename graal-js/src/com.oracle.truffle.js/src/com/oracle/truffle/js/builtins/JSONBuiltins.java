@@ -202,6 +202,12 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             super(context, builtin);
         }
 
+        public static JSONStringifyNode create(JSContext context) {
+            return JSONStringifyNodeGen.create(context, null, null);
+        }
+
+        public abstract Object execute(Object value, Object replacer, Object space);
+
         @Child private JSONStringifyStringNode jsonStringifyStringNode;
         @Child private CreateDataPropertyNode createWrapperPropertyNode;
         @Child private JSToIntegerAsIntNode toIntegerNode;
@@ -65,6 +65,9 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotConstructNodeGen;
+import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotCopyFromHostArrayNodeGen;
+import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotCopyToHostArrayNodeGen;
+import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotDetachArrayBufferNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotEvalFileNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotEvalNodeGen;
 import com.oracle.truffle.js.builtins.PolyglotBuiltinsFactory.PolyglotExecuteNodeGen;
@@ -97,7 +100,10 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.interop.HostArrayTransfer;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.Pair;
@@ -114,7 +120,10 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
         // external
         export(2),
         import_(1),
-        eval(2);
+        eval(2),
+        copyFromHostArray(2),
+        copyToHostArray(2),
+        detachArrayBuffer(1);
 
         private final int length;
 
@@ -137,6 +146,12 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
                 return PolyglotImportNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
             case eval:
                 return PolyglotEvalNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            case copyFromHostArray:
+                return PolyglotCopyFromHostArrayNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
+            case copyToHostArray:
+                return PolyglotCopyToHostArrayNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
+            case detachArrayBuffer:
+                return PolyglotDetachArrayBufferNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
         }
         return null;
     }
@@ -952,4 +967,70 @@ public final class PolyglotBuiltins extends JSBuiltinsContainer.SwitchEnum<Polyg
             return exportValueNode.execute(value);
         }
     }
+
+    /**
+     * {@code Polyglot.copyFromHostArray(hostArray, target, targetIndex)}: copies a Java
+     * {@code int[]}, {@code double[]}, {@code byte[]} or {@code ByteBuffer} (or another foreign
+     * array or buffer) into a JS array or typed array in one call. Without a target, returns a new
+     * array.
+     */
+    abstract static class PolyglotCopyFromHostArrayNode extends JSBuiltinNode {
+
+        PolyglotCopyFromHostArrayNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object copy(Object hostArray, Object target, Object targetIndex) {
+            JSRealm realm = getRealm();
+            Object array = HostArrayTransfer.asHostArray(realm.getEnv(), hostArray, false);
+            if (target == Undefined.instance) {
+                return HostArrayTransfer.createArray(getContext(), realm, array);
+            }
+            HostArrayTransfer.copyFromHost(getContext(), array, target, JSRuntime.toInteger(targetIndex));
+            return target;
+        }
+    }
+
+    /**
+     * {@code Polyglot.copyToHostArray(source, hostArray, hostIndex)}: copies a JS array or typed
+     * array into a Java {@code int[]}, {@code double[]}, {@code byte[]} or {@code ByteBuffer} (or
+     * another foreign array or buffer) in one call. Returns the number of copied elements.
+     */
+    abstract static class PolyglotCopyToHostArrayNode extends JSBuiltinNode {
+
+        PolyglotCopyToHostArrayNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected int copy(Object source, Object hostArray, Object hostIndex) {
+            Object array = HostArrayTransfer.asHostArray(getRealm().getEnv(), hostArray, true);
+            return HostArrayTransfer.copyToHost(getContext(), source, array, JSRuntime.toInteger(hostIndex));
+        }
+    }
+
+    /**
+     * {@code Polyglot.detachArrayBuffer(arrayBuffer)}: detaches an ArrayBuffer, e.g., before the
+     * host releases the memory of a wrapped {@code ByteBuffer}. Typed arrays and data views on a
+     * detached buffer have no accessible elements.
+     */
+    abstract static class PolyglotDetachArrayBufferNode extends JSBuiltinNode {
+
+        PolyglotDetachArrayBufferNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        protected Object detach(Object arrayBuffer) {
+            if (!(JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer) || JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer) || JSArrayBuffer.isJSInteropArrayBuffer(arrayBuffer))) {
+                throw Errors.createTypeError("ArrayBuffer expected");
+            }
+            JSArrayBuffer.detachArrayBuffer((JSDynamicObject) arrayBuffer);
+            return Undefined.instance;
+        }
+    }
 }
@@ -40,15 +40,8 @@
  */
 package com.oracle.truffle.js.builtins;
 
-import java.util.WeakHashMap;
-
-import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
-import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.library.CachedLibrary;
-import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapDeleteNodeGen;
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapGetNodeGen;
@@ -56,9 +49,7 @@ import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapH
 import com.oracle.truffle.js.builtins.WeakMapPrototypeBuiltinsFactory.JSWeakMapSetNodeGen;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
-import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
@@ -125,20 +116,14 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
             super(context, builtin);
         }
 
-        protected static Object getInvertedMap(JSObject key, DynamicObjectLibrary library) {
-            return library.getOrDefault(key, WeakMap.INVERTED_WEAK_MAP_KEY, null);
-        }
-
-        @SuppressWarnings("unchecked")
-        protected static WeakHashMap<WeakMap, Object> castWeakHashMap(Object map) {
-            return CompilerDirectives.castExact(map, WeakHashMap.class);
+        protected static WeakMap getWeakMap(JSWeakMapObject thisObj) {
+            return (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
         }
     }
 
     /**
      * Implementation of the WeakMap.prototype.delete().
      */
-    @ImportStatic(JSConfig.class)
     public abstract static class JSWeakMapDeleteNode extends JSWeakMapBaseNode {
 
         public JSWeakMapDeleteNode(JSContext context, JSBuiltin builtin) {
@@ -146,16 +131,8 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         }
 
         @Specialization
-        protected static boolean delete(JSWeakMapObject thisObj, JSObject key,
-                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary invertedGetter,
-                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
-            WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
-            Object inverted = getInvertedMap(key, invertedGetter);
-            if (hasInvertedProfile.profile(inverted != null)) {
-                WeakHashMap<WeakMap, Object> invertedMap = castWeakHashMap(inverted);
-                return Boundaries.mapRemove(invertedMap, map) != null;
-            }
-            return false;
+        protected static boolean delete(JSWeakMapObject thisObj, JSObject key) {
+            return getWeakMap(thisObj).removeValue(key) != null;
         }
 
         @SuppressWarnings("unused")
@@ -174,7 +151,6 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
     /**
      * Implementation of the WeakMap.prototype.get().
      */
-    @ImportStatic(JSConfig.class)
     public abstract static class JSWeakMapGetNode extends JSWeakMapBaseNode {
 
         public JSWeakMapGetNode(JSContext context, JSBuiltin builtin) {
@@ -182,17 +158,11 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         }
 
         @Specialization
-        protected Object get(JSWeakMapObject thisObj, JSObject key,
-                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary invertedGetter,
-                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
-            WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
-            Object inverted = getInvertedMap(key, invertedGetter);
-            if (hasInvertedProfile.profile(inverted != null)) {
-                WeakHashMap<WeakMap, Object> invertedMap = castWeakHashMap(inverted);
-                Object value = mapGet(invertedMap, map);
-                if (value != null) {
-                    return value;
-                }
+        protected static Object get(JSWeakMapObject thisObj, JSObject key,
+                        @Cached("createBinaryProfile()") ConditionProfile hasValueProfile) {
+            Object value = getWeakMap(thisObj).getValue(key);
+            if (hasValueProfile.profile(value != null)) {
+                return value;
             }
             return Undefined.instance;
         }
@@ -208,17 +178,11 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static Object notWeakMap(Object thisObj, Object key) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapGet(WeakHashMap<WeakMap, Object> invertedMap, WeakMap map) {
-            return invertedMap.get(map);
-        }
     }
 
     /**
      * Implementation of the WeakMap.prototype.set().
      */
-    @ImportStatic(JSConfig.class)
     public abstract static class JSWeakMapSetNode extends JSWeakMapBaseNode {
 
         public JSWeakMapSetNode(JSContext context, JSBuiltin builtin) {
@@ -226,19 +190,8 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         }
 
         @Specialization
-        protected Object set(JSWeakMapObject thisObj, JSObject key, Object value,
-                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary invertedGetter,
-                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary invertedSetter,
-                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
-            WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
-            Object inverted = getInvertedMap(key, invertedGetter);
-            if (hasInvertedProfile.profile(inverted != null)) {
-                WeakHashMap<WeakMap, Object> invertedMap = castWeakHashMap(inverted);
-                mapPut(invertedMap, map, value);
-            } else {
-                inverted = map.newInvertedMapWithEntry(key, value);
-                invertedSetter.put(key, WeakMap.INVERTED_WEAK_MAP_KEY, inverted);
-            }
+        protected static Object set(JSWeakMapObject thisObj, JSObject key, Object value) {
+            getWeakMap(thisObj).putValue(key, value);
             return thisObj;
         }
 
@@ -253,17 +206,11 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         protected static Object notWeakMap(Object thisObj, Object key, Object value) {
             throw typeErrorWeakMapExpected();
         }
-
-        @TruffleBoundary(allowInlining = true)
-        private static Object mapPut(WeakHashMap<WeakMap, Object> invertedMap, WeakMap map, Object value) {
-            return invertedMap.put(map, value);
-        }
     }
 
     /**
      * Implementation of the WeakMap.prototype.has().
      */
-    @ImportStatic(JSConfig.class)
     public abstract static class JSWeakMapHasNode extends JSWeakMapBaseNode {
 
         public JSWeakMapHasNode(JSContext context, JSBuiltin builtin) {
@@ -271,21 +218,8 @@ public final class WeakMapPrototypeBuiltins extends JSBuiltinsContainer.SwitchEn
         }
 
         @Specialization
-        protected boolean has(JSWeakMapObject thisObj, JSObject key,
-                        @CachedLibrary(limit = "PropertyCacheLimit") DynamicObjectLibrary invertedGetter,
-                        @Cached("createBinaryProfile()") ConditionProfile hasInvertedProfile) {
-            WeakMap map = (WeakMap) JSWeakMap.getInternalWeakMap(thisObj);
-            Object inverted = getInvertedMap(key, invertedGetter);
-            if (hasInvertedProfile.profile(inverted != null)) {
-                WeakHashMap<WeakMap, Object> invertedMap = castWeakHashMap(inverted);
-                return mapHas(invertedMap, map);
-            }
-            return false;
-        }
-
-        @TruffleBoundary(allowInlining = true)
-        private static boolean mapHas(WeakHashMap<WeakMap, Object> invertedMap, WeakMap map) {
-            return invertedMap.containsKey(map);
+        protected static boolean has(JSWeakMapObject thisObj, JSObject key) {
+            return getWeakMap(thisObj).hasValue(key);
         }
 
         @SuppressWarnings("unused")
@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.builtins.helper;
 
+import java.util.Arrays;
+
 import com.oracle.js.parser.ParserException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.strings.TruffleString;
@@ -50,12 +52,13 @@ import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
-import com.oracle.truffle.js.runtime.array.ScriptArray;
-import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 public class TruffleJSONParser {
@@ -70,6 +73,7 @@ public class TruffleJSONParser {
     protected static final char[] BooleanTrueLiteral = new char[]{'t', 'r', 'u', 'e'};
     protected static final char[] BooleanFalseLiteral = new char[]{'f', 'a', 'l', 's', 'e'};
     protected static final int MAX_PARSE_DEPTH = 100000;
+    private static final int INITIAL_ELEMENT_CAPACITY = 8;
 
     private static final String MALFORMED_NUMBER = "malformed number";
 
@@ -162,22 +166,24 @@ public class TruffleJSONParser {
     }
 
     private void parseJSONMemberList(JSObject object, JSRealm realm) {
-        Member member = parseJSONMember(realm);
-        JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+        parseJSONMember(object, realm);
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
-            member = parseJSONMember(realm);
-            JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+            parseJSONMember(object, realm);
         }
     }
 
-    private Member parseJSONMember(JSRealm realm) {
+    private void parseJSONMember(JSObject object, JSRealm realm) {
         TruffleString jsonString = parseJSONString();
         expectChar(':');
         skipWhitespace();
         Object jsonValue = parseJSONValue(realm);
-        return new Member(jsonString, jsonValue);
+        // The object is a fresh ordinary object that only has default data properties, so we
+        // can put the property directly (replacing the value of a duplicate key) instead of going
+        // through [[DefineOwnProperty]]. Repeated key sequences follow the cached shape
+        // transitions.
+        JSObjectUtil.defineDataProperty(context, object, jsonString, jsonValue, JSAttributes.getDefault());
     }
 
     private Object parseJSONArray(JSRealm realm) {
@@ -185,12 +191,14 @@ public class TruffleJSONParser {
         incDepth();
         skipChar('[');
         skipWhitespace();
-        JSArrayObject array = JSArray.createEmptyZeroLength(context, realm);
+        JSArrayObject array;
         if (get() != ']') {
-            parseJSONElementList(array, realm);
+            array = parseJSONElementList(realm);
             if (get() != ']') {
                 error("closing quote ] expected");
             }
+        } else {
+            array = JSArray.createEmptyZeroLength(context, realm);
         }
         skipChar(']');
         skipWhitespace();
@@ -217,18 +225,58 @@ public class TruffleJSONParser {
         this.parseDepth--;
     }
 
-    protected ScriptArray parseJSONElementList(JSArrayObject arrayObject, JSRealm realm) {
-        int index = 0;
-        ScriptArray scriptArray = JSAbstractArray.arrayGetArrayType(arrayObject);
-        scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm), false);
-        while (get() == ',') {
+    /**
+     * Parses the (non-empty) element list of an array. The elements are collected first, so that
+     * the array can be created with its final size and the most specific array type.
+     */
+    protected JSArrayObject parseJSONElementList(JSRealm realm) {
+        Object[] elements = new Object[INITIAL_ELEMENT_CAPACITY];
+        int length = 0;
+        boolean allInts = true;
+        boolean allNumbers = true;
+        boolean allObjects = true;
+        while (true) {
+            Object value = parseJSONValue(realm);
+            if (length == elements.length) {
+                elements = Arrays.copyOf(elements, length * 2);
+            }
+            elements[length++] = value;
+            if (!(value instanceof Integer)) {
+                allInts = false;
+                if (!(value instanceof Double)) {
+                    allNumbers = false;
+                }
+            }
+            if (!JSObject.isJSObject(value)) {
+                allObjects = false;
+            }
+            if (get() != ',') {
+                break;
+            }
             skipChar(',');
             skipWhitespace();
-            index++;
-            scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm), false);
         }
-        JSAbstractArray.arraySetArrayType(arrayObject, scriptArray);
-        return scriptArray;
+        if (allInts) {
+            int[] intArray = new int[length];
+            for (int i = 0; i < length; i++) {
+                intArray[i] = (int) elements[i];
+            }
+            return JSArray.createZeroBasedIntArray(context, realm, intArray);
+        } else if (allNumbers) {
+            double[] doubleArray = new double[length];
+            for (int i = 0; i < length; i++) {
+                doubleArray[i] = ((Number) elements[i]).doubleValue();
+            }
+            return JSArray.createZeroBasedDoubleArray(context, realm, doubleArray);
+        } else if (allObjects) {
+            JSDynamicObject[] objectArray = new JSDynamicObject[length];
+            for (int i = 0; i < length; i++) {
+                objectArray[i] = (JSDynamicObject) elements[i];
+            }
+            return JSArray.createZeroBasedJSObjectArray(context, realm, objectArray);
+        } else {
+            return JSArray.createZeroBasedObjectArray(context, realm, length == elements.length ? elements : Arrays.copyOf(elements, length));
+        }
     }
 
     protected TruffleString parseJSONString() {
@@ -592,22 +640,4 @@ public class TruffleJSONParser {
         }
         return true;
     }
-
-    protected final class Member {
-        private final TruffleString key;
-        private final Object value;
-
-        public Member(TruffleString key, Object value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        public TruffleString getKey() {
-            return key;
-        }
-
-        public Object getValue() {
-            return value;
-        }
-    }
 }
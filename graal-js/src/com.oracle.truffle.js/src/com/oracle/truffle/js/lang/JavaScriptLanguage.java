@@ -432,6 +432,9 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        if (options.isPropertyCacheStatistics()) {
+            context.getPropertyCacheStatistics().dump(realm.getOutputWriter());
+        }
         realm.dispose();
     }
 
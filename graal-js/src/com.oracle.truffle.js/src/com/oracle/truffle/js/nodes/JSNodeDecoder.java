@@ -297,8 +297,7 @@ public class JSNodeDecoder {
                         System.err.println("callex pos:" + position);
                     }
                     final Object[] arguments = getObjectArray(state);
-                    final ByteBuffer buffer = state.getBuffer().duplicate().position(position);
-                    NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer), arguments);
+                    NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(state.getBuffer(), position), arguments);
                     storeResult(state, decodeNode(extracted, nodeFactory, context, source));
                     break;
                 }
@@ -310,14 +309,16 @@ public class JSNodeDecoder {
                     }
                     JSFunctionData functionData = (JSFunctionData) state.getObject();
                     final Object[] arguments = getObjectArray(state);
-                    final ByteBuffer buffer = state.getBuffer().duplicate().position(position);
+                    // the function body is only decoded on first call; the buffer is shared, not
+                    // copied, so unused functions are never decoded
+                    final ByteBuffer buffer = state.getBuffer();
                     functionData.setLazyInit(new JSFunctionData.Initializer() {
                         @Override
                         public void initializeRoot(JSFunctionData fd) {
                             if (VERBOSE) {
                                 System.out.println("Decoding: " + fd.getName());
                             }
-                            NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer), arguments);
+                            NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer, position), arguments);
                             decodeNode(extracted, nodeFactory, context, source);
                         }
                     });
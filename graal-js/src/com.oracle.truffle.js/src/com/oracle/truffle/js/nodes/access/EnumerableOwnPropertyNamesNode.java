@@ -44,7 +44,10 @@ import java.util.List;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.helper.ListGetNode;
@@ -57,6 +60,7 @@ import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
@@ -66,11 +70,12 @@ import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 /**
  * EnumerableOwnPropertyNames (O, kind).
  */
+@ImportStatic(JSShape.class)
 public abstract class EnumerableOwnPropertyNamesNode extends JavaScriptBaseNode {
 
     private final boolean keys;
     private final boolean values;
-    private final JSContext context;
+    protected final JSContext context;
     @Child private JSGetOwnPropertyNode getOwnPropertyNode;
     private final ConditionProfile hasFastShapesProfile = ConditionProfile.createBinaryProfile();
     private final BranchProfile growProfile = BranchProfile.create();
@@ -95,6 +100,44 @@ public abstract class EnumerableOwnPropertyNamesNode extends JavaScriptBaseNode
 
     public abstract UnmodifiableArrayList<? extends Object> execute(JSDynamicObject obj);
 
+    /**
+     * Objects of the same shape have the same enumerable own properties, so the key list is taken
+     * from the per-shape enumeration cache. Values are read directly from the cached properties
+     * unless the shape has enumerable accessors.
+     */
+    @Specialization(guards = {"isFastOwnKeys()", "thisObj.getShape() == cachedShape", "isKeysOnly() || cachedProperties != null",
+                    "hasOnlyShapeProperties.execute(thisObj, cachedJSClass)"}, assumptions = {"cachedShape.getValidAssumption()"}, limit = "context.getPropertyCacheLimit()")
+    protected UnmodifiableArrayList<? extends Object> doCachedShape(JSDynamicObject thisObj,
+                    @Cached("thisObj.getShape()") Shape cachedShape,
+                    @Cached("getJSClass(cachedShape)") JSClass cachedJSClass,
+                    @Cached("getEnumerablePropertyNames(cachedShape)") UnmodifiableArrayList<? extends Object> cachedNames,
+                    @Cached(value = "getEnumerableDataPropertiesOrNull(cachedShape)", dimensions = 1) Property[] cachedProperties,
+                    @Cached HasOnlyShapePropertiesNode hasOnlyShapeProperties) {
+        if (isKeysOnly()) {
+            return cachedNames;
+        }
+        Object[] elements = new Object[cachedProperties.length];
+        for (int i = 0; i < cachedProperties.length; i++) {
+            Property property = cachedProperties[i];
+            Object value = JSProperty.getValue(property, thisObj, thisObj, this);
+            if (!keys && values) {
+                elements[i] = value;
+            } else {
+                assert keys && values;
+                elements[i] = JSArray.createConstant(context, getRealm(), new Object[]{property.getKey(), value});
+            }
+        }
+        return new UnmodifiableArrayList<>(elements);
+    }
+
+    protected final boolean isKeysOnly() {
+        return keys && !values;
+    }
+
+    protected static boolean isFastOwnKeys() {
+        return JSConfig.FastOwnKeys;
+    }
+
     @Specialization
     protected UnmodifiableArrayList<? extends Object> enumerableOwnPropertyNames(JSDynamicObject thisObj,
                     @Cached JSClassProfile jsclassProfile,
@@ -84,6 +84,7 @@ import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DebugCounter;
+import com.oracle.truffle.js.runtime.util.PropertyCacheStatistics;
 
 /**
  * Common base class for property cache nodes. Unifies the cache handling and receiver checks.
@@ -949,6 +950,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
                     checkForUnstableAssumption(currentHead, thisObj);
                     currentHead = rewriteCached(currentHead, filterValid(currentHead));
                     traceAssumptionInvalidated();
+                    recordInvalidation("invalid cache entry");
                     res = null;
                     continue; // restart
                 }
@@ -991,6 +993,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         while (store != null) {
             // check for obsolete shape
             if (DynamicObjectLibrary.getUncached().updateShape(store)) {
+                recordInvalidation("obsolete shape");
                 return retryCache();
             }
 
@@ -1005,6 +1008,7 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
                 // check if we're creating unnecessary polymorphism due to compatible types
                 if (tryMergeShapes(cacheShape, currentHead)) {
                     DynamicObjectLibrary.getUncached().updateShape(store);
+                    recordInvalidation("merged shapes");
                     return retryCache();
                 }
             }
@@ -1040,8 +1044,10 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             }
         }
 
-        if (cachedCount >= context.getPropertyCacheLimit() || (specialized != null && specialized.isGeneric())) {
+        if (cachedCount >= context.getPropertyCacheLimit()) {
             return rewriteToGeneric(currentHead, cachedCount, "cache limit reached");
+        } else if (specialized != null && specialized.isGeneric()) {
+            return rewriteToGeneric(currentHead, cachedCount, "generic access");
         }
 
         if (specialized == null) {
@@ -1128,6 +1134,10 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             polymorphicCount.inc();
         }
         traceRewriteInsert(specialized, cachedCount);
+        PropertyCacheStatistics statistics = context.getPropertyCacheStatistics();
+        if (statistics != null) {
+            statistics.recordInsert(this, key, cachedCount);
+        }
         if (JSConfig.TracePolymorphicPropertyAccess && cachedCount > 0) {
             System.out.printf("POLYMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), specialized.debugString());
         }
@@ -1147,6 +1157,10 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             reportPolymorphicSpecialize();
         }
         traceRewriteMegamorphic(newNode, reason);
+        PropertyCacheStatistics statistics = context.getPropertyCacheStatistics();
+        if (statistics != null) {
+            statistics.recordGeneric(this, key, cachedCount, reason);
+        }
         if (JSConfig.TraceMegamorphicPropertyAccess) {
             System.out.printf("MEGAMORPHIC PROPERTY ACCESS key='%s' %s\n%s\n---\n", key, getEncapsulatingSourceSection(), currentHead.debugString());
         }
@@ -1412,6 +1426,13 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
         }
     }
 
+    private void recordInvalidation(String reason) {
+        PropertyCacheStatistics statistics = context.getPropertyCacheStatistics();
+        if (statistics != null) {
+            statistics.recordInvalidation(this, key, reason);
+        }
+    }
+
     private void traceAssumptionInvalidated() {
         if (TruffleOptions.TraceRewrites) {
             PrintStream out = System.out;
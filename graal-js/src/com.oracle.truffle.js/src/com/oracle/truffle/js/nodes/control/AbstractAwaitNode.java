@@ -76,6 +76,7 @@ import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
+import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.UserScriptException;
@@ -107,9 +108,13 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
     @Child private PropertySetNode setAsyncCallNode;
     @Child private PropertySetNode setAsyncGeneratorNode;
     protected final JSContext context;
+    private final boolean awaitsCall;
     private final ConditionProfile asyncTypeProf = ConditionProfile.createBinaryProfile();
     private final ConditionProfile resumptionTypeProf = ConditionProfile.createBinaryProfile();
     private final BranchProfile saveStackBranch = BranchProfile.create();
+    private final ConditionProfile reuseReactionsProf = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile awaitPrimitiveProf = ConditionProfile.createBinaryProfile();
+    private final BranchProfile firstAwaitBranch = BranchProfile.create();
 
     static final HiddenKey ASYNC_CONTEXT = new HiddenKey("AsyncContext");
     static final HiddenKey ASYNC_TARGET = new HiddenKey("AsyncTarget");
@@ -127,7 +132,8 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
         this.setAsyncTargetNode = PropertySetNode.createSetHidden(ASYNC_TARGET, context);
         this.setAsyncGeneratorNode = PropertySetNode.createSetHidden(ASYNC_GENERATOR, context);
 
-        if (context.isOptionAsyncStackTraces() && expression != null && expression.hasTag(StandardTags.CallTag.class)) {
+        this.awaitsCall = expression != null && expression.hasTag(StandardTags.CallTag.class);
+        if (context.isOptionAsyncStackTraces()) {
             this.setAsyncCallNode = PropertySetNode.createSetHidden(ASYNC_CALL_NODE, context);
         }
 
@@ -158,23 +164,63 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
             context.notifyPromiseHook(-1 /* parent info */, parentPromise);
         }
 
-        JSDynamicObject promise = promiseResolve(value);
-        JSFunctionObject onFulfilled = createAwaitFulfilledFunction(resumeTarget, asyncContext, generatorOrCapability);
-        JSFunctionObject onRejected = createAwaitRejectedFunction(resumeTarget, asyncContext, generatorOrCapability);
-        PromiseCapabilityRecord throwawayCapability = newThrowawayCapability();
+        if (reuseReactionsProf.profile(context.getEcmaScriptVersion() >= JSConfig.ECMAScript2019)) {
+            // No throwaway capability is needed, so the await reactions (and their resumption
+            // functions) do not depend on the awaited value and can be shared by all awaits of
+            // this invocation.
+            PromiseReactionRecord fulfillReaction = (PromiseReactionRecord) initialState[AsyncRootNode.AWAIT_FULFILL_REACTION_INDEX];
+            PromiseReactionRecord rejectReaction;
+            if (fulfillReaction == null) {
+                firstAwaitBranch.enter();
+                fulfillReaction = PromiseReactionRecord.create(null, createAwaitFulfilledFunction(resumeTarget, asyncContext, generatorOrCapability), true);
+                rejectReaction = PromiseReactionRecord.create(null, createAwaitRejectedFunction(resumeTarget, asyncContext, generatorOrCapability), false);
+                initialState[AsyncRootNode.AWAIT_FULFILL_REACTION_INDEX] = fulfillReaction;
+                initialState[AsyncRootNode.AWAIT_REJECT_REACTION_INDEX] = rejectReaction;
+            } else {
+                rejectReaction = (PromiseReactionRecord) initialState[AsyncRootNode.AWAIT_REJECT_REACTION_INDEX];
+            }
+            fillAsyncStackTrace(frame, (JSDynamicObject) fulfillReaction.getHandler(), (JSDynamicObject) rejectReaction.getHandler());
+
+            if (awaitPrimitiveProf.profile(canAwaitPrimitiveDirectly(value))) {
+                // PromiseResolve would return a promise that is already fulfilled with the value,
+                // so enqueue the resumption job right away without creating that promise.
+                context.promiseEnqueueReactionJob(getRealm(), fulfillReaction, value);
+            } else {
+                JSDynamicObject promise = promiseResolve(value);
+                context.notifyPromiseHook(-1 /* parent info */, promise);
+
+                echoInput(frame, promise);
+                performPromiseThenNode.execute(promise, fulfillReaction, rejectReaction);
+            }
+        } else {
+            JSDynamicObject promise = promiseResolve(value);
+            JSFunctionObject onFulfilled = createAwaitFulfilledFunction(resumeTarget, asyncContext, generatorOrCapability);
+            JSFunctionObject onRejected = createAwaitRejectedFunction(resumeTarget, asyncContext, generatorOrCapability);
+            PromiseCapabilityRecord throwawayCapability = newThrowawayCapability();
 
-        fillAsyncStackTrace(frame, onFulfilled, onRejected);
-        context.notifyPromiseHook(-1 /* parent info */, promise);
+            fillAsyncStackTrace(frame, onFulfilled, onRejected);
+            context.notifyPromiseHook(-1 /* parent info */, promise);
 
-        echoInput(frame, promise);
-        performPromiseThenNode.execute(promise, onFulfilled, onRejected, throwawayCapability);
+            echoInput(frame, promise);
+            performPromiseThenNode.execute(promise, onFulfilled, onRejected, throwawayCapability);
+        }
         throw YieldException.AWAIT_NULL; // value is ignored
     }
 
+    /**
+     * Primitives are never thenable, so awaiting one is not observable except through promise
+     * hooks and the materialized input of instrumented await nodes.
+     */
+    private boolean canAwaitPrimitiveDirectly(Object value) {
+        return JSRuntime.isJSPrimitive(value) && !context.isPromiseHookUsed() && !isInputEchoed();
+    }
+
     private void fillAsyncStackTrace(VirtualFrame frame, JSDynamicObject onFulfilled, JSDynamicObject onRejected) {
         if (setAsyncCallNode != null) {
-            setAsyncCallNode.setValue(onFulfilled, expression);
-            setAsyncCallNode.setValue(onRejected, expression);
+            // the handlers may be shared with other awaits, so always overwrite the call node
+            Object callNode = awaitsCall ? expression : Undefined.instance;
+            setAsyncCallNode.setValue(onFulfilled, callNode);
+            setAsyncCallNode.setValue(onRejected, callNode);
         }
         if (context.isOptionAsyncStackTraces()) {
             Object[] asyncContext = (Object[]) readAsyncContextNode.execute(frame);
@@ -299,7 +345,8 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
             RootCallTarget asyncTarget = (RootCallTarget) JSObjectUtil.getHiddenProperty(handlerFunction, ASYNC_TARGET);
             if (asyncTarget.getRootNode() instanceof AsyncRootNode) {
                 MaterializedFrame asyncContextFrame = (MaterializedFrame) JSObjectUtil.getHiddenProperty(handlerFunction, ASYNC_CONTEXT);
-                Node callNode = (Node) JSObjectUtil.getHiddenProperty(handlerFunction, AbstractAwaitNode.ASYNC_CALL_NODE);
+                Object asyncCallNode = JSObjectUtil.getHiddenProperty(handlerFunction, AbstractAwaitNode.ASYNC_CALL_NODE);
+                Node callNode = asyncCallNode instanceof Node ? (Node) asyncCallNode : null;
                 TruffleStackTraceElement asyncStackTraceElement = TruffleStackTraceElement.create(callNode, asyncTarget, asyncContextFrame);
                 JSDynamicObject asyncPromise = ((AsyncRootNode) asyncTarget.getRootNode()).getAsyncFunctionPromise(asyncContextFrame);
                 return new AsyncStackTraceInfo(asyncPromise, asyncStackTraceElement);
@@ -339,6 +386,10 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
     protected void echoInput(VirtualFrame frame, Object value) {
     }
 
+    protected boolean isInputEchoed() {
+        return false;
+    }
+
     public static List<TruffleStackTraceElement> findAsyncStackFramesFromPromise(JSDynamicObject promise) {
         List<TruffleStackTraceElement> stackTrace = new ArrayList<>(4);
         collectAsyncStackFramesFromPromise(promise, stackTrace);
@@ -86,6 +86,11 @@ public class AwaitNode extends AbstractAwaitNode implements ResumableNode.WithIn
         }
     }
 
+    @Override
+    protected boolean isInputEchoed() {
+        return materializedInputNode != null;
+    }
+
     @Override
     protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
         JavaScriptNode expressionCopy = cloneUninitialized(expression, materializedTags);
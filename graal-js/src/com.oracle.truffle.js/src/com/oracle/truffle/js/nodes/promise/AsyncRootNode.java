@@ -53,10 +53,16 @@ public interface AsyncRootNode {
     int GENERATOR_OBJECT_OR_PROMISE_CAPABILITY_INDEX = 1;
     int ASYNC_FRAME_INDEX = 2;
     int STACK_TRACE_INDEX = 3;
+    /**
+     * Await reactions of the async function invocation, created lazily on the first await and
+     * reused by all subsequent awaits of the same invocation.
+     */
+    int AWAIT_FULFILL_REACTION_INDEX = 4;
+    int AWAIT_REJECT_REACTION_INDEX = 5;
 
     JSDynamicObject getAsyncFunctionPromise(Frame asyncFrame);
 
     static Object[] createAsyncContext(CallTarget resumeTarget, Object generatorObjectOrPromiseCapability, MaterializedFrame asyncFrame) {
-        return new Object[]{resumeTarget, generatorObjectOrPromiseCapability, asyncFrame, null};
+        return new Object[]{resumeTarget, generatorObjectOrPromiseCapability, asyncFrame, null, null, null};
     }
 }
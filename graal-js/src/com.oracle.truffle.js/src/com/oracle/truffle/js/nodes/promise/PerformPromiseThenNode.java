@@ -50,7 +50,6 @@ import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
@@ -67,7 +66,6 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
     @Child private PropertyGetNode getPromiseResultNode;
     @Child private PropertyGetNode getPromiseIsHandledNode;
     @Child private PropertySetNode setPromiseIsHandledNode;
-    @Child private PromiseReactionJobNode promiseReactionJobNode;
     private final ConditionProfile pendingProf = ConditionProfile.createBinaryProfile();
     private final ConditionProfile fulfilledProf = ConditionProfile.createBinaryProfile();
     private final ConditionProfile unhandledProf = ConditionProfile.createBinaryProfile();
@@ -84,7 +82,6 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         return new PerformPromiseThenNode(context);
     }
 
-    @SuppressWarnings("unchecked")
     public JSDynamicObject execute(JSDynamicObject promise, Object onFulfilled, Object onRejected, PromiseCapabilityRecord resultCapability) {
         assert JSPromise.isJSPromise(promise);
         Object onFulfilledHandler = isCallableFulfillNode.executeBoolean(onFulfilled) ? onFulfilled : Undefined.instance;
@@ -92,37 +89,36 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         assert resultCapability != null || (onFulfilledHandler != Undefined.instance && onRejectedHandler != Undefined.instance);
         PromiseReactionRecord fulfillReaction = PromiseReactionRecord.create(resultCapability, onFulfilledHandler, true);
         PromiseReactionRecord rejectReaction = PromiseReactionRecord.create(resultCapability, onRejectedHandler, false);
+        execute(promise, fulfillReaction, rejectReaction);
+        if (resultCapability == null) {
+            return Undefined.instance;
+        }
+        return resultCapability.getPromise();
+    }
 
+    /**
+     * Variant of PerformPromiseThen that takes already created reaction records, which allows
+     * callers to reuse immutable reactions for repeated subscriptions (e.g. await).
+     */
+    @SuppressWarnings("unchecked")
+    public void execute(JSDynamicObject promise, PromiseReactionRecord fulfillReaction, PromiseReactionRecord rejectReaction) {
+        assert JSPromise.isJSPromise(promise);
         int promiseState = JSPromise.getPromiseState(promise);
         if (pendingProf.profile(promiseState == JSPromise.PENDING)) {
             ((SimpleArrayList<? super PromiseReactionRecord>) getPromiseFulfillReactionsNode.getValue(promise)).add(fulfillReaction, growProfile);
             ((SimpleArrayList<? super PromiseReactionRecord>) getPromiseRejectReactionsNode.getValue(promise)).add(rejectReaction, growProfile);
         } else if (fulfilledProf.profile(promiseState == JSPromise.FULFILLED)) {
             Object value = getPromiseResult(promise);
-            JSFunctionObject job = getPromiseReactionJob(fulfillReaction, value);
-            context.promiseEnqueueJob(getRealm(), job);
+            context.promiseEnqueueReactionJob(getRealm(), fulfillReaction, value);
         } else {
             assert promiseState == JSPromise.REJECTED;
             Object reason = getPromiseResult(promise);
             if (unhandledProf.profile(!getPromiseIsHandled(promise))) {
                 context.notifyPromiseRejectionTracker(promise, JSPromise.REJECTION_TRACKER_OPERATION_HANDLE, Undefined.instance);
             }
-            JSFunctionObject job = getPromiseReactionJob(rejectReaction, reason);
-            context.promiseEnqueueJob(getRealm(), job);
+            context.promiseEnqueueReactionJob(getRealm(), rejectReaction, reason);
         }
         setPromiseIsHandledNode.setValueBoolean(promise, true);
-        if (resultCapability == null) {
-            return Undefined.instance;
-        }
-        return resultCapability.getPromise();
-    }
-
-    private JSFunctionObject getPromiseReactionJob(PromiseReactionRecord reaction, Object value) {
-        if (promiseReactionJobNode == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            promiseReactionJobNode = insert(PromiseReactionJobNode.create(context));
-        }
-        return promiseReactionJobNode.execute(reaction, value);
     }
 
     private Object getPromiseResult(JSDynamicObject promise) {
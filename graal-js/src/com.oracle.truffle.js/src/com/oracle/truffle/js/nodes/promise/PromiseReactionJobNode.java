@@ -63,6 +63,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSFrameUtil;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.PromiseHook;
 import com.oracle.truffle.js.runtime.Strings;
@@ -100,6 +101,16 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         return function;
     }
 
+    /**
+     * Creates a job function that expects the reaction and the argument as call arguments instead
+     * of reading them from the function object. Such a function is shared by all jobs of a realm
+     * that are enqueued with {@link JSContext#promiseEnqueueReactionJob}.
+     */
+    public static JSFunctionObject createSharedJobFunction(JSRealm realm) {
+        JSFunctionData functionData = realm.getContext().getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.PromiseReactionJob, (c) -> createPromiseReactionJobImpl(c));
+        return JSFunction.create(realm, functionData);
+    }
+
     private static JSFunctionData createPromiseReactionJobImpl(JSContext context) {
         return JSFunctionData.createCallOnly(context, new PromiseReactionJobRootNode(context).getCallTarget(), 0, Strings.EMPTY_STRING);
     }
@@ -113,6 +124,7 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         @Child private JSFunctionCallNode callHandlerNode;
         @Child private TryCatchNode.GetErrorObjectNode getErrorObjectNode;
         private final ConditionProfile handlerProf = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile sharedJobProf = ConditionProfile.createBinaryProfile();
 
         PromiseReactionJobRootNode(JSContext context) {
             super(context.getLanguage(), null, null);
@@ -123,9 +135,17 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
-            Object argument = getArgument.getValue(functionObject);
+            Object[] arguments = frame.getArguments();
+            PromiseReactionRecord reaction;
+            Object argument;
+            if (sharedJobProf.profile(JSArguments.getUserArgumentCount(arguments) == 2)) {
+                reaction = (PromiseReactionRecord) JSArguments.getUserArgument(arguments, 0);
+                argument = JSArguments.getUserArgument(arguments, 1);
+            } else {
+                JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
+                reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
+                argument = getArgument.getValue(functionObject);
+            }
 
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             Object handler = reaction.getHandler();
@@ -214,8 +234,13 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
                 return null;
             }
 
-            JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            PromiseReactionRecord reaction = (PromiseReactionRecord) getReaction.getValue(functionObject);
+            Object[] arguments = frame.getArguments();
+            PromiseReactionRecord reaction;
+            if (JSArguments.getUserArgumentCount(arguments) == 2) {
+                reaction = (PromiseReactionRecord) JSArguments.getUserArgument(arguments, 0);
+            } else {
+                reaction = (PromiseReactionRecord) getReaction.getValue(JSFrameUtil.getFunctionObject(frame));
+            }
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             if (promiseCapability != null) {
                 return AwaitNode.findAsyncStackFramesFromPromise(promiseCapability.getPromise());
@@ -60,7 +60,9 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.PromiseJobQueue;
 
 /**
  * Base class for ECMA2017 8.7 Agents.
@@ -79,7 +81,7 @@ public abstract class JSAgent implements EcmaAgent {
     /**
      * ECMA 8.4 "PromiseJobs" job queue.
      */
-    private final Deque<JSFunctionObject> promiseJobsQueue;
+    private final PromiseJobQueue promiseJobsQueue;
 
     /**
      * According to ECMA2017 8.4 the queue of pending jobs (promises reactions) must be processed
@@ -110,7 +112,7 @@ public abstract class JSAgent implements EcmaAgent {
         this.promiseRejectionTracker = promiseRejectionTracker;
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
-        this.promiseJobsQueue = new ArrayDeque<>();
+        this.promiseJobsQueue = new PromiseJobQueue();
         this.waitAsyncJobsQueue = new ConcurrentLinkedDeque<>();
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
@@ -161,7 +163,16 @@ public abstract class JSAgent implements EcmaAgent {
 
     @TruffleBoundary
     public final void enqueuePromiseJob(JSFunctionObject job) {
-        promiseJobsQueue.push(job);
+        promiseJobsQueue.add(job);
+    }
+
+    /**
+     * Enqueues a job that calls the given job function with the reaction and its argument. Used
+     * to enqueue promise reaction jobs without allocating a function object per job.
+     */
+    @TruffleBoundary
+    public final void enqueuePromiseReactionJob(JSFunctionObject jobFunction, PromiseReactionRecord reaction, Object argument) {
+        promiseJobsQueue.add(jobFunction, reaction, argument);
     }
 
     @TruffleBoundary
@@ -201,11 +212,23 @@ public abstract class JSAgent implements EcmaAgent {
                         JSFunction.call(JSArguments.createOneArg(Undefined.instance, resolve, result));
                     }
                 }
-                if (!promiseJobsQueue.isEmpty()) {
-                    JSFunctionObject nextJob = promiseJobsQueue.pollLast();
-                    if (JSFunction.isJSFunction(nextJob)) {
-                        checkWaiterRecords = true;
+                // Run promise jobs in a batch as long as there are no waiter records to check.
+                while (!promiseJobsQueue.isEmpty()) {
+                    JSFunctionObject nextJob = promiseJobsQueue.peekFunction();
+                    Object argument1 = promiseJobsQueue.peekArgument1();
+                    Object argument2 = promiseJobsQueue.peekArgument2();
+                    promiseJobsQueue.remove();
+                    checkWaiterRecords = true;
+                    if (argument1 == null) {
                         JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+                    } else {
+                        Object[] arguments = JSArguments.createInitial(Undefined.instance, nextJob, 2);
+                        JSArguments.setUserArgument(arguments, 0, argument1);
+                        JSArguments.setUserArgument(arguments, 1, argument2);
+                        JSFunction.call(arguments);
+                    }
+                    if (!waitAsyncJobsQueue.isEmpty()) {
+                        break;
                     }
                 }
             }
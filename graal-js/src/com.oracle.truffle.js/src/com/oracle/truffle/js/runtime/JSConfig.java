@@ -115,6 +115,11 @@ public final class JSConfig {
     public static final boolean SplitModuleRoot = true;
     public static final boolean PrintAst = false;
     public static final boolean PrintParse = false;
+    /**
+     * Minimum source length of nested (non-top-level) functions to be translated in the background
+     * (see {@code js.background-translation}).
+     */
+    public static final int BackgroundTranslationMinLength = 512;
 
     // Regex options
     public static final int MaxCompiledRegexCacheLength = 4;
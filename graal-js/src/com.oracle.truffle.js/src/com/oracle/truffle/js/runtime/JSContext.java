@@ -72,6 +72,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.nodes.promise.BuiltinPromiseRejectionTracker;
@@ -147,11 +148,15 @@ import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.JSShapeData;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.CodeCache;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
+import com.oracle.truffle.js.runtime.util.CompilationCache;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.PropertyCacheStatistics;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -221,6 +226,7 @@ public class JSContext {
     private final Object nodeFactory;
 
     private final TimeProfiler timeProfiler;
+    private final PropertyCacheStatistics propertyCacheStatistics;
 
     private final JSObjectFactory.BoundProto moduleNamespaceFactory;
 
@@ -229,6 +235,21 @@ public class JSContext {
     private final String regexOptions;
     private final String regexValidateOptions;
 
+    /**
+     * Compiled regular expressions, shared by all realms of this context.
+     */
+    private final CompilationCache<Source, Object> compiledRegexCache;
+
+    /**
+     * Functions parsed by the Function constructor, shared by all realms of this context.
+     */
+    private final CompilationCache<Object, ScriptNode> functionConstructorCache;
+
+    /**
+     * Persistent cache of encoded ASTs, or {@code null} if it is disabled.
+     */
+    private final CodeCache codeCache;
+
     private final Shape regExpGroupsEmptyShape;
 
     private PrepareStackTraceCallback prepareStackTraceCallback;
@@ -583,6 +604,7 @@ public class JSContext {
         this.builtinFunctionData = new JSFunctionData[BuiltinFunctionKey.values().length];
 
         this.timeProfiler = contextOptions.isProfileTime() ? new TimeProfiler() : null;
+        this.propertyCacheStatistics = contextOptions.isPropertyCacheStatistics() ? new PropertyCacheStatistics() : null;
 
         this.singleRealmAssumption = Truffle.getRuntime().createAssumption("single realm");
 
@@ -702,6 +724,9 @@ public class JSContext {
 
         this.regexOptions = createRegexOptions(contextOptions);
         this.regexValidateOptions = regexOptions.isEmpty() ? REGEX_OPTION_VALIDATE : REGEX_OPTION_VALIDATE + "," + regexOptions;
+        this.compiledRegexCache = contextOptions.getRegexCacheSize() > 0 ? new CompilationCache<>(contextOptions.getRegexCacheSize()) : null;
+        this.functionConstructorCache = contextOptions.getFunctionConstructorCacheSize() > 0 ? new CompilationCache<>(contextOptions.getFunctionConstructorCacheSize()) : null;
+        this.codeCache = contextOptions.getCodeCacheDir().isEmpty() ? null : new CodeCache(contextOptions.getCodeCacheDir());
 
         this.supportedImportAssertions = contextOptions.isImportAssertions() ? new HashSet<>() : Collections.emptySet();
         if (contextOptions.isImportAssertions()) {
@@ -861,6 +886,20 @@ public class JSContext {
         realm.getAgent().enqueuePromiseJob(job);
     }
 
+    /**
+     * ECMA 8.4.1 EnqueueJob for a PromiseReactionJob. The job is queued together with its
+     * reaction and argument, without allocating a job function.
+     */
+    public final void promiseEnqueueReactionJob(JSRealm realm, PromiseReactionRecord reaction, Object argument) {
+        invalidatePromiseQueueNotUsedAssumption();
+        enqueueReactionJob(realm, reaction, argument);
+    }
+
+    @TruffleBoundary
+    private static void enqueueReactionJob(JSRealm realm, PromiseReactionRecord reaction, Object argument) {
+        realm.getAgent().enqueuePromiseReactionJob(realm.getPromiseReactionJobFunction(), reaction, argument);
+    }
+
     public final void signalAsyncWaiterRecordUsage() {
         invalidatePromiseQueueNotUsedAssumption();
     }
@@ -893,6 +932,14 @@ public class JSContext {
         return timeProfiler;
     }
 
+    /**
+     * Returns the property cache statistics of this context, or {@code null} if the
+     * {@link JSContextOptions#PROPERTY_CACHE_STATISTICS} option is not enabled.
+     */
+    public PropertyCacheStatistics getPropertyCacheStatistics() {
+        return propertyCacheStatistics;
+    }
+
     /**
      * Get the current Realm using {@link ContextReference}.
      */
@@ -1223,6 +1270,41 @@ public class JSContext {
         return regexValidateOptions;
     }
 
+    public void putCachedCompiledRegex(Source regexSource, Object compiledRegex) {
+        if (compiledRegexCache != null) {
+            compiledRegexCache.put(regexSource, compiledRegex, CompilationCache.weightOfSource(regexSource.getLength()));
+        }
+    }
+
+    public Object getCachedCompiledRegex(Source regexSource) {
+        if (compiledRegexCache != null) {
+            return compiledRegexCache.get(regexSource);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cache of compiled regular expressions or {@code null} if it is disabled.
+     */
+    public CompilationCache<Source, Object> getCompiledRegexCache() {
+        return compiledRegexCache;
+    }
+
+    /**
+     * Returns the cache of functions parsed by the Function constructor or {@code null} if it is
+     * disabled.
+     */
+    public CompilationCache<Object, ScriptNode> getFunctionConstructorCache() {
+        return functionConstructorCache;
+    }
+
+    /**
+     * Returns the persistent code cache or {@code null} if it is disabled.
+     */
+    public CodeCache getCodeCache() {
+        return codeCache;
+    }
+
     public Object getTRegexEmptyResult() {
         if (tRegexEmptyResult == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1593,6 +1675,10 @@ public class JSContext {
         this.promiseHook = promiseHook;
     }
 
+    public final boolean isPromiseHookUsed() {
+        return !promiseHookNotUsedAssumption.isValid() && promiseHook != null;
+    }
+
     private void invalidatePromiseHookNotUsedAssumption() {
         if (promiseHookNotUsedAssumption.isValid()) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1604,7 +1690,7 @@ public class JSContext {
     private JSDynamicObject parentPromise;
 
     public final void notifyPromiseHook(int changeType, JSDynamicObject promise) {
-        if (!promiseHookNotUsedAssumption.isValid() && promiseHook != null) {
+        if (isPromiseHookUsed()) {
             if (changeType == -1) {
                 // Information about parent for the incoming INIT event
                 storeParentPromise(promise);
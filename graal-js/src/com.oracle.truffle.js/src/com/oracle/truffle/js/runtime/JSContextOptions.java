@@ -62,6 +62,7 @@ import org.graalvm.options.OptionValues;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.utilities.CyclicAssumption;
@@ -72,6 +73,8 @@ public final class JSContextOptions {
 
     @CompilationFinal private JSParserOptions parserOptions;
     @CompilationFinal private OptionValues optionValues;
+    /** Lazily computed key of all option values for the persistent code cache. */
+    private String codeCacheKey;
 
     public static final String ECMASCRIPT_VERSION_LATEST = "latest";
     public static final String ECMASCRIPT_VERSION_STAGING = "staging";
@@ -415,15 +418,19 @@ public final class JSContextOptions {
     public static final OptionKey<String> LOCALE = new OptionKey<>("");
 
     public static final String FUNCTION_CONSTRUCTOR_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "function-constructor-cache-size";
-    @Option(name = FUNCTION_CONSTRUCTOR_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum size of the parsing cache used by the Function constructor to avoid re-parsing known sources.") //
+    @Option(name = FUNCTION_CONSTRUCTOR_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum weight of the parsing cache used by the Function constructor to avoid re-parsing known sources (one unit per started KiB of source).") //
     public static final OptionKey<Integer> FUNCTION_CONSTRUCTOR_CACHE_SIZE = new OptionKey<>(32);
     @CompilationFinal private int functionConstructorCacheSize;
 
     public static final String REGEX_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "regex-cache-size";
-    @Option(name = REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum size of the regex cache used by the RegExp constructor to avoid re-parsing known sources.") //
+    @Option(name = REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum weight of the regex cache used by the RegExp constructor to avoid re-parsing known sources (one unit per started KiB of source).") //
     public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(128);
     @CompilationFinal private int regexCacheSize;
 
+    public static final String CODE_CACHE_DIR_NAME = JS_OPTION_PREFIX + "code-cache-dir";
+    @Option(name = CODE_CACHE_DIR_NAME, category = OptionCategory.EXPERT, usageSyntax = "<path>", help = "Directory of a persistent code cache that stores the parsed and translated AST of scripts and CommonJS modules across runs.") //
+    public static final OptionKey<String> CODE_CACHE_DIR = new OptionKey<>("");
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, usageSyntax = "<chars>", help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -470,6 +477,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String BACKGROUND_TRANSLATION_NAME = JS_OPTION_PREFIX + "background-translation";
+    @Option(name = BACKGROUND_TRANSLATION_NAME, category = OptionCategory.INTERNAL, help = "Translate top-level and large function bodies on background threads ahead of their first call (requires lazy-translation).") //
+    public static final OptionKey<Boolean> BACKGROUND_TRANSLATION = new OptionKey<>(false);
+    @CompilationFinal private boolean backgroundTranslation;
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -495,6 +507,11 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> PROPERTY_CACHE_LIMIT = new OptionKey<>(JSConfig.PropertyCacheLimit);
     @CompilationFinal private int propertyCacheLimit;
 
+    public static final String PROPERTY_CACHE_STATISTICS_NAME = JS_OPTION_PREFIX + "property-cache-statistics";
+    @Option(name = PROPERTY_CACHE_STATISTICS_NAME, category = OptionCategory.EXPERT, help = "Record property cache state transitions per source location and print them when the context is closed.") //
+    public static final OptionKey<Boolean> PROPERTY_CACHE_STATISTICS = new OptionKey<>(false);
+    @CompilationFinal private boolean propertyCacheStatistics;
+
     public static final String FUNCTION_CACHE_LIMIT_NAME = JS_OPTION_PREFIX + "function-cache-limit";
     @Option(name = FUNCTION_CACHE_LIMIT_NAME, category = OptionCategory.INTERNAL, usageSyntax = "<int>", help = "Maximum allowed size of a function cache.") //
     public static final OptionKey<Integer> FUNCTION_CACHE_LIMIT = new OptionKey<>(JSConfig.FunctionCacheLimit);
@@ -635,6 +652,7 @@ public final class JSContextOptions {
     public void setOptionValues(OptionValues newOptions) {
         CompilerAsserts.neverPartOfCompilation();
         optionValues = newOptions;
+        codeCacheKey = null;
         cacheOptions();
         parserOptions = parserOptions.putOptions(newOptions);
     }
@@ -694,6 +712,7 @@ public final class JSContextOptions {
         this.regexRegressionTestMode = readBooleanOption(REGEX_REGRESSION_TEST_MODE);
         this.testCloneUninitialized = readBooleanOption(TEST_CLONE_UNINITIALIZED);
         this.lazyTranslation = readBooleanOption(LAZY_TRANSLATION);
+        this.backgroundTranslation = lazyTranslation && readBooleanOption(BACKGROUND_TRANSLATION);
         this.stackTraceLimit = readIntegerOption(STACK_TRACE_LIMIT);
         this.maxTypedArrayLength = readIntegerOption(MAX_TYPED_ARRAY_LENGTH);
         this.maxApplyArgumentLength = readIntegerOption(MAX_APPLY_ARGUMENT_LENGTH);
@@ -716,6 +735,7 @@ public final class JSContextOptions {
         this.esmBareSpecifierRelativeLookup = readBooleanOption(ESM_BARE_SPECIFIER_RELATIVE_LOOKUP);
         this.temporal = readBooleanOption(TEMPORAL);
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
+        this.propertyCacheStatistics = readBooleanOption(PROPERTY_CACHE_STATISTICS);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
         this.scopeOptimization = readBooleanOption(SCOPE_OPTIMIZATION);
     }
@@ -1013,6 +1033,31 @@ public final class JSContextOptions {
         return regexCacheSize;
     }
 
+    public String getCodeCacheDir() {
+        return CODE_CACHE_DIR.getValue(optionValues);
+    }
+
+    /**
+     * Returns a stable textual representation of the values of all options (except the code cache
+     * directory itself), so that persistent code cache entries are only reused by contexts whose
+     * options translate the code in the same way.
+     */
+    @TruffleBoundary
+    public String getCodeCacheKey() {
+        String key = codeCacheKey;
+        if (key == null) {
+            StringBuilder sb = new StringBuilder();
+            for (OptionDescriptor descriptor : optionValues.getDescriptors()) {
+                if (descriptor.getKey() != CODE_CACHE_DIR) {
+                    sb.append(descriptor.getName()).append('=').append(descriptor.getKey().getValue(optionValues)).append('\n');
+                }
+            }
+            key = sb.toString();
+            codeCacheKey = key;
+        }
+        return key;
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -1047,6 +1092,10 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public boolean isBackgroundTranslation() {
+        return backgroundTranslation;
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -1072,6 +1121,10 @@ public final class JSContextOptions {
         return propertyCacheLimit;
     }
 
+    public boolean isPropertyCacheStatistics() {
+        return propertyCacheStatistics;
+    }
+
     public int getFunctionCacheLimit() {
         return functionCacheLimit;
     }
@@ -1177,12 +1230,14 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.regexRegressionTestMode ? 1 : 0);
         hash = 53 * hash + (this.testCloneUninitialized ? 1 : 0);
         hash = 53 * hash + (this.lazyTranslation ? 1 : 0);
+        hash = 53 * hash + (this.backgroundTranslation ? 1 : 0);
         hash = 53 * hash + this.stackTraceLimit;
         hash = 53 * hash + (this.asyncStackTraces ? 1 : 0);
         hash = 53 * hash + this.maxTypedArrayLength;
         hash = 53 * hash + this.maxApplyArgumentLength;
         hash = 53 * hash + this.maxPrototypeChainLength;
         hash = 53 * hash + this.propertyCacheLimit;
+        hash = 53 * hash + (this.propertyCacheStatistics ? 1 : 0);
         hash = 53 * hash + this.functionCacheLimit;
         hash = 53 * hash + (this.topLevelAwait ? 1 : 0);
         hash = 53 * hash + (this.useUTCForLegacyDates ? 1 : 0);
@@ -1327,6 +1382,9 @@ public final class JSContextOptions {
         if (this.lazyTranslation != other.lazyTranslation) {
             return false;
         }
+        if (this.backgroundTranslation != other.backgroundTranslation) {
+            return false;
+        }
         if (this.stackTraceLimit != other.stackTraceLimit) {
             return false;
         }
@@ -1345,6 +1403,9 @@ public final class JSContextOptions {
         if (this.propertyCacheLimit != other.propertyCacheLimit) {
             return false;
         }
+        if (this.propertyCacheStatistics != other.propertyCacheStatistics) {
+            return false;
+        }
         if (this.functionCacheLimit != other.functionCacheLimit) {
             return false;
         }
@@ -86,7 +86,6 @@ import com.oracle.truffle.api.nodes.LanguageInfo;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.BranchProfile;
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.builtins.ArrayIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.AtomicsBuiltins;
@@ -94,6 +93,7 @@ import com.oracle.truffle.js.builtins.ConsoleBuiltins;
 import com.oracle.truffle.js.builtins.ConstructorBuiltins;
 import com.oracle.truffle.js.builtins.DebugBuiltins;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
+import com.oracle.truffle.js.builtins.GraalBuiltins;
 import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.builtins.JavaBuiltins;
 import com.oracle.truffle.js.builtins.MLEBuiltins;
@@ -115,6 +115,7 @@ import com.oracle.truffle.js.builtins.temporal.TemporalNowBuiltins;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.promise.PromiseReactionJobNode;
 import com.oracle.truffle.js.runtime.JSContext.BuiltinFunctionKey;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
@@ -198,7 +199,6 @@ import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
-import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -384,6 +384,9 @@ public class JSRealm {
 
     private volatile Map<Object, JSDynamicObject> templateRegistry;
 
+    /** Job function of promise reaction jobs enqueued without a function object of their own. */
+    private JSFunctionObject promiseReactionJobFunction;
+
     private final JSDynamicObject globalScope;
 
     private final JSDynamicObject scriptEngineImportScope;
@@ -528,11 +531,6 @@ public class JSRealm {
      */
     private final SimpleArrayList<Object> joinStack = new SimpleArrayList<>();
 
-    /**
-     * Cache of least recently compiled compiled regular expressions.
-     */
-    private Map<Source, Object> compiledRegexCache;
-
     /**
      * Private MLE-only custom Path resolution callback for ESM.
      */
@@ -1506,6 +1504,14 @@ public class JSRealm {
         }
     }
 
+    @TruffleBoundary
+    public final JSFunctionObject getPromiseReactionJobFunction() {
+        if (promiseReactionJobFunction == null) {
+            promiseReactionJobFunction = PromiseReactionJobNode.createSharedJobFunction(this);
+        }
+        return promiseReactionJobFunction;
+    }
+
     public final Object getEvalFunctionObject() {
         return evalFunctionObject;
     }
@@ -1931,6 +1937,7 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, graalObject, Strings.VERSION_GRAAL_VM, GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, Strings.VERSION_ECMA_SCRIPT, esVersion, flags);
         JSObjectUtil.putDataProperty(context, graalObject, Strings.IS_GRAAL_RUNTIME, JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
+        JSObjectUtil.putFunctionsFromContainer(this, graalObject, GraalBuiltins.BUILTINS);
         putGlobalProperty(Strings.GRAAL, graalObject);
     }
 
@@ -3024,26 +3031,4 @@ public class JSRealm {
     public long nextAsyncEvaluationOrder() {
         return ++lastAsyncEvaluationOrder;
     }
-
-    @TruffleBoundary
-    public void putCachedCompiledRegex(Source regexSource, Object compiledRegex) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache == null) {
-                compiledRegexCache = new LRUCache<>(regexCacheSize);
-            }
-            compiledRegexCache.put(regexSource, compiledRegex);
-        }
-    }
-
-    @TruffleBoundary
-    public Object getCachedCompiledRegex(Source regexSource) {
-        int regexCacheSize = context.getContextOptions().getRegexCacheSize();
-        if (regexCacheSize > 0) {
-            if (compiledRegexCache != null) {
-                return compiledRegexCache.get(regexSource);
-            }
-        }
-        return null;
-    }
 }
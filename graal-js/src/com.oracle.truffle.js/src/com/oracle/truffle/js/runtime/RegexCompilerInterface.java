@@ -75,7 +75,7 @@ public final class RegexCompilerInterface {
 
     @TruffleBoundary
     private static Object compile(Source regexSource, String flags, JSContext context, JSRealm realm) {
-        Object compiledRegex = realm.getCachedCompiledRegex(regexSource);
+        Object compiledRegex = context.getCachedCompiledRegex(regexSource);
         if (compiledRegex != null) {
             return compiledRegex;
         }
@@ -84,7 +84,7 @@ public final class RegexCompilerInterface {
         validateFlags(flags, context.getEcmaScriptVersion(), context.isOptionNashornCompatibilityMode(), context.isOptionRegexpMatchIndices());
         try {
             compiledRegex = realm.getEnv().parseInternal(regexSource).call();
-            realm.putCachedCompiledRegex(regexSource, compiledRegex);
+            context.putCachedCompiledRegex(regexSource, compiledRegex);
         } catch (AbstractTruffleException e) {
             throw rethrowAsSyntaxError(e);
         }
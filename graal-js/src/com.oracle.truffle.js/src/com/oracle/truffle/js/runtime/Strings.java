@@ -460,6 +460,7 @@ public final class Strings {
     public static final TruffleString VERSION_GRAAL_VM = constant("versionGraalVM");
     public static final TruffleString VERSION_ECMA_SCRIPT = constant("versionECMAScript");
     public static final TruffleString IS_GRAAL_RUNTIME = constant("isGraalRuntime");
+    public static final TruffleString JSON_STRINGIFY_INTO = constant("jsonStringifyInto");
     public static final TruffleString UC_PACKAGES = constant("Packages");
     public static final TruffleString JAVA = constant("java");
     public static final TruffleString JAVAFX = constant("javafx");
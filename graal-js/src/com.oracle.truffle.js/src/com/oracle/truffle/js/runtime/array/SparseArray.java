@@ -47,24 +47,26 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLen
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.TreeMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.dyn.HolesObjectArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
- * Array that stores its elements in a HashMap-like structure, e.g. in a TreeMap.
+ * Array that stores its elements in an ordered map keyed by the primitive index (see
+ * {@link SparseIndexMap}). Switches back to {@link HolesObjectArray} once the elements become
+ * dense enough again.
  */
 public final class SparseArray extends DynamicArray {
 
+    /** Minimum number of elements before a sparse array is considered for densification. */
+    private static final int MIN_DENSIFY_SIZE = 64;
+
     private static final SparseArray SPARSE_ARRAY = new SparseArray(INTEGRITY_LEVEL_NONE, createCache()).maybePreinitializeCache();
 
     private SparseArray(int integrityLevel, DynamicArrayCache cache) {
@@ -77,7 +79,7 @@ public final class SparseArray extends DynamicArray {
 
     public static SparseArray makeSparseArray(JSDynamicObject object, ScriptArray fromArray) {
         assert !(fromArray instanceof SparseArray);
-        TreeMap<Long, Object> arrayMap = createArrayMap();
+        SparseIndexMap arrayMap = createArrayMap();
         copyArrayToMap(object, fromArray, arrayMap);
         arraySetLength(object, fromArray.length(object));
         arraySetArray(object, arrayMap);
@@ -85,20 +87,20 @@ public final class SparseArray extends DynamicArray {
     }
 
     @TruffleBoundary
-    public static TreeMap<Long, Object> createArrayMap() {
-        return new TreeMap<>();
+    public static SparseIndexMap createArrayMap() {
+        return new SparseIndexMap();
     }
 
-    protected static void copyArrayToMap(JSDynamicObject object, ScriptArray fromArray, Map<Long, Object> toMap) {
+    @TruffleBoundary
+    protected static void copyArrayToMap(JSDynamicObject object, ScriptArray fromArray, SparseIndexMap toMap) {
         for (long index = fromArray.firstElementIndex(object); index <= fromArray.lastElementIndex(object); index = fromArray.nextElementIndex(object, index)) {
             assert fromArray.hasElement(object, index);
-            Boundaries.mapPut(toMap, index, fromArray.getElement(object, index));
+            toMap.put(index, fromArray.getElement(object, index));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static TreeMap<Long, Object> arrayMap(JSDynamicObject object) {
-        return (TreeMap<Long, Object>) arrayGetArray(object);
+    private static SparseIndexMap arrayMap(JSDynamicObject object) {
+        return (SparseIndexMap) arrayGetArray(object);
     }
 
     @TruffleBoundary
@@ -119,13 +121,44 @@ public final class SparseArray extends DynamicArray {
     @TruffleBoundary
     @Override
     public ScriptArray setElementImpl(JSDynamicObject object, long index, Object value, boolean strict) {
-        arrayMap(object).put(index, value);
-        if (index >= length(object)) {
-            arraySetLength(object, index + 1);
+        SparseIndexMap arrayMap = arrayMap(object);
+        if (arrayMap.put(index, value) == null) {
+            if (index >= length(object)) {
+                arraySetLength(object, index + 1);
+            }
+            if (isDenseEnough(object, arrayMap)) {
+                return toHoles(object, arrayMap, index, value);
+            }
         }
         return this;
     }
 
+    /**
+     * Checks whether the elements occupy at least half of the range between the first and the last
+     * element, so that a contiguous holes array would not be larger than the map.
+     */
+    private static boolean isDenseEnough(JSDynamicObject object, SparseIndexMap arrayMap) {
+        int size = arrayMap.size();
+        if (size < MIN_DENSIFY_SIZE || arrayGetLength(object) > Integer.MAX_VALUE) {
+            return false;
+        }
+        long span = arrayMap.lastKey() - arrayMap.firstKey() + 1;
+        return span <= 2L * size;
+    }
+
+    private ScriptArray toHoles(JSDynamicObject object, SparseIndexMap arrayMap, long index, Object value) {
+        long firstIndex = arrayMap.firstKey();
+        int usedLength = (int) (arrayMap.lastKey() - firstIndex + 1);
+        Object[] array = new Object[usedLength];
+        arrayMap.copyValuesTo(array, firstIndex);
+        int holeCount = usedLength - arrayMap.size();
+        ScriptArray newArray = HolesObjectArray.makeHolesObjectArray(object, (int) arrayGetLength(object), array, firstIndex, 0, usedLength, holeCount, integrityLevel);
+        if (JSConfig.TraceArrayTransitions) {
+            traceArrayTransition(this, newArray, index, value);
+        }
+        return newArray;
+    }
+
     @Override
     public long length(JSDynamicObject object) {
         return arrayGetLength(object);
@@ -144,47 +177,40 @@ public final class SparseArray extends DynamicArray {
     @Override
     public SparseArray setLengthImpl(JSDynamicObject object, long len, ProfileHolder profile) {
         arraySetLength(object, len);
-        arrayMap(object).tailMap(len).clear();
+        arrayMap(object).removeFrom(len);
         return this;
     }
 
     @TruffleBoundary
     @Override
     public long firstElementIndex(JSDynamicObject object) {
-        try {
-            return arrayMap(object).firstKey();
-        } catch (NoSuchElementException ex) {
-            return 0;
-        }
+        long firstIndex = arrayMap(object).firstKey();
+        return firstIndex != SparseIndexMap.NO_KEY ? firstIndex : 0;
     }
 
     @TruffleBoundary
     @Override
     public long lastElementIndex(JSDynamicObject object) {
-        try {
-            return arrayMap(object).lastKey();
-        } catch (NoSuchElementException ex) {
-            return -1;
-        }
+        return arrayMap(object).lastKey();
     }
 
     @TruffleBoundary
     @Override
     public long nextElementIndex(JSDynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).higherKey(index);
-        return nextIndex != null ? nextIndex.longValue() : JSRuntime.MAX_SAFE_INTEGER_LONG;
+        long nextIndex = arrayMap(object).higherKey(index);
+        return nextIndex != SparseIndexMap.NO_KEY ? nextIndex : JSRuntime.MAX_SAFE_INTEGER_LONG;
     }
 
     @TruffleBoundary
     @Override
     public long previousElementIndex(JSDynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).lowerKey(index);
-        return nextIndex != null ? nextIndex.longValue() : -1;
+        return arrayMap(object).lowerKey(index);
     }
 
+    @TruffleBoundary
     @Override
     public Object cloneArray(JSDynamicObject object) {
-        return arrayMap(object).clone();
+        return arrayMap(object).copy();
     }
 
     @TruffleBoundary
@@ -228,8 +254,7 @@ public final class SparseArray extends DynamicArray {
         }
         // move all element higher downwards
         while (pos < length(object)) {
-            setElement(object, pos - delta, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
+            moveElement(object, pos, pos - delta);
             pos = nextElementIndex(object, pos);
         }
         return this;
@@ -245,19 +270,31 @@ public final class SparseArray extends DynamicArray {
         }
         // move all element higher upwards
         while (pos >= offset) {
-            setElement(object, pos + size, getElement(object, pos), false);
-            deleteElementImpl(object, pos, false);
+            moveElement(object, pos, pos + size);
             pos = previousElementIndex(object, pos);
         }
         return this;
     }
 
+    /**
+     * Moves an element to another index without considering a transition to a dense array, which
+     * would invalidate the ongoing range operation.
+     */
+    @TruffleBoundary
+    private static void moveElement(JSDynamicObject object, long fromIndex, long toIndex) {
+        SparseIndexMap arrayMap = arrayMap(object);
+        arrayMap.put(toIndex, arrayMap.remove(fromIndex));
+        if (toIndex >= arrayGetLength(object)) {
+            arraySetLength(object, toIndex + 1);
+        }
+    }
+
     @TruffleBoundary
     @Override
     public List<Object> ownPropertyKeys(JSDynamicObject object) {
-        Set<Long> keySet = arrayMap(object).keySet();
-        List<Object> list = new ArrayList<>(keySet.size());
-        for (long index : keySet) {
+        long[] keys = arrayMap(object).keys();
+        List<Object> list = new ArrayList<>(keys.length);
+        for (long index : keys) {
             list.add(Strings.fromLong(index));
         }
         return list;
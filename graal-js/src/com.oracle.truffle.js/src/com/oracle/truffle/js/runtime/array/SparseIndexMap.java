@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.util.Arrays;
+
+/**
+ * Ordered map from non-negative array indices to element values, used as the backing store of
+ * {@link SparseArray}.
+ *
+ * Keys are kept as primitive {@code long}s in sorted pages of at most {@link #PAGE_SIZE} entries,
+ * with the values in parallel {@code Object[]} pages. A separate array of the first key of every
+ * page is used to locate the page of a key by binary search. This avoids boxing the index and
+ * allocating a tree node per element, and makes ordered traversal (next/previous index) cheap.
+ *
+ * Absent keys are reported as {@code -1} and absent values as {@code null}; {@code null} must not
+ * be used as a value.
+ */
+public final class SparseIndexMap {
+
+    static final int PAGE_SIZE = 128;
+    private static final int INITIAL_PAGE_CAPACITY = 8;
+    private static final int INITIAL_PAGE_COUNT = 4;
+
+    public static final long NO_KEY = -1;
+
+    /** First key of every page; kept separately for locality of the page lookup. */
+    private long[] firstKeys;
+    private long[][] keys;
+    private Object[][] values;
+    private int[] pageSizes;
+    private int pageCount;
+    private int size;
+
+    public SparseIndexMap() {
+        this.firstKeys = new long[INITIAL_PAGE_COUNT];
+        this.keys = new long[INITIAL_PAGE_COUNT][];
+        this.values = new Object[INITIAL_PAGE_COUNT][];
+        this.pageSizes = new int[INITIAL_PAGE_COUNT];
+    }
+
+    private SparseIndexMap(SparseIndexMap other) {
+        int capacity = Math.max(other.pageCount, INITIAL_PAGE_COUNT);
+        this.firstKeys = Arrays.copyOf(other.firstKeys, capacity);
+        this.pageSizes = Arrays.copyOf(other.pageSizes, capacity);
+        this.keys = new long[capacity][];
+        this.values = new Object[capacity][];
+        for (int p = 0; p < other.pageCount; p++) {
+            this.keys[p] = other.keys[p].clone();
+            this.values[p] = other.values[p].clone();
+        }
+        this.pageCount = other.pageCount;
+        this.size = other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public SparseIndexMap copy() {
+        return new SparseIndexMap(this);
+    }
+
+    /**
+     * Returns the index of the last page whose first key is less than or equal to {@code key}, or
+     * -1 if {@code key} is smaller than all keys in the map.
+     */
+    private int findPage(long key) {
+        int low = 0;
+        int high = pageCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstKeys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private int findInPage(int page, long key) {
+        return Arrays.binarySearch(keys[page], 0, pageSizes[page], key);
+    }
+
+    public Object get(long key) {
+        int page = findPage(key);
+        if (page < 0) {
+            return null;
+        }
+        int pos = findInPage(page, key);
+        return pos >= 0 ? values[page][pos] : null;
+    }
+
+    public boolean containsKey(long key) {
+        int page = findPage(key);
+        return page >= 0 && findInPage(page, key) >= 0;
+    }
+
+    /**
+     * Associates {@code value} with {@code key} and returns the previous value, or {@code null}.
+     */
+    public Object put(long key, Object value) {
+        assert key >= 0 && value != null;
+        if (pageCount == 0) {
+            insertPage(0, INITIAL_PAGE_CAPACITY);
+        }
+        int page = Math.max(findPage(key), 0);
+        int pos = findInPage(page, key);
+        if (pos >= 0) {
+            Object oldValue = values[page][pos];
+            values[page][pos] = value;
+            return oldValue;
+        }
+        pos = -(pos + 1);
+        if (pageSizes[page] == PAGE_SIZE) {
+            if (page == pageCount - 1 && pos == PAGE_SIZE) {
+                // Appending beyond the last element: start a new page and keep this one full.
+                page++;
+                insertPage(page, INITIAL_PAGE_CAPACITY);
+                pos = 0;
+            } else {
+                splitPage(page);
+                if (pos > pageSizes[page]) {
+                    pos -= pageSizes[page];
+                    page++;
+                }
+            }
+        }
+        insertInPage(page, pos, key, value);
+        size++;
+        return null;
+    }
+
+    private void insertInPage(int page, int pos, long key, Object value) {
+        int pageSize = pageSizes[page];
+        if (pageSize == keys[page].length) {
+            int newCapacity = Math.min(PAGE_SIZE, pageSize << 1);
+            keys[page] = Arrays.copyOf(keys[page], newCapacity);
+            values[page] = Arrays.copyOf(values[page], newCapacity);
+        }
+        long[] pageKeys = keys[page];
+        Object[] pageValues = values[page];
+        System.arraycopy(pageKeys, pos, pageKeys, pos + 1, pageSize - pos);
+        System.arraycopy(pageValues, pos, pageValues, pos + 1, pageSize - pos);
+        pageKeys[pos] = key;
+        pageValues[pos] = value;
+        pageSizes[page] = pageSize + 1;
+        if (pos == 0) {
+            firstKeys[page] = key;
+        }
+    }
+
+    /**
+     * Moves the upper half of a full page into a newly inserted page following it.
+     */
+    private void splitPage(int page) {
+        int half = PAGE_SIZE >>> 1;
+        insertPage(page + 1, PAGE_SIZE);
+        System.arraycopy(keys[page], half, keys[page + 1], 0, PAGE_SIZE - half);
+        System.arraycopy(values[page], half, values[page + 1], 0, PAGE_SIZE - half);
+        Arrays.fill(values[page], half, PAGE_SIZE, null);
+        pageSizes[page] = half;
+        pageSizes[page + 1] = PAGE_SIZE - half;
+        firstKeys[page + 1] = keys[page + 1][0];
+    }
+
+    private void insertPage(int page, int capacity) {
+        if (pageCount == firstKeys.length) {
+            int newLength = pageCount << 1;
+            firstKeys = Arrays.copyOf(firstKeys, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+            values = Arrays.copyOf(values, newLength);
+            pageSizes = Arrays.copyOf(pageSizes, newLength);
+        }
+        int moved = pageCount - page;
+        System.arraycopy(firstKeys, page, firstKeys, page + 1, moved);
+        System.arraycopy(keys, page, keys, page + 1, moved);
+        System.arraycopy(values, page, values, page + 1, moved);
+        System.arraycopy(pageSizes, page, pageSizes, page + 1, moved);
+        keys[page] = new long[capacity];
+        values[page] = new Object[capacity];
+        pageSizes[page] = 0;
+        pageCount++;
+    }
+
+    private void removePages(int fromPage, int toPage) {
+        int moved = pageCount - toPage;
+        System.arraycopy(firstKeys, toPage, firstKeys, fromPage, moved);
+        System.arraycopy(keys, toPage, keys, fromPage, moved);
+        System.arraycopy(values, toPage, values, fromPage, moved);
+        System.arraycopy(pageSizes, toPage, pageSizes, fromPage, moved);
+        int newPageCount = pageCount - (toPage - fromPage);
+        Arrays.fill(keys, newPageCount, pageCount, null);
+        Arrays.fill(values, newPageCount, pageCount, null);
+        pageCount = newPageCount;
+    }
+
+    /**
+     * Removes the mapping for {@code key} and returns the removed value, or {@code null}.
+     */
+    public Object remove(long key) {
+        int page = findPage(key);
+        if (page < 0) {
+            return null;
+        }
+        int pos = findInPage(page, key);
+        if (pos < 0) {
+            return null;
+        }
+        Object oldValue = values[page][pos];
+        int pageSize = pageSizes[page] - 1;
+        if (pageSize == 0) {
+            removePages(page, page + 1);
+        } else {
+            System.arraycopy(keys[page], pos + 1, keys[page], pos, pageSize - pos);
+            System.arraycopy(values[page], pos + 1, values[page], pos, pageSize - pos);
+            values[page][pageSize] = null;
+            pageSizes[page] = pageSize;
+            if (pos == 0) {
+                firstKeys[page] = keys[page][0];
+            }
+        }
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Removes all mappings with a key greater than or equal to {@code fromKey}.
+     */
+    public void removeFrom(long fromKey) {
+        int page = findPage(fromKey);
+        int firstRemovedPage;
+        if (page < 0) {
+            firstRemovedPage = 0;
+        } else {
+            int pos = findInPage(page, fromKey);
+            if (pos < 0) {
+                pos = -(pos + 1);
+            }
+            size -= pageSizes[page] - pos;
+            Arrays.fill(values[page], pos, pageSizes[page], null);
+            pageSizes[page] = pos;
+            firstRemovedPage = pos == 0 ? page : page + 1;
+        }
+        for (int p = page + 1; p < pageCount; p++) {
+            size -= pageSizes[p];
+        }
+        removePages(firstRemovedPage, pageCount);
+        assert size >= 0;
+    }
+
+    public long firstKey() {
+        return pageCount == 0 ? NO_KEY : firstKeys[0];
+    }
+
+    public long lastKey() {
+        if (pageCount == 0) {
+            return NO_KEY;
+        }
+        int last = pageCount - 1;
+        return keys[last][pageSizes[last] - 1];
+    }
+
+    /**
+     * Returns the smallest key strictly greater than {@code key}, or {@link #NO_KEY}.
+     */
+    public long higherKey(long key) {
+        int page = findPage(key);
+        if (page < 0) {
+            return firstKey();
+        }
+        int pos = findInPage(page, key);
+        pos = pos >= 0 ? pos + 1 : -(pos + 1);
+        if (pos < pageSizes[page]) {
+            return keys[page][pos];
+        } else if (page + 1 < pageCount) {
+            return firstKeys[page + 1];
+        }
+        return NO_KEY;
+    }
+
+    /**
+     * Returns the largest key strictly less than {@code key}, or {@link #NO_KEY}.
+     */
+    public long lowerKey(long key) {
+        int page = findPage(key);
+        if (page < 0) {
+            return NO_KEY;
+        }
+        int pos = findInPage(page, key);
+        pos = (pos >= 0 ? pos : -(pos + 1)) - 1;
+        if (pos >= 0) {
+            return keys[page][pos];
+        } else if (page > 0) {
+            return keys[page - 1][pageSizes[page - 1] - 1];
+        }
+        return NO_KEY;
+    }
+
+    /**
+     * Returns all keys in ascending order.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int offset = 0;
+        for (int p = 0; p < pageCount; p++) {
+            System.arraycopy(keys[p], 0, result, offset, pageSizes[p]);
+            offset += pageSizes[p];
+        }
+        return result;
+    }
+
+    /**
+     * Copies all values into {@code target}, placing the value of key {@code k} at
+     * {@code target[k - keyOffset]}. All keys must be within the bounds of the target array.
+     */
+    public void copyValuesTo(Object[] target, long keyOffset) {
+        for (int p = 0; p < pageCount; p++) {
+            long[] pageKeys = keys[p];
+            Object[] pageValues = values[p];
+            for (int i = 0; i < pageSizes[p]; i++) {
+                target[(int) (pageKeys[i] - keyOffset)] = pageValues[i];
+            }
+        }
+    }
+}
@@ -187,6 +187,26 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         return getArray(object).clone();
     }
 
+    /**
+     * Sorts the elements in place in the order of their string representations (i.e., the default
+     * sort order of Array.prototype.sort).
+     */
+    public final void sortByStringOrder(JSDynamicObject object) {
+        assert isSortableInPlace(object);
+        int start = prepareInBoundsFast(object, 0);
+        NumericArraySort.sortDoublesAsStrings(getArray(object), start, start + lengthInt(object));
+    }
+
+    /**
+     * Sorts the elements in place in ascending or descending numeric order. Returns {@code false}
+     * without modifying the array if the elements contain NaN or -0.
+     */
+    public final boolean sortByNumericOrder(JSDynamicObject object, boolean descending) {
+        assert isSortableInPlace(object);
+        int start = prepareInBoundsFast(object, 0);
+        return NumericArraySort.sortDoublesNumeric(getArray(object), start, start + lengthInt(object), descending);
+    }
+
     @Override
     protected abstract AbstractDoubleArray withIntegrityLevel(int newIntegrityLevel);
 }
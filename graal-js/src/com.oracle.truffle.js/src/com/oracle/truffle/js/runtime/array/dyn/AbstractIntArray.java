@@ -211,6 +211,25 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
         return getArray(object).clone();
     }
 
+    /**
+     * Sorts the elements in place in the order of their string representations (i.e., the default
+     * sort order of Array.prototype.sort).
+     */
+    public final void sortByStringOrder(JSDynamicObject object) {
+        assert isSortableInPlace(object);
+        int start = prepareInBoundsFast(object, 0);
+        NumericArraySort.sortIntsAsStrings(getArray(object), start, start + lengthInt(object));
+    }
+
+    /**
+     * Sorts the elements in place in ascending or descending numeric order.
+     */
+    public final void sortByNumericOrder(JSDynamicObject object, boolean descending) {
+        assert isSortableInPlace(object);
+        int start = prepareInBoundsFast(object, 0);
+        NumericArraySort.sortIntsNumeric(getArray(object), start, start + lengthInt(object), descending);
+    }
+
     @Override
     protected abstract AbstractIntArray withIntegrityLevel(int newIntegrityLevel);
 }
@@ -379,6 +379,15 @@ public abstract class AbstractWritableArray extends DynamicArray {
         return !isSupportedHoles(object, index);
     }
 
+    /**
+     * Returns true if all elements from 0 to length - 1 are present and stored contiguously in the
+     * backing array, so that they can be reordered in place.
+     */
+    public final boolean isSortableInPlace(JSDynamicObject object) {
+        long length = length(object);
+        return !isHolesType() && !isFrozen() && length <= Integer.MAX_VALUE && firstElementIndex(object) == 0 && lastElementIndex(object) == length - 1;
+    }
+
     @Override
     public boolean hasElement(JSDynamicObject object, long index) {
         return isInBoundsFast(object, index);
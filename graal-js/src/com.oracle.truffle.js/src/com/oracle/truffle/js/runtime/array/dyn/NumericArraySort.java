@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array.dyn;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+
+/**
+ * In-place sorting of {@code int[]} and {@code double[]} array storage for Array.prototype.sort,
+ * without boxing the elements.
+ *
+ * The default sort order compares the string representations of the elements. For integral values,
+ * each element is encoded into a {@code long} sort key whose natural order is the order of the
+ * decimal strings, so that the storage can be sorted with a primitive sort. Other double values are
+ * converted to strings once per element (instead of once per comparison) and sorted by index.
+ */
+final class NumericArraySort {
+
+    private static final int MAX_DIGITS = 10;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private NumericArraySort() {
+    }
+
+    /**
+     * Sorts ints in the order of their decimal string representations.
+     */
+    static void sortIntsAsStrings(int[] array, int fromIndex, int toIndex) {
+        long[] keys = new long[toIndex - fromIndex];
+        for (int i = fromIndex; i < toIndex; i++) {
+            keys[i - fromIndex] = stringOrderKey(array[i]);
+        }
+        Arrays.sort(keys);
+        for (int i = fromIndex; i < toIndex; i++) {
+            array[i] = (int) fromStringOrderKey(keys[i - fromIndex]);
+        }
+    }
+
+    /**
+     * Sorts doubles in the order of their string representations.
+     */
+    static void sortDoublesAsStrings(double[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (allIntegral(array, fromIndex, toIndex)) {
+            long[] keys = new long[length];
+            for (int i = fromIndex; i < toIndex; i++) {
+                keys[i - fromIndex] = stringOrderKey((long) array[i]);
+            }
+            Arrays.sort(keys);
+            for (int i = fromIndex; i < toIndex; i++) {
+                array[i] = fromStringOrderKey(keys[i - fromIndex]);
+            }
+        } else {
+            TruffleString[] strings = new TruffleString[length];
+            int[] order = new int[length];
+            for (int i = 0; i < length; i++) {
+                strings[i] = JSRuntime.doubleToString(array[fromIndex + i]);
+                order[i] = i;
+            }
+            mergeSort(order, new int[length], 0, length, strings);
+            double[] values = Arrays.copyOfRange(array, fromIndex, toIndex);
+            for (int i = 0; i < length; i++) {
+                array[fromIndex + i] = values[order[i]];
+            }
+        }
+    }
+
+    /**
+     * Sorts ints in ascending or descending numeric order, i.e. as with a comparator function
+     * {@code (a, b) => a - b} or {@code (a, b) => b - a}.
+     */
+    static void sortIntsNumeric(int[] array, int fromIndex, int toIndex, boolean descending) {
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Sorts doubles in ascending or descending numeric order. Returns {@code false} and leaves the
+     * array unchanged if it contains NaN or -0, for which the primitive sort would not match the
+     * comparator function (that treats -0 and 0 as equal and must keep their relative order).
+     */
+    static boolean sortDoublesNumeric(double[] array, int fromIndex, int toIndex, boolean descending) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            double value = array[i];
+            if (Double.isNaN(value) || JSRuntime.isNegativeZero(value)) {
+                return false;
+            }
+        }
+        Arrays.sort(array, fromIndex, toIndex);
+        if (descending) {
+            for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+                double tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allIntegral(double[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            double value = array[i];
+            if (!(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE && value == (int) value) || JSRuntime.isNegativeZero(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes an integer value (at most 10 decimal digits) into a key whose natural order is the
+     * lexicographic order of the decimal string representation of the value: negative values
+     * ("-...") come first, then the digits left-aligned to a fixed width, then the number of
+     * digits (a prefix sorts before longer strings).
+     */
+    static long stringOrderKey(long value) {
+        long abs = Math.abs(value);
+        int digits = digitCount(abs);
+        long alignedDigits = abs * POWERS_OF_TEN[MAX_DIGITS - digits];
+        return ((value < 0 ? 0L : 1L) << 62) | (alignedDigits << 4) | digits;
+    }
+
+    static long fromStringOrderKey(long key) {
+        int digits = (int) (key & 0xf);
+        long abs = ((key & ~(1L << 62)) >>> 4) / POWERS_OF_TEN[MAX_DIGITS - digits];
+        return (key >>> 62) == 0 ? -abs : abs;
+    }
+
+    private static int digitCount(long abs) {
+        int digits = 1;
+        while (digits < MAX_DIGITS && abs >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Stable merge sort of the index array {@code order} by the strings they refer to.
+     */
+    private static void mergeSort(int[] order, int[] buffer, int from, int to, TruffleString[] strings) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && Strings.compareTo(strings[order[j]], strings[current]) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid, strings);
+        mergeSort(order, buffer, mid, to, strings);
+        if (Strings.compareTo(strings[order[mid - 1]], strings[order[mid]]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && Strings.compareTo(strings[buffer[left]], strings[buffer[right]]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+}
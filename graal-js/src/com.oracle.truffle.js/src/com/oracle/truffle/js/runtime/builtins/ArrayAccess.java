@@ -40,11 +40,10 @@
  */
 package com.oracle.truffle.js.runtime.builtins;
 
-import java.util.TreeMap;
-
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.SparseIndexMap;
 
 public class ArrayAccess {
     public static final ArrayAccess SINGLETON = new ArrayAccess();
@@ -100,7 +99,7 @@ public class ArrayAccess {
     }
 
     public void setArray(Object thisObj, Object array) {
-        assert array != null && (array.getClass().isArray() || array instanceof TreeMap<?, ?>);
+        assert array != null && (array.getClass().isArray() || array instanceof SparseIndexMap);
         ((JSArrayBase) thisObj).setArray(array);
     }
 
@@ -44,6 +44,7 @@ import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putConstructorP
 import static com.oracle.truffle.js.runtime.objects.JSObjectUtil.putFunctionsFromContainer;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -115,6 +116,30 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
         return context.trackAllocation(obj);
     }
 
+    /**
+     * Creates an ArrayBuffer that aliases the memory of a host {@link ByteBuffer} (between index 0
+     * and its limit) without copying, so that typed arrays on it use the same access paths as on
+     * JS-allocated buffers. Returns {@code null} if the buffer cannot be aliased, i.e., if it is
+     * read-only or a heap buffer that does not span its whole backing array. The host keeps the
+     * ownership of the memory and must not release it (e.g., unmap a file) while the ArrayBuffer
+     * is not detached.
+     */
+    @TruffleBoundary
+    public static JSArrayBufferObject createAliasingArrayBuffer(JSContext context, JSRealm realm, ByteBuffer hostBuffer) {
+        if (hostBuffer.isReadOnly()) {
+            return null;
+        }
+        if (hostBuffer.isDirect()) {
+            ByteBuffer buffer = hostBuffer.duplicate().position(0).slice().order(ByteOrder.nativeOrder());
+            if (DirectByteBufferHelper.isDirectByteBuffer(buffer)) {
+                return createDirectArrayBuffer(context, realm, buffer);
+            }
+        } else if (hostBuffer.hasArray() && hostBuffer.arrayOffset() == 0 && hostBuffer.limit() == hostBuffer.array().length) {
+            return createArrayBuffer(context, realm, hostBuffer.array());
+        }
+        return null;
+    }
+
     public static Object getInteropBuffer(Object thisObj) {
         assert isJSInteropArrayBuffer(thisObj);
         return JSArrayBufferObject.getInteropBuffer(thisObj);
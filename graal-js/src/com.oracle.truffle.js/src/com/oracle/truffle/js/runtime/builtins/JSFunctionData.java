@@ -97,6 +97,12 @@ public final class JSFunctionData {
     /** Lazy initialization function. */
     private volatile Initializer lazyInit;
 
+    /**
+     * Whether this function is a simple numeric comparator for {@code Array.prototype.sort}: 1
+     * (ascending), -1 (descending), or 0 (any other function). Determined by the parser.
+     */
+    @CompilationFinal private volatile int numericComparatorOrder;
+
     private static final AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> UPDATER_CALL_TARGET = //
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, CallTarget.class, "callTarget");
     private static final AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> UPDATER_CONSTRUCT_TARGET = //
@@ -261,6 +267,15 @@ public final class JSFunctionData {
         return flags;
     }
 
+    public int getNumericComparatorOrder() {
+        return numericComparatorOrder;
+    }
+
+    public void setNumericComparatorOrder(int order) {
+        assert order == 1 || order == -1 || order == 0;
+        this.numericComparatorOrder = order;
+    }
+
     public CallTarget getCallTarget(BranchProfile initBranch) {
         CallTarget result = callTarget;
         if (CompilerDirectives.injectBranchProbability(CompilerDirectives.FASTPATH_PROBABILITY, result != null)) {
@@ -363,14 +378,8 @@ public final class JSFunctionData {
         Initializer init = lazyInit;
         RootNode root = rootNode;
         if (root == null) {
-            // synchronizing on context so we do not need one lock per function
-            synchronized (context) {
-                root = rootNode;
-                if (root == null) {
-                    init.initializeRoot(this);
-                    root = rootNode;
-                }
-            }
+            initializeRootOnce(init);
+            root = rootNode;
         }
         assert root != null;
         AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> updater = target.getUpdater();
@@ -392,18 +401,52 @@ public final class JSFunctionData {
     public void materialize() {
         CompilerAsserts.neverPartOfCompilation();
         assert !isBuiltin();
+        initializeRoot();
+        // ensure call target is initialized and visible to instrumentation
+        rootNode.getCallTarget();
+    }
+
+    /**
+     * Initializes the root node of a lazily translated function if that has not happened yet.
+     */
+    private void initializeRoot() {
+        CompilerAsserts.neverPartOfCompilation();
         if (rootNode == null) {
             // lazy translation
-            Initializer init = lazyInit;
-            // synchronizing on context so we do not need one lock per function
-            synchronized (context) {
+            initializeRootOnce(lazyInit);
+        }
+    }
+
+    private void initializeRootOnce(Initializer init) {
+        // only waits for a concurrent translation of this very function (see initializeRootInBackground)
+        synchronized (this) {
+            if (rootNode == null) {
+                // synchronizing on context so that on-demand translations are serialized
+                synchronized (context) {
+                    if (rootNode == null) {
+                        init.initializeRoot(this);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Translates a lazily translated function ahead of its first call, e.g. on a background thread.
+     * Unlike on-demand translation, this does not take the context lock, so threads that translate
+     * or call other functions are never blocked by it; only a thread that needs this very function
+     * waits for the translation to finish. Any failure is propagated to the caller and leaves the
+     * function to be translated on demand.
+     */
+    public void initializeRootInBackground() {
+        CompilerAsserts.neverPartOfCompilation();
+        if (rootNode == null) {
+            synchronized (this) {
                 if (rootNode == null) {
-                    init.initializeRoot(this);
+                    lazyInit.initializeRoot(this);
                 }
             }
         }
-        // ensure call target is initialized and visible to instrumentation
-        rootNode.getCallTarget();
     }
 
     public enum Target {
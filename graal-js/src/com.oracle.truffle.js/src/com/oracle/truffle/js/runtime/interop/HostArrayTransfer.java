@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.interop;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.js.runtime.Boundaries;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Bulk copying between host primitive arrays ({@code int[]}, {@code double[]}, {@code byte[]}
+ * and {@link ByteBuffer}) and JS arrays and typed arrays, so that embedders do not have to
+ * transfer large arrays one interop message per element.
+ *
+ * Access to the host array is always checked with interop messages first, so the host access
+ * policy applies. Other foreign arrays and buffers are supported as well, but are accessed one
+ * interop message per element.
+ *
+ * Typed arrays whose element type matches the host array are copied with a single bulk buffer
+ * operation. Fast JS arrays with number elements get new int or double storage that is filled in
+ * bulk. Other combinations are copied element by element with the usual JS conversions. A
+ * {@link ByteBuffer} is read from or written to at its position, which is advanced by the number
+ * of transferred bytes.
+ */
+public final class HostArrayTransfer {
+
+    private HostArrayTransfer() {
+    }
+
+    /**
+     * Returns the host {@code int[]}, {@code double[]}, {@code byte[]} or {@link ByteBuffer}
+     * wrapped by the given value, or the value itself if it is another foreign array or buffer.
+     * Throws a TypeError if the value is not a foreign array or buffer that the host access policy
+     * allows to access, or if {@code writable} is set and the value is a read-only buffer.
+     */
+    @TruffleBoundary
+    public static Object asHostArray(TruffleLanguage.Env env, Object value, boolean writable) {
+        if (JSRuntime.isForeignObject(value)) {
+            InteropLibrary interop = InteropLibrary.getUncached(value);
+            if (interop.hasBufferElements(value)) {
+                try {
+                    if (writable && !interop.isBufferWritable(value)) {
+                        throw Errors.createTypeError("Target buffer is read-only");
+                    }
+                } catch (UnsupportedMessageException e) {
+                    throw Errors.createTypeErrorInteropException(value, e, "isBufferWritable", null);
+                }
+                return unwrapHostArray(env, value);
+            } else if (interop.hasArrayElements(value)) {
+                return unwrapHostArray(env, value);
+            }
+        }
+        throw Errors.createTypeError("Java array, ByteBuffer or foreign array or buffer expected");
+    }
+
+    /**
+     * Unwraps host arrays that can be accessed directly. Must only be called once interop has
+     * confirmed that the value may be accessed.
+     */
+    private static Object unwrapHostArray(TruffleLanguage.Env env, Object value) {
+        if (env.isHostObject(value)) {
+            Object hostObject = env.asHostObject(value);
+            if (isRawArray(hostObject)) {
+                return hostObject;
+            }
+        }
+        return value;
+    }
+
+    private static boolean isRawArray(Object hostArray) {
+        return hostArray instanceof int[] || hostArray instanceof double[] || hostArray instanceof byte[] || hostArray instanceof ByteBuffer;
+    }
+
+    private static int hostLength(Object hostArray) {
+        if (hostArray instanceof int[]) {
+            return ((int[]) hostArray).length;
+        } else if (hostArray instanceof double[]) {
+            return ((double[]) hostArray).length;
+        } else if (hostArray instanceof byte[]) {
+            return ((byte[]) hostArray).length;
+        } else if (hostArray instanceof ByteBuffer) {
+            return ((ByteBuffer) hostArray).remaining();
+        }
+        InteropLibrary interop = InteropLibrary.getUncached(hostArray);
+        long size;
+        try {
+            size = interop.hasBufferElements(hostArray) ? interop.getBufferSize(hostArray) : interop.getArraySize(hostArray);
+        } catch (UnsupportedMessageException e) {
+            throw Errors.createTypeErrorInteropException(hostArray, e, "getArraySize", null);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw Errors.createRangeError("Foreign array too large");
+        }
+        return (int) size;
+    }
+
+    private static Object hostElement(Object hostArray, int index) {
+        if (hostArray instanceof int[]) {
+            return ((int[]) hostArray)[index];
+        } else if (hostArray instanceof double[]) {
+            return ((double[]) hostArray)[index];
+        } else if (hostArray instanceof byte[]) {
+            return (int) ((byte[]) hostArray)[index];
+        } else if (hostArray instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) hostArray;
+            return (int) buffer.get(buffer.position() + index);
+        }
+        InteropLibrary interop = InteropLibrary.getUncached(hostArray);
+        try {
+            if (interop.hasBufferElements(hostArray)) {
+                return (int) interop.readBufferByte(hostArray, index);
+            } else {
+                return JSRuntime.importValue(interop.readArrayElement(hostArray, index));
+            }
+        } catch (InteropException e) {
+            throw Errors.createTypeErrorInteropException(hostArray, e, "readArrayElement", null);
+        }
+    }
+
+    private static void setHostElement(Object hostArray, int index, Object value) {
+        if (hostArray instanceof int[]) {
+            ((int[]) hostArray)[index] = JSRuntime.toInt32(value);
+        } else if (hostArray instanceof double[]) {
+            ((double[]) hostArray)[index] = JSRuntime.toDouble(value);
+        } else if (hostArray instanceof byte[]) {
+            ((byte[]) hostArray)[index] = (byte) JSRuntime.toInt32(value);
+        } else if (hostArray instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) hostArray;
+            buffer.put(buffer.position() + index, (byte) JSRuntime.toInt32(value));
+        } else {
+            InteropLibrary interop = InteropLibrary.getUncached(hostArray);
+            try {
+                if (interop.hasBufferElements(hostArray)) {
+                    interop.writeBufferByte(hostArray, index, (byte) JSRuntime.toInt32(value));
+                } else {
+                    interop.writeArrayElement(hostArray, index, JSRuntime.exportValue(value));
+                }
+            } catch (InteropException e) {
+                throw Errors.createTypeErrorInteropException(hostArray, e, "writeArrayElement", null);
+            }
+        }
+    }
+
+    /**
+     * Returns the elements of a host {@code int[]}, {@code byte[]} or {@link ByteBuffer} as ints,
+     * without advancing the position of the buffer.
+     */
+    private static int[] hostInts(Object hostArray, int length) {
+        if (hostArray instanceof int[]) {
+            return (int[]) hostArray;
+        }
+        int[] ints = new int[length];
+        if (hostArray instanceof byte[]) {
+            byte[] bytes = (byte[]) hostArray;
+            for (int i = 0; i < length; i++) {
+                ints[i] = bytes[i];
+            }
+        } else {
+            ByteBuffer buffer = (ByteBuffer) hostArray;
+            int position = buffer.position();
+            for (int i = 0; i < length; i++) {
+                ints[i] = buffer.get(position + i);
+            }
+        }
+        return ints;
+    }
+
+    /**
+     * Creates a new JS array with the elements of the host array. The array uses int storage for
+     * {@code int[]}, {@code byte[]} and {@link ByteBuffer} and double storage for {@code double[]}.
+     */
+    @TruffleBoundary
+    public static JSDynamicObject createArray(JSContext context, JSRealm realm, Object hostArray) {
+        int length = hostLength(hostArray);
+        if (length == 0) {
+            return JSArray.createEmptyZeroLength(context, realm);
+        }
+        if (hostArray instanceof int[]) {
+            return JSArray.createZeroBasedIntArray(context, realm, ((int[]) hostArray).clone());
+        } else if (hostArray instanceof double[]) {
+            return JSArray.createZeroBasedDoubleArray(context, realm, ((double[]) hostArray).clone());
+        } else if (hostArray instanceof byte[] || hostArray instanceof ByteBuffer) {
+            JSDynamicObject array = JSArray.createZeroBasedIntArray(context, realm, hostInts(hostArray, length));
+            advance(hostArray, length);
+            return array;
+        }
+        Object[] elements = new Object[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = hostElement(hostArray, i);
+        }
+        return JSArray.createZeroBasedObjectArray(context, realm, elements);
+    }
+
+    /**
+     * Copies all elements of the host array into the JS array or typed array, starting at the
+     * given target index. Throws a RangeError if a typed array target is too small. JS array
+     * targets grow as needed.
+     */
+    @TruffleBoundary
+    public static void copyFromHost(JSContext context, Object hostArray, Object target, long targetIndex) {
+        int length = hostLength(hostArray);
+        if (JSArrayBufferView.isJSArrayBufferView(target)) {
+            JSDynamicObject view = (JSDynamicObject) target;
+            checkTypedArrayRange(context, view, targetIndex, length);
+            if (bulkCopy(context, view, (int) targetIndex, hostArray, 0, length, true)) {
+                advance(hostArray, length);
+                return;
+            }
+        } else if (!JSArray.isJSArray(target)) {
+            throw Errors.createTypeError("Array or TypedArray expected");
+        } else if (targetIndex < 0) {
+            throw Errors.createRangeError("Invalid target index");
+        } else if (copyToFastArray(context, (JSDynamicObject) target, targetIndex, hostArray, length)) {
+            advance(hostArray, length);
+            return;
+        }
+        JSDynamicObject object = (JSDynamicObject) target;
+        for (int i = 0; i < length; i++) {
+            JSObject.set(object, targetIndex + i, hostElement(hostArray, i));
+        }
+        advance(hostArray, length);
+    }
+
+    /**
+     * Copies all elements of the JS array or typed array into the host array, starting at the
+     * given host index (relative to the position for a {@link ByteBuffer}). Elements are
+     * converted with ToInt32 or ToNumber. Returns the number of copied elements.
+     */
+    @TruffleBoundary
+    public static int copyToHost(JSContext context, Object source, Object hostArray, long hostIndex) {
+        boolean typedArray = JSArrayBufferView.isJSArrayBufferView(source);
+        long sourceLength;
+        if (typedArray) {
+            JSDynamicObject view = (JSDynamicObject) source;
+            if (JSArrayBufferView.hasDetachedBuffer(view, context)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            sourceLength = JSArrayBufferView.typedArrayGetLength(view);
+        } else if (JSArray.isJSArray(source)) {
+            sourceLength = JSAbstractArray.arrayGetLength((JSDynamicObject) source);
+        } else {
+            throw Errors.createTypeError("Array or TypedArray expected");
+        }
+        int hostLength = hostLength(hostArray);
+        if (hostIndex < 0 || hostIndex > hostLength || sourceLength > hostLength - hostIndex) {
+            throw Errors.createRangeError("Target array too small");
+        }
+        int length = (int) sourceLength;
+        int index = (int) hostIndex;
+        JSDynamicObject object = (JSDynamicObject) source;
+        if (typedArray && bulkCopy(context, object, 0, hostArray, index, length, false)) {
+            advance(hostArray, length);
+            return length;
+        }
+        boolean fastArray = JSArray.isJSFastArray(object);
+        for (int i = 0; i < length; i++) {
+            Object value = null;
+            if (fastArray) {
+                ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(object);
+                if (arrayType.hasElement(object, i)) {
+                    value = arrayType.getElement(object, i);
+                }
+            }
+            if (value == null) {
+                value = JSObject.get(object, i);
+            }
+            setHostElement(hostArray, index + i, value);
+        }
+        advance(hostArray, length);
+        return length;
+    }
+
+    /**
+     * Copies a host primitive array into a fast JS array by replacing its storage with a new int or
+     * double array that is filled in bulk. Returns false if the elements have to be set one by one,
+     * i.e., if the array is not extensible, has holes or non-number elements, would get a hole at
+     * the target index, or if the prototype chain may have indexed properties.
+     */
+    private static boolean copyToFastArray(JSContext context, JSDynamicObject array, long targetIndex, Object hostArray, int length) {
+        if (!isRawArray(hostArray) || !JSArray.isJSFastArray(array) || !context.getArrayPrototypeNoElementsAssumption().isValid()) {
+            return false;
+        }
+        ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(array);
+        long arrayLength = JSAbstractArray.arrayGetLength(array);
+        long end = targetIndex + length;
+        if (!arrayType.isExtensible() || arrayType.isSealed() || arrayType.isLengthNotWritable() || targetIndex > arrayLength || Math.max(end, arrayLength) > Integer.MAX_VALUE) {
+            return false;
+        }
+        int start = (int) targetIndex;
+        int newLength = (int) Math.max(end, arrayLength);
+        boolean doubles = hostArray instanceof double[];
+        for (int i = 0; i < arrayLength; i++) {
+            if (i >= start && i < end) {
+                continue;
+            }
+            if (!arrayType.hasElement(array, i)) {
+                return false;
+            }
+            Object value = arrayType.getElement(array, i);
+            if (value instanceof Double) {
+                doubles = true;
+            } else if (!(value instanceof Integer)) {
+                return false;
+            }
+        }
+        Object storage;
+        ScriptArray newArrayType;
+        if (doubles) {
+            double[] doubleStorage = new double[newLength];
+            for (int i = 0; i < arrayLength; i++) {
+                if (i < start || i >= end) {
+                    doubleStorage[i] = ((Number) arrayType.getElement(array, i)).doubleValue();
+                }
+            }
+            if (hostArray instanceof double[]) {
+                System.arraycopy((double[]) hostArray, 0, doubleStorage, start, length);
+            } else {
+                int[] ints = hostInts(hostArray, length);
+                for (int i = 0; i < length; i++) {
+                    doubleStorage[start + i] = ints[i];
+                }
+            }
+            storage = doubleStorage;
+            newArrayType = ZeroBasedDoubleArray.createZeroBasedDoubleArray();
+        } else {
+            int[] intStorage = new int[newLength];
+            for (int i = 0; i < arrayLength; i++) {
+                if (i < start || i >= end) {
+                    intStorage[i] = (int) arrayType.getElement(array, i);
+                }
+            }
+            System.arraycopy(hostInts(hostArray, length), 0, intStorage, start, length);
+            storage = intStorage;
+            newArrayType = ZeroBasedIntArray.createZeroBasedIntArray();
+        }
+        JSAbstractArray.arraySetLength(array, newLength);
+        JSAbstractArray.arraySetUsedLength(array, newLength);
+        JSAbstractArray.arraySetArray(array, storage);
+        JSAbstractArray.arraySetArrayType(array, newArrayType);
+        return true;
+    }
+
+    private static void checkTypedArrayRange(JSContext context, JSDynamicObject view, long index, int length) {
+        if (JSArrayBufferView.hasDetachedBuffer(view, context)) {
+            throw Errors.createTypeErrorDetachedBuffer();
+        }
+        int viewLength = JSArrayBufferView.typedArrayGetLength(view);
+        if (index < 0 || index > viewLength || length > viewLength - index) {
+            throw Errors.createRangeError("Target array too small");
+        }
+    }
+
+    /**
+     * Copies between a typed array and a host array with a single buffer operation if the element
+     * types match exactly. Returns false if an element-wise copy is needed.
+     */
+    private static boolean bulkCopy(JSContext context, JSDynamicObject view, int viewIndex, Object hostArray, int hostIndex, int length, boolean toView) {
+        TypedArray arrayType = JSArrayBufferView.typedArrayGetArrayType(view);
+        if (arrayType.isInterop() || !isRawArray(hostArray)) {
+            return false;
+        }
+        TypedArrayFactory factory = arrayType.getFactory();
+        if (hostArray instanceof int[]) {
+            if (factory != TypedArrayFactory.Int32Array) {
+                return false;
+            }
+            IntBuffer intBuffer = viewBuffer(context, view, arrayType).asIntBuffer();
+            intBuffer.position(viewIndex);
+            if (toView) {
+                intBuffer.put((int[]) hostArray, hostIndex, length);
+            } else {
+                intBuffer.get((int[]) hostArray, hostIndex, length);
+            }
+            return true;
+        } else if (hostArray instanceof double[]) {
+            if (factory != TypedArrayFactory.Float64Array) {
+                return false;
+            }
+            DoubleBuffer doubleBuffer = viewBuffer(context, view, arrayType).asDoubleBuffer();
+            doubleBuffer.position(viewIndex);
+            if (toView) {
+                doubleBuffer.put((double[]) hostArray, hostIndex, length);
+            } else {
+                doubleBuffer.get((double[]) hostArray, hostIndex, length);
+            }
+            return true;
+        }
+        // bytes are stored unchanged, except that Uint8ClampedArray clamps negative values
+        if (!(factory == TypedArrayFactory.Int8Array || factory == TypedArrayFactory.Uint8Array || (factory == TypedArrayFactory.Uint8ClampedArray && !toView))) {
+            return false;
+        }
+        ByteBuffer byteBuffer = viewBuffer(context, view, arrayType);
+        if (hostArray instanceof byte[]) {
+            byteBuffer.position(viewIndex);
+            if (toView) {
+                byteBuffer.put((byte[]) hostArray, hostIndex, length);
+            } else {
+                byteBuffer.get((byte[]) hostArray, hostIndex, length);
+            }
+        } else {
+            ByteBuffer hostBuffer = (ByteBuffer) hostArray;
+            int hostPosition = hostBuffer.position() + hostIndex;
+            if (toView) {
+                Boundaries.byteBufferPutSlice(byteBuffer, viewIndex, hostBuffer, hostPosition, hostPosition + length);
+            } else {
+                Boundaries.byteBufferPutSlice(hostBuffer, hostPosition, byteBuffer, viewIndex, viewIndex + length);
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer viewBuffer(JSContext context, JSDynamicObject view, TypedArray arrayType) {
+        JSDynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+        ByteBuffer buffer = arrayType.isDirect() ? JSArrayBuffer.getDirectByteBuffer(arrayBuffer) : ByteBuffer.wrap(JSArrayBuffer.getByteArray(arrayBuffer));
+        int offset = JSArrayBufferView.getByteOffset(view, context);
+        int byteLength = JSArrayBufferView.getByteLength(view, context);
+        return Boundaries.byteBufferSlice(buffer, offset, offset + byteLength).order(ByteOrder.nativeOrder());
+    }
+
+    private static void advance(Object hostArray, int count) {
+        if (hostArray instanceof ByteBuffer) {
+            ByteBuffer hostBuffer = (ByteBuffer) hostArray;
+            hostBuffer.position(hostBuffer.position() + count);
+        }
+    }
+}
@@ -104,10 +104,24 @@ public abstract class JSObject extends JSDynamicObject {
     public static final TruffleString NO_SUCH_METHOD_NAME = Strings.constant("__noSuchMethod__");
     protected static final String[] EMPTY_STRING_ARRAY = new String[0];
 
+    /**
+     * Values of the WeakMaps that use this object as a key, see
+     * {@link com.oracle.truffle.js.runtime.util.WeakMap}.
+     */
+    private Object weakMapValues;
+
     protected JSObject(Shape shape) {
         super(shape);
     }
 
+    public final Object getWeakMapValues() {
+        return weakMapValues;
+    }
+
+    public final void setWeakMapValues(Object weakMapValues) {
+        this.weakMapValues = weakMapValues;
+    }
+
     protected JSObject copyWithoutProperties(@SuppressWarnings("unused") Shape shape) {
         throw Errors.notImplemented("copy");
     }
@@ -167,6 +167,15 @@ public final class JSShape {
         return JSShapeData.getEnumerablePropertyNames(shape);
     }
 
+    /**
+     * Enumerable string-keyed properties in enumeration order, or {@code null} if the shape has
+     * enumerable accessor properties. The returned array is shared and must not be modified.
+     */
+    public static Property[] getEnumerableDataPropertiesOrNull(Shape shape) {
+        assert JSConfig.FastOwnKeys;
+        return JSShapeData.getEnumerableDataPropertiesOrNull(shape);
+    }
+
     public static UnmodifiableArrayList<Property> getPropertiesIfHasEnumerablePropertyNames(Shape shape) {
         assert JSConfig.FastOwnKeys;
         return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
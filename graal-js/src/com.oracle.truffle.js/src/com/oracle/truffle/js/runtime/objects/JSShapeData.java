@@ -66,6 +66,8 @@ import com.oracle.truffle.js.runtime.util.UnmodifiablePropertyKeyList;
 public final class JSShapeData {
     private static final Property[] EMPTY_PROPERTY_ARRAY = new Property[0];
     private static final TruffleString[] EMPTY_STRING_ARRAY = new TruffleString[0];
+    /** Marker for shapes with enumerable string-keyed accessor properties. */
+    private static final Property[] HAS_ENUMERABLE_ACCESSORS = new Property[0];
     private static final int UNKNOWN = -1;
 
     /** The position in the property array where strings end and symbols start. */
@@ -74,6 +76,12 @@ public final class JSShapeData {
     private Property[] propertyArray;
     /** Only enumerable properties with string keys (no symbols). */
     private TruffleString[] enumerablePropertyNames;
+    /**
+     * Only enumerable properties with string keys (no symbols), in the same order as
+     * {@link #enumerablePropertyNames}, or {@link #HAS_ENUMERABLE_ACCESSORS} if any of them is an
+     * accessor property.
+     */
+    private Property[] enumerableDataProperties;
 
     private JSShapeData() {
     }
@@ -99,6 +107,22 @@ public final class JSShapeData {
         return ownProperties.toArray(EMPTY_STRING_ARRAY);
     }
 
+    private static Property[] createEnumerableDataPropertiesArray(Shape shape) {
+        CompilerAsserts.neverPartOfCompilation();
+        enumerablePropertyListAllocCount.inc();
+        List<Property> ownProperties = new ArrayList<>();
+        for (Property property : shape.getPropertyList()) {
+            if (JSProperty.isEnumerable(property) && Strings.isTString(property.getKey())) {
+                if (JSProperty.isAccessor(property)) {
+                    return HAS_ENUMERABLE_ACCESSORS;
+                }
+                ownProperties.add(property);
+            }
+        }
+        sortProperties(ownProperties);
+        return ownProperties.toArray(EMPTY_PROPERTY_ARRAY);
+    }
+
     private static void sortProperties(List<Property> ownProperties) {
         CompilerAsserts.neverPartOfCompilation();
         Collections.sort(ownProperties, (o1, o2) -> JSRuntime.comparePropertyKeys(o1.getKey(), o2.getKey()));
@@ -181,6 +205,28 @@ public final class JSShapeData {
         return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_STRING_ARRAY : getEnumerablePropertyNamesArray(shape));
     }
 
+    @TruffleBoundary
+    private static Property[] getEnumerableDataPropertiesArray(Shape shape) {
+        assert shape.getPropertyCount() != 0;
+        JSShapeData shapeData = getShapeData(shape);
+        Property[] enumerableDataProperties = shapeData.enumerableDataProperties;
+        if (enumerableDataProperties == null) {
+            enumerableDataProperties = createEnumerableDataPropertiesArray(shape);
+            shapeData.enumerableDataProperties = enumerableDataProperties;
+        }
+        return enumerableDataProperties;
+    }
+
+    /**
+     * Returns the enumerable string-keyed properties of the shape, sorted like
+     * {@link #getEnumerablePropertyNames}, or {@code null} if any of them is an accessor property,
+     * i.e., if reading their values could run user code.
+     */
+    static Property[] getEnumerableDataPropertiesOrNull(Shape shape) {
+        Property[] properties = shape.getPropertyCount() == 0 ? EMPTY_PROPERTY_ARRAY : getEnumerableDataPropertiesArray(shape);
+        return properties == HAS_ENUMERABLE_ACCESSORS ? null : properties;
+    }
+
     @TruffleBoundary
     private static Property[] getPropertiesArrayIfHasEnumerablePropertyNames(Shape shape) {
         assert shape.getPropertyCount() != 0;
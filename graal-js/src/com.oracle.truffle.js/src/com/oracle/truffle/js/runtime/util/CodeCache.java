@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Persistent, directory-backed cache of encoded ASTs (binary snapshots) that allows skipping the
+ * parser and translator for sources that have already been seen by a previous process.
+ *
+ * Entries are keyed by a SHA-256 digest of the source characters and a caller-provided variant
+ * (covering everything else the encoded AST depends on, e.g. the snapshot format and the context
+ * options). The directory is accessed through the {@link TruffleFile} API of the given
+ * {@link TruffleLanguage.Env}, so the IO policy and file system of the context apply. Entries are
+ * written atomically (via a temporary file in the same directory), so concurrent processes sharing
+ * a directory never observe partially written entries. The cache is best-effort: I/O errors and
+ * denied access are treated as cache misses.
+ */
+public final class CodeCache {
+
+    private static final String FILE_SUFFIX = ".bin";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int DIGEST_CHUNK_SIZE = 8192;
+
+    private final String directory;
+
+    public CodeCache(String directory) {
+        this.directory = directory;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns a read-only buffer with the cached snapshot of the given source, or {@code null} if
+     * there is none.
+     */
+    @TruffleBoundary
+    public ByteBuffer load(TruffleLanguage.Env env, Source source, String variant) {
+        try {
+            TruffleFile file = env.getPublicTruffleFile(directory).resolve(fileName(source, variant));
+            if (!file.isRegularFile()) {
+                return null;
+            }
+            return ByteBuffer.wrap(file.readAllBytes()).asReadOnlyBuffer();
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the snapshot of the given source, replacing any previous entry.
+     *
+     * @return {@code true} if the entry has been written successfully
+     */
+    @TruffleBoundary
+    public boolean store(TruffleLanguage.Env env, Source source, String variant, ByteBuffer snapshot) {
+        TruffleFile tempFile = null;
+        try {
+            TruffleFile dir = env.getPublicTruffleFile(directory);
+            dir.createDirectories();
+            tempFile = env.createTempFile(dir, "snapshot", ".tmp");
+            try (SeekableByteChannel channel = tempFile.newByteChannel(EnumSet.of(StandardOpenOption.WRITE))) {
+                ByteBuffer data = snapshot.duplicate();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            tempFile.move(dir.resolve(fileName(source, variant)), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            if (tempFile != null) {
+                try {
+                    tempFile.delete();
+                } catch (IOException | SecurityException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes the cached snapshot of the given source (e.g. because it failed verification).
+     */
+    @TruffleBoundary
+    public void invalidate(TruffleLanguage.Env env, Source source, String variant) {
+        try {
+            env.getPublicTruffleFile(directory).resolve(fileName(source, variant)).delete();
+        } catch (NoSuchFileException e) {
+            // already gone
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            // best-effort
+        }
+    }
+
+    static String fileName(Source source, String variant) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        // digest the UTF-16LE code units in chunks to avoid copying the whole source
+        CharSequence code = source.getCharacters();
+        int length = code.length();
+        byte[] chunk = new byte[Math.min(DIGEST_CHUNK_SIZE, 2 * length + 2)];
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            chunk[pos++] = (byte) c;
+            chunk[pos++] = (byte) (c >>> 8);
+            if (pos == chunk.length) {
+                digest.update(chunk, 0, pos);
+                pos = 0;
+            }
+        }
+        digest.update(chunk, 0, pos);
+        byte[] hash = digest.digest();
+        StringBuilder sb = new StringBuilder(hash.length * 2 + FILE_SUFFIX.length());
+        for (byte b : hash) {
+            sb.append(HEX_DIGITS[(b >>> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+        }
+        return sb.append(FILE_SUFFIX).toString();
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Thread-safe, weight-bounded cache for compilation results (e.g. compiled regular expressions or
+ * parsed functions) that is shared by all realms of a {@code JSContext}.
+ *
+ * The cache is split into lock-protected segments by key hash. Each segment follows the W-TinyLFU
+ * design: new entries are admitted into a small LRU window; an entry evicted from the window is
+ * only admitted into the main LRU region if it has been requested more frequently than the entry
+ * it would displace. Request frequencies are estimated with a count-min sketch of 4-bit counters
+ * that is periodically halved, so one-off sources cannot flush frequently used entries.
+ *
+ * Every entry has a weight (at least 1) that approximates its memory cost (see
+ * {@link #weightOfSource(int)}); the sum of the weights is bounded by the maximum weight given at
+ * construction.
+ */
+public final class CompilationCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    /** Minimum weight capacity of a segment; small caches use fewer segments. */
+    private static final int MIN_SEGMENT_WEIGHT = 32;
+    /** Percentage of the capacity used for the admission window. */
+    private static final int WINDOW_PERCENT = 1;
+    /** Number of source characters that correspond to one unit of weight. */
+    private static final int SOURCE_WEIGHT_UNIT = 1024;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long maximumWeight;
+
+    @SuppressWarnings("unchecked")
+    public CompilationCache(long maximumWeight) {
+        assert maximumWeight > 0;
+        this.maximumWeight = maximumWeight;
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maximumWeight / (segmentCount * 2) >= MIN_SEGMENT_WEIGHT) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        long segmentWeight = Math.max(1, maximumWeight / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentWeight);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[(hash >>> 24) & segmentMask];
+    }
+
+    @TruffleBoundary
+    public V get(K key) {
+        int hash = spread(key.hashCode());
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Adds an entry with the given weight to the cache. The entry might not be retained if it is
+     * heavier than a segment or has been requested less frequently than the entries it would
+     * evict.
+     */
+    @TruffleBoundary
+    public void put(K key, V value, int weight) {
+        assert weight > 0;
+        int hash = spread(key.hashCode());
+        segmentFor(hash).put(key, value, hash, weight);
+    }
+
+    /**
+     * Approximates the weight of a compilation result by the length of its source: small sources
+     * weigh 1, large sources one more per started {@value #SOURCE_WEIGHT_UNIT} characters.
+     */
+    public static int weightOfSource(int sourceLength) {
+        return 1 + sourceLength / SOURCE_WEIGHT_UNIT;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @TruffleBoundary
+    public Statistics getStatistics() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        long rejections = 0;
+        long size = 0;
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+                misses += segment.misses;
+                evictions += segment.evictions;
+                rejections += segment.rejections;
+                size += segment.window.size() + segment.main.size();
+                weight += segment.windowWeight + segment.mainWeight;
+            }
+        }
+        return new Statistics(hits, misses, evictions, rejections, size, weight);
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+        private final long maxWindowWeight;
+        private final long maxMainWeight;
+        private long windowWeight;
+        private long mainWeight;
+
+        long hits;
+        long misses;
+        long evictions;
+        long rejections;
+
+        Segment(long maxWeight) {
+            this.maxWindowWeight = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+            this.maxMainWeight = Math.max(1, maxWeight - maxWindowWeight);
+            this.sketch = new FrequencySketch(maxWeight);
+        }
+
+        synchronized V get(K key, int hash) {
+            sketch.increment(hash);
+            Entry<V> entry = window.get(key);
+            if (entry == null) {
+                entry = main.get(key);
+            }
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value;
+        }
+
+        synchronized void put(K key, V value, int hash, int weight) {
+            Entry<V> newEntry = new Entry<>(value, weight);
+            Entry<V> oldEntry = window.remove(key);
+            if (oldEntry != null) {
+                windowWeight -= oldEntry.weight;
+            } else {
+                oldEntry = main.remove(key);
+                if (oldEntry != null) {
+                    mainWeight -= oldEntry.weight;
+                }
+            }
+            window.put(key, newEntry);
+            windowWeight += weight;
+            while (windowWeight > maxWindowWeight) {
+                Map.Entry<K, Entry<V>> candidate = removeEldest(window);
+                windowWeight -= candidate.getValue().weight;
+                admit(candidate.getKey(), candidate.getValue(), candidate.getKey() == key ? hash : spread(candidate.getKey().hashCode()));
+            }
+        }
+
+        /**
+         * Moves an entry evicted from the window into the main region, unless it is less frequently
+         * used than the entries that would have to be evicted to make room for it.
+         */
+        private void admit(K key, Entry<V> entry, int hash) {
+            if (entry.weight > maxMainWeight) {
+                // would not fit even into an empty main region; do not evict anything for it
+                rejections++;
+                return;
+            }
+            while (mainWeight + entry.weight > maxMainWeight) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = main.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    rejections++;
+                    return;
+                }
+                Map.Entry<K, Entry<V>> victim = iterator.next();
+                if (sketch.frequency(hash) <= sketch.frequency(spread(victim.getKey().hashCode()))) {
+                    rejections++;
+                    return;
+                }
+                iterator.remove();
+                mainWeight -= victim.getValue().weight;
+                evictions++;
+            }
+            main.put(key, entry);
+            mainWeight += entry.weight;
+        }
+
+        private static <K, V> Map.Entry<K, Entry<V>> removeEldest(LinkedHashMap<K, Entry<V>> map) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = map.entrySet().iterator();
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            iterator.remove();
+            return eldest;
+        }
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key. All counters are halved once the number
+     * of increments reaches ten times the capacity, so that the frequencies reflect recent use.
+     */
+    static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int[] SEEDS = {0x97CB3127, 0xB3E0B9C5, 0xC2B2AE35, 0x85EBCA6B};
+
+        private final long[] table;
+        private final int counterMask;
+        private final long sampleSize;
+        private long increments;
+
+        FrequencySketch(long capacity) {
+            int tableSize = Integer.highestOneBit((int) Math.min(Math.max(capacity, 4), 1 << 24) - 1) << 1;
+            this.table = new long[tableSize];
+            this.counterMask = tableSize * 16 - 1;
+            this.sampleSize = 10 * Math.max(capacity, 4);
+        }
+
+        private int counterIndex(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[row];
+            return (h ^ (h >>> 17)) & counterMask;
+        }
+
+        private int counterValue(int counter) {
+            return (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xfL);
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int counter = counterIndex(hash, row);
+                if (counterValue(counter) < 15) {
+                    table[counter >>> 4] += 1L << ((counter & 15) << 2);
+                    added = true;
+                }
+            }
+            if (added && ++increments >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counterValue(counterIndex(hash, row)));
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            increments /= 2;
+        }
+    }
+
+    /**
+     * Snapshot of the cache statistics.
+     */
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long rejectionCount;
+        private final long size;
+        private final long weight;
+
+        Statistics(long hitCount, long missCount, long evictionCount, long rejectionCount, long size, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.rejectionCount = rejectionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /** Number of entries removed from the cache to make room for more frequently used ones. */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /** Number of new entries that were not retained by the admission policy. */
+        public long getRejectionCount() {
+            return rejectionCount;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", rejections=" + rejectionCount + ", size=" + size + ", weight=" + weight;
+        }
+    }
+}
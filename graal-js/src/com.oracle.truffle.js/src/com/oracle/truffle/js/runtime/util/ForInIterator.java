@@ -62,6 +62,11 @@ public class ForInIterator {
     public Shape[] visitedShapes;
     public int visitedShapesSize;
     public boolean fastOwnKeys;
+    /**
+     * The remaining keys are the enumerable string keys of the receiver's shape, and none of its
+     * prototypes had enumerable properties when the enumeration started.
+     */
+    public boolean enumCache;
     public int protoDepth;
     public final boolean iterateValues;
 
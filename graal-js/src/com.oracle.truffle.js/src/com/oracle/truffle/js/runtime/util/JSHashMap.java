@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,12 +40,20 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Deterministic, insertion-ordered hash table stored in parallel arrays (similar to V8's
+ * OrderedHashMap). Entries are appended in insertion order and chained into buckets by index. A
+ * removed entry leaves a tombstone (a {@code null} key) that is dropped when the table is rehashed.
+ * Every rehash that drops tombstones (and every clear) starts a new {@link Layout}, which allows
+ * existing cursors to translate their position to the compacted table.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,194 +80,333 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final Object[] EMPTY_ENTRIES = new Object[0];
+    private static final int[] EMPTY_INTS = new int[0];
+    /** Single empty bucket, so that lookups in an empty map need no special case. */
+    private static final int[] EMPTY_BUCKETS = new int[]{NONE};
+
+    /** Index of the most recently added entry of each bucket, or {@link #NONE}. */
+    private int[] buckets;
+    /** Keys in insertion order; removed entries are {@code null}. */
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    /** Index of the next (older) entry in the same bucket, or {@link #NONE}. */
+    private int[] chain;
+    /** Number of used entry slots, including tombstones. */
+    private int usedEntries;
+    private int size;
+    private Layout layout;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.buckets = EMPTY_BUCKETS;
+        this.keys = EMPTY_ENTRIES;
+        this.values = EMPTY_ENTRIES;
+        this.hashes = EMPTY_INTS;
+        this.chain = EMPTY_INTS;
+        this.layout = new Layout();
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return size;
     }
 
     /**
      * Insert new entry, if key does not already exist, otherwise update the existing entry's value.
      */
-    @TruffleBoundary
+    @TruffleBoundary(allowInlining = true)
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
-        } else {
-            oldNode.setValue(value);
+        assert key != null && value != null;
+        int hash = hash(key);
+        int index = find(key, hash);
+        if (index != NONE) {
+            values[index] = value;
+            return;
+        }
+        if (usedEntries == keys.length) {
+            grow();
         }
+        index = usedEntries++;
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        int bucket = hash & (buckets.length - 1);
+        chain[index] = buckets[bucket];
+        buckets[bucket] = index;
+        size++;
     }
 
-    @TruffleBoundary
+    @TruffleBoundary(allowInlining = true)
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        int index = find(key, hash(key));
+        return index == NONE ? null : values[index];
     }
 
-    @TruffleBoundary
+    @TruffleBoundary(allowInlining = true)
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return find(key, hash(key)) != NONE;
     }
 
-    @TruffleBoundary
+    @TruffleBoundary(allowInlining = true)
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
-            return false;
-        } else {
-            unlink(node);
-            return true;
+        int hash = hash(key);
+        int bucket = hash & (buckets.length - 1);
+        int prev = NONE;
+        for (int index = buckets[bucket]; index != NONE; index = chain[index]) {
+            if (hashes[index] == hash && keyEquals(key, keys[index])) {
+                if (prev == NONE) {
+                    buckets[bucket] = chain[index];
+                } else {
+                    chain[prev] = chain[index];
+                }
+                keys[index] = null;
+                values[index] = null;
+                size--;
+                if (size < (keys.length >> 2) && keys.length > INITIAL_CAPACITY) {
+                    rehash(keys.length >> 1);
+                }
+                return true;
+            }
+            prev = index;
         }
+        return false;
     }
 
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
+    @TruffleBoundary
+    public void clear() {
+        this.buckets = EMPTY_BUCKETS;
+        this.keys = EMPTY_ENTRIES;
+        this.values = EMPTY_ENTRIES;
+        this.hashes = EMPTY_INTS;
+        this.chain = EMPTY_INTS;
+        this.usedEntries = 0;
+        this.size = 0;
+        Layout cleared = new Layout();
+        layout.cleared = true;
+        layout.next = cleared;
+        layout = cleared;
+    }
+
+    private int find(Object key, int hash) {
+        for (int index = buckets[hash & (buckets.length - 1)]; index != NONE; index = chain[index]) {
+            if (hashes[index] == hash && keyEquals(key, keys[index])) {
+                return index;
+            }
+        }
+        return NONE;
+    }
+
+    private void grow() {
+        int capacity = keys.length;
+        if (capacity == 0) {
+            allocate(INITIAL_CAPACITY);
+        } else if (usedEntries - size >= (capacity >> 1)) {
+            // at least half of the entries are tombstones, compacting is enough
+            rehash(capacity);
+        } else if (capacity < MAX_CAPACITY) {
+            rehash(capacity << 1);
         } else {
-            tail = prev;
+            throw new OutOfMemoryError("Map maximum size exceeded");
         }
-        node.setEmpty();
+    }
+
+    private void allocate(int capacity) {
+        this.buckets = new int[capacity];
+        Arrays.fill(buckets, NONE);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.chain = new int[capacity];
     }
 
     @TruffleBoundary
-    public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsedEntries = usedEntries;
+        int[] removed = new int[oldUsedEntries - size];
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        int newIndex = 0;
+        int removedCount = 0;
+        for (int oldIndex = 0; oldIndex < oldUsedEntries; oldIndex++) {
+            Object key = oldKeys[oldIndex];
+            if (key == null) {
+                removed[removedCount++] = oldIndex;
+                continue;
+            }
+            int hash = oldHashes[oldIndex];
+            keys[newIndex] = key;
+            values[newIndex] = oldValues[oldIndex];
+            hashes[newIndex] = hash;
+            chain[newIndex] = buckets[hash & mask];
+            buckets[hash & mask] = newIndex;
+            newIndex++;
+        }
+        assert newIndex == size && removedCount == removed.length;
+        usedEntries = newIndex;
+        if (removedCount != 0) {
+            Layout compacted = new Layout();
+            layout.removed = removed;
+            layout.next = compacted;
+            layout = compacted;
+        }
+    }
+
+    private static int hash(Object key) {
+        int h;
+        if (key instanceof Integer) {
+            h = (Integer) key;
+        } else if (key instanceof Double) {
+            h = Double.hashCode((Double) key);
+        } else if (key instanceof TruffleString) {
+            h = ((TruffleString) key).hashCode();
+        } else {
+            h = hashCodeBoundary(key);
         }
-        head.setNext(null);
-        tail = head;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean keyEquals(Object key, Object other) {
+        if (key == other) {
+            return true;
+        } else if (other == null) {
+            return false;
+        } else if (key instanceof Integer) {
+            return other instanceof Integer && ((Integer) key).intValue() == ((Integer) other).intValue();
+        } else if (key instanceof Double) {
+            return other instanceof Double && Double.doubleToLongBits((Double) key) == Double.doubleToLongBits((Double) other);
+        } else if (key instanceof TruffleString) {
+            return other instanceof TruffleString && key.equals(other);
+        } else if (key instanceof JSDynamicObject) {
+            return false;
+        } else {
+            return equalsBoundary(key, other);
+        }
+    }
+
+    @TruffleBoundary
+    private static int hashCodeBoundary(Object key) {
+        return key.hashCode();
+    }
+
+    @TruffleBoundary
+    private static boolean equalsBoundary(Object key, Object other) {
+        return key.equals(other);
     }
 
     @TruffleBoundary
     @Override
     public String toString() {
-        return map.toString();
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < usedEntries; i++) {
+            if (keys[i] != null) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append('=').append(values[i]);
+            }
+        }
+        return sb.append('}').toString();
     }
 
     public Cursor getEntries() {
-        return new CursorImpl(head);
+        return new CursorImpl(this, layout, NONE);
+    }
+
+    /**
+     * Describes how a table layout was replaced: either by dropping the tombstones at the
+     * {@link #removed} indices, or by clearing the table.
+     */
+    private static final class Layout {
+        /** The layout that replaced this one, or {@code null} if this is the current layout. */
+        Layout next;
+        int[] removed;
+        boolean cleared;
+
+        /**
+         * Translates an entry index of this layout to the index of the same (or, for a removed
+         * entry, the preceding) position in the next layout.
+         */
+        int translate(int index) {
+            if (cleared) {
+                return NONE;
+            }
+            int pos = Arrays.binarySearch(removed, index);
+            int removedAtOrBefore = pos >= 0 ? pos + 1 : -(pos + 1);
+            return index - removedAtOrBefore;
+        }
     }
 
     private static final class CursorImpl implements Cursor {
-        private Node current;
+        private final JSHashMap map;
+        /** Layout the index refers to, or {@code null} if the cursor is exhausted. */
+        private Layout layout;
+        private int index;
+
+        CursorImpl(JSHashMap map, Layout layout, int index) {
+            this.map = map;
+            this.layout = layout;
+            this.index = index;
+        }
 
-        CursorImpl(Node head) {
-            this.current = head;
+        private void updateLayout() {
+            Layout current = map.layout;
+            while (layout != current && layout != null) {
+                index = layout.translate(index);
+                layout = layout.next;
+            }
         }
 
         @Override
         public boolean advance() {
-            if (current == null) {
+            if (layout == null) {
                 return false;
-            } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+            }
+            updateLayout();
+            Object[] keys = map.keys;
+            int usedEntries = map.usedEntries;
+            for (int i = index + 1; i < usedEntries; i++) {
+                if (keys[i] != null) {
+                    index = i;
+                    return true;
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
             }
+            layout = null;
+            return false;
         }
 
         @Override
         public Object getKey() {
-            Object key = current.getKey();
+            updateLayout();
+            Object key = map.keys[index];
             assert key != null;
             return key;
         }
 
         @Override
         public Object getValue() {
-            Object value = current.getValue();
+            updateLayout();
+            Object value = map.values[index];
             assert value != null;
             return value;
         }
 
         @Override
         public String toString() {
-            return "Cursor [current=" + current + "]";
+            return "Cursor [index=" + index + "]";
         }
 
         @Override
         public Cursor copy() {
-            return new CursorImpl(current);
-        }
-    }
-
-    private static final class Node {
-        private Object key;
-        private Object value;
-        private Node prev;
-        private Node next;
-
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
-        }
-
-        Object getKey() {
-            return key;
-        }
-
-        Object getValue() {
-            return value;
-        }
-
-        void setValue(Object value) {
-            this.value = value;
-        }
-
-        Node getPrev() {
-            return prev;
-        }
-
-        void setPrev(Node prev) {
-            this.prev = prev;
-        }
-
-        Node getNext() {
-            return next;
-        }
-
-        void setNext(Node next) {
-            this.next = next;
-        }
-
-        void setEmpty() {
-            this.key = null;
-            this.value = null;
-        }
-
-        boolean isEmpty() {
-            return this.key == null;
-        }
-
-        @Override
-        public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+            return new CursorImpl(map, layout, index);
         }
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+
+/**
+ * FIFO queue of promise jobs backed by a growable ring buffer. Every job is a function to call,
+ * optionally with two arguments. Promise reaction jobs are stored as the shared reaction job
+ * function together with the reaction record and its argument, so enqueuing a reaction does not
+ * allocate a closure.
+ */
+public final class PromiseJobQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int STRIDE = 3;
+
+    /** Ring buffer of (function, first argument, second argument) triples. */
+    private Object[] elements;
+    /** Number of jobs that fit into the ring buffer, always a power of two. */
+    private int capacity;
+    private int head;
+    private int size;
+
+    public PromiseJobQueue() {
+        this.capacity = INITIAL_CAPACITY;
+        this.elements = new Object[INITIAL_CAPACITY * STRIDE];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Enqueues a job that is called without arguments.
+     */
+    public void add(JSFunctionObject job) {
+        add(job, null, null);
+    }
+
+    /**
+     * Enqueues a job that is called with two arguments.
+     */
+    public void add(JSFunctionObject job, Object argument1, Object argument2) {
+        if (size == capacity) {
+            grow();
+        }
+        int slot = ((head + size) & (capacity - 1)) * STRIDE;
+        elements[slot] = job;
+        elements[slot + 1] = argument1;
+        elements[slot + 2] = argument2;
+        size++;
+    }
+
+    /**
+     * Returns the function of the first job.
+     */
+    public JSFunctionObject peekFunction() {
+        assert size > 0;
+        return (JSFunctionObject) elements[head * STRIDE];
+    }
+
+    /**
+     * Returns the first argument of the first job, {@code null} for jobs without arguments.
+     */
+    public Object peekArgument1() {
+        assert size > 0;
+        return elements[head * STRIDE + 1];
+    }
+
+    /**
+     * Returns the second argument of the first job.
+     */
+    public Object peekArgument2() {
+        assert size > 0;
+        return elements[head * STRIDE + 2];
+    }
+
+    /**
+     * Removes the first job.
+     */
+    public void remove() {
+        assert size > 0;
+        int slot = head * STRIDE;
+        elements[slot] = null;
+        elements[slot + 1] = null;
+        elements[slot + 2] = null;
+        head = (head + 1) & (capacity - 1);
+        size--;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int newCapacity = capacity << 1;
+        if (newCapacity <= 0 || newCapacity > SimpleArrayList.MAX_ARRAY_SIZE / STRIDE) {
+            throw new OutOfMemoryError();
+        }
+        Object[] newElements = new Object[newCapacity * STRIDE];
+        // unwrap the ring so that the head is at index 0 again
+        int firstPart = (capacity - head) * STRIDE;
+        System.arraycopy(elements, head * STRIDE, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, head * STRIDE);
+        elements = newElements;
+        capacity = newCapacity;
+        head = 0;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Records state transitions of property caches, aggregated per source location, key and kind of
+ * access. Only slow-path rewrites are recorded, so enabled statistics do not affect compiled code.
+ *
+ * @see com.oracle.truffle.js.runtime.JSContextOptions#PROPERTY_CACHE_STATISTICS
+ */
+public final class PropertyCacheStatistics {
+    private static final String CLASS_NAME = "[" + PropertyCacheStatistics.class.getSimpleName() + "] ";
+
+    public enum State {
+        UNINITIALIZED,
+        MONOMORPHIC,
+        POLYMORPHIC,
+        GENERIC
+    }
+
+    private final Map<String, Site> sites = new HashMap<>();
+
+    public PropertyCacheStatistics() {
+    }
+
+    /**
+     * Records the insertion of a new cache entry in front of {@code cachedCount} existing ones.
+     */
+    public synchronized void recordInsert(Node cacheNode, Object key, int cachedCount) {
+        Site site = getSite(cacheNode, key);
+        site.inserts++;
+        site.maxEntries = Math.max(site.maxEntries, cachedCount + 1);
+        if (site.state != State.GENERIC) {
+            site.state = cachedCount == 0 ? State.MONOMORPHIC : State.POLYMORPHIC;
+        }
+    }
+
+    /**
+     * Records the replacement of the cache with the generic (megamorphic) case.
+     */
+    public synchronized void recordGeneric(Node cacheNode, Object key, int cachedCount, String reason) {
+        Site site = getSite(cacheNode, key);
+        site.maxEntries = Math.max(site.maxEntries, cachedCount);
+        site.state = State.GENERIC;
+        site.addReason(reason);
+    }
+
+    /**
+     * Records that cache entries had to be removed or the cache had to be retried, e.g. because of
+     * an invalidated assumption or an obsolete shape.
+     */
+    public synchronized void recordInvalidation(Node cacheNode, Object key, String reason) {
+        Site site = getSite(cacheNode, key);
+        site.invalidations++;
+        site.addReason(reason);
+    }
+
+    public synchronized int getSiteCount() {
+        return sites.size();
+    }
+
+    /**
+     * Returns the number of sites in the given state.
+     */
+    public synchronized int getSiteCount(State state) {
+        int count = 0;
+        for (Site site : sites.values()) {
+            if (site.state == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized void clear() {
+        sites.clear();
+    }
+
+    /**
+     * Prints all recorded sites, generic sites first, then by the number of cached shapes.
+     */
+    public void dump(PrintWriter out) {
+        List<Site> sorted;
+        synchronized (this) {
+            sorted = new ArrayList<>(sites.size());
+            for (Site site : sites.values()) {
+                sorted.add(site.copy());
+            }
+        }
+        sorted.sort((a, b) -> {
+            int result = b.state.compareTo(a.state);
+            if (result == 0) {
+                result = Integer.compare(b.maxEntries, a.maxEntries);
+            }
+            if (result == 0) {
+                result = a.location.compareTo(b.location);
+            }
+            return result;
+        });
+        out.println(CLASS_NAME + sorted.size() + " property cache sites");
+        for (Site site : sorted) {
+            out.println(CLASS_NAME + site);
+        }
+        out.flush();
+    }
+
+    private Site getSite(Node cacheNode, Object key) {
+        CompilerAsserts.neverPartOfCompilation();
+        String kind = cacheNode.getClass().getSimpleName();
+        String location = formatLocation(cacheNode.getEncapsulatingSourceSection());
+        String keyString = String.valueOf(key);
+        String id = kind + ' ' + keyString + ' ' + location;
+        Site site = sites.get(id);
+        if (site == null) {
+            site = new Site(kind, keyString, location);
+            sites.put(id, site);
+        }
+        return site;
+    }
+
+    private static String formatLocation(SourceSection sourceSection) {
+        if (sourceSection == null || !sourceSection.isAvailable()) {
+            return "<unknown>";
+        }
+        return sourceSection.getSource().getName() + ":" + sourceSection.getStartLine() + ":" + sourceSection.getStartColumn();
+    }
+
+    private static final class Site {
+        final String kind;
+        final String key;
+        final String location;
+        State state = State.UNINITIALIZED;
+        int inserts;
+        int maxEntries;
+        int invalidations;
+        Map<String, Integer> reasons;
+
+        Site(String kind, String key, String location) {
+            this.kind = kind;
+            this.key = key;
+            this.location = location;
+        }
+
+        void addReason(String reason) {
+            if (reasons == null) {
+                reasons = new TreeMap<>();
+            }
+            reasons.merge(reason, 1, Integer::sum);
+        }
+
+        Site copy() {
+            Site copy = new Site(kind, key, location);
+            copy.state = state;
+            copy.inserts = inserts;
+            copy.maxEntries = maxEntries;
+            copy.invalidations = invalidations;
+            copy.reasons = reasons == null ? null : new TreeMap<>(reasons);
+            return copy;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(state).append(' ').append(kind).append(" '").append(key).append("' at ").append(location);
+            sb.append(" entries=").append(maxEntries).append(" inserts=").append(inserts).append(" invalidations=").append(invalidations);
+            if (reasons != null) {
+                sb.append(" reasons=").append(reasons);
+            }
+            return sb.toString();
+        }
+    }
+}
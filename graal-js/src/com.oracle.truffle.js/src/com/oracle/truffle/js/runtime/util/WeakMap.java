@@ -40,27 +40,45 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.object.HiddenKey;
-import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
-import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 
 /**
- * JavaScript WeakMap that emulates ephemeron semantics by storing the value in the key itself
- * (i.e., in a hidden property within the key object).
+ * JavaScript WeakMap that emulates ephemeron semantics by storing the value in the key itself.
+ *
+ * The values are kept in a dedicated slot of the key object ({@link JSObject#getWeakMapValues()}),
+ * so that using an object as a key does not change its shape. The slot holds a short list of
+ * {@link Entry entries} that reference their WeakMap weakly, or a {@link WeakHashMap} once the key
+ * is used in more than {@link #MAX_ENTRY_LIST_LENGTH} WeakMaps. Entries of collected WeakMaps are
+ * expunged when the list of the key is modified.
  */
 public final class WeakMap implements Map<JSObject, Object> {
-    public static final HiddenKey INVERTED_WEAK_MAP_KEY = new HiddenKey("InvertedWeakMap");
+    private static final int MAX_ENTRY_LIST_LENGTH = 8;
 
     public WeakMap() {
     }
 
+    /**
+     * Value of one WeakMap in the slot of a key.
+     */
+    static final class Entry extends WeakReference<WeakMap> {
+        Object value;
+        Entry next;
+
+        Entry(WeakMap map, Object value, Entry next) {
+            super(map);
+            this.value = value;
+            this.next = next;
+        }
+    }
+
     private static JSObject checkKey(Object key) {
         if (!(key instanceof JSObject)) {
             throw new IllegalArgumentException("key must be instanceof JSObject");
@@ -69,58 +87,141 @@ public final class WeakMap implements Map<JSObject, Object> {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<WeakMap, Object> getInvertedMap(JSObject k) {
-        return (Map<WeakMap, Object>) JSDynamicObject.getOrNull(k, INVERTED_WEAK_MAP_KEY);
+    private static WeakHashMap<WeakMap, Object> castInvertedMap(Object values) {
+        return CompilerDirectives.castExact(values, WeakHashMap.class);
     }
 
-    private static Map<WeakMap, Object> putInvertedMap(JSObject k) {
-        Map<WeakMap, Object> invertedMap = newInvertedMap();
-        JSObjectUtil.putHiddenProperty(k, INVERTED_WEAK_MAP_KEY, invertedMap);
-        return invertedMap;
+    private Entry findEntry(Entry head) {
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            if (entry.get() == this) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    public Object getValue(JSObject key) {
+        Object values = key.getWeakMapValues();
+        if (values == null) {
+            return null;
+        } else if (values instanceof Entry) {
+            Entry entry = findEntry((Entry) values);
+            return entry == null ? null : entry.value;
+        } else {
+            return castInvertedMap(values).get(this);
+        }
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    public boolean hasValue(JSObject key) {
+        Object values = key.getWeakMapValues();
+        if (values == null) {
+            return false;
+        } else if (values instanceof Entry) {
+            return findEntry((Entry) values) != null;
+        } else {
+            return castInvertedMap(values).containsKey(this);
+        }
     }
 
     @TruffleBoundary
-    public static Map<WeakMap, Object> newInvertedMap() {
-        return new WeakHashMap<>();
+    public Object putValue(JSObject key, Object value) {
+        Object values = key.getWeakMapValues();
+        if (values == null) {
+            key.setWeakMapValues(new Entry(this, value, null));
+            return null;
+        } else if (values instanceof Entry) {
+            Entry head = (Entry) values;
+            Entry prev = null;
+            int length = 0;
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                WeakMap map = entry.get();
+                if (map == this) {
+                    Object oldValue = entry.value;
+                    entry.value = value;
+                    key.setWeakMapValues(head);
+                    return oldValue;
+                } else if (map == null) {
+                    // expunge the entry of a collected WeakMap
+                    if (prev == null) {
+                        head = entry.next;
+                    } else {
+                        prev.next = entry.next;
+                    }
+                } else {
+                    prev = entry;
+                    length++;
+                }
+            }
+            if (length < MAX_ENTRY_LIST_LENGTH) {
+                key.setWeakMapValues(new Entry(this, value, head));
+            } else {
+                WeakHashMap<WeakMap, Object> invertedMap = new WeakHashMap<>();
+                for (Entry entry = head; entry != null; entry = entry.next) {
+                    WeakMap map = entry.get();
+                    if (map != null) {
+                        invertedMap.put(map, entry.value);
+                    }
+                }
+                invertedMap.put(this, value);
+                key.setWeakMapValues(invertedMap);
+            }
+            return null;
+        } else {
+            return castInvertedMap(values).put(this, value);
+        }
     }
 
     @TruffleBoundary
-    public Map<WeakMap, Object> newInvertedMapWithEntry(JSObject key, Object value) {
-        assert getInvertedMap(key) == null;
-        Map<WeakMap, Object> map = new WeakHashMap<>();
-        map.put(this, value);
-        return map;
+    public Object removeValue(JSObject key) {
+        Object values = key.getWeakMapValues();
+        if (values == null) {
+            return null;
+        } else if (values instanceof Entry) {
+            Entry head = (Entry) values;
+            Entry prev = null;
+            Object oldValue = null;
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                WeakMap map = entry.get();
+                if (map == this || map == null) {
+                    if (map == this) {
+                        oldValue = entry.value;
+                    }
+                    if (prev == null) {
+                        head = entry.next;
+                    } else {
+                        prev.next = entry.next;
+                    }
+                } else {
+                    prev = entry;
+                }
+            }
+            key.setWeakMapValues(head);
+            return oldValue;
+        } else {
+            return castInvertedMap(values).remove(this);
+        }
     }
 
     @Override
     public boolean containsKey(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? false : invertedMap.containsKey(this);
+        return hasValue(checkKey(key));
     }
 
     @Override
     public Object get(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? null : invertedMap.get(this);
+        return getValue(checkKey(key));
     }
 
     @Override
     public Object put(JSObject key, Object value) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        if (invertedMap == null) {
-            invertedMap = putInvertedMap(k);
-        }
-        return invertedMap.put(this, value);
+        return putValue(checkKey(key), value);
     }
 
     @Override
     public Object remove(Object key) {
-        JSObject k = checkKey(key);
-        Map<WeakMap, Object> invertedMap = getInvertedMap(k);
-        return invertedMap == null ? null : invertedMap.remove(this);
+        return removeValue(checkKey(key));
     }
 
     @Override
@@ -0,0 +1,14 @@
+#include <v8.h>
+#include <node.h>
+
+void Length(const v8::FunctionCallbackInfo<v8::Value>& args) {
+  args.GetReturnValue().Set(args.Length());
+}
+
+void Initialize(v8::Local<v8::Object> target,
+                v8::Local<v8::Value> module,
+                void* data) {
+  NODE_SET_METHOD(target, "length", Length);
+}
+
+NODE_MODULE(NODE_GYP_MODULE_NAME, Initialize)
@@ -0,0 +1,53 @@
+// Measures the round trip of calls of a C++ function with a varying
+// number of arguments of a given type.
+// Reports n of calls per second.
+'use strict';
+
+const assert = require('assert');
+const common = require('../../common.js');
+
+let binding;
+try {
+  binding = require(`./build/${common.buildType}/binding`);
+} catch {
+  console.error('napi/function_call_args/index.js Binding failed to load');
+  process.exit(0);
+}
+const cxx = binding.length;
+
+const bench = common.createBenchmark(main, {
+  type: ['number', 'boolean', 'string', 'object', 'typedarray', 'mixed'],
+  argc: [0, 1, 3, 6, 8, 12, 16, 24],
+  n: [1e6, 1e7]
+});
+
+function createArgument(type, i) {
+  switch (type) {
+    case 'number':
+      return i + 0.5;
+    case 'boolean':
+      return (i & 1) === 0;
+    case 'string':
+      return `argument${i}`;
+    case 'object':
+      return { i };
+    case 'typedarray':
+      return new Uint8Array(i + 1);
+    case 'mixed':
+      return createArgument(['number', 'boolean', 'string', 'object',
+                             'typedarray'][i % 5], i);
+  }
+}
+
+function main({ n, type, argc }) {
+  const args = [];
+  for (let i = 0; i < argc; i++) {
+    args.push(createArgument(type, i));
+  }
+  assert.strictEqual(cxx(...args), argc);
+  bench.start();
+  for (let i = 0; i < n; i++) {
+    cxx(...args);
+  }
+  bench.end(n);
+}
@@ -94,6 +94,7 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("executeFunction4", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction4),
     CALLBACK("executeFunction5", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction5),
     CALLBACK("executeFunction6", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction6),
+    CALLBACK("executeFunctionN", "(ILjava/lang/Object;ILjava/lang/Object;[Ljava/lang/Object;[ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunctionN),
     CALLBACK("executeAccessorGetter", "(JLjava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", &GraalExecuteAccessorGetter),
     CALLBACK("executeAccessorSetter", "(JLjava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;)V", &GraalExecuteAccessorSetter),
     CALLBACK("executePropertyHandlerGetter", "(JLjava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;Z)Ljava/lang/Object;", &GraalExecutePropertyHandlerGetter),
@@ -104,6 +105,7 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("executePropertyHandlerDefiner", "(JLjava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;I[Ljava/lang/Object;Ljava/lang/Object;Z)Ljava/lang/Object;", &GraalExecutePropertyHandlerDefiner),
     CALLBACK("executePropertyHandlerDescriptor", "(JLjava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;Z)Ljava/lang/Object;", &GraalExecutePropertyHandlerDescriptor),
     CALLBACK("deallocate", "(J)V", &GraalDeallocate),
+    CALLBACK("deallocateAll", "([JI)V", &GraalDeallocateAll),
     CALLBACK("weakCallback", "(JJI)V", &GraalWeakCallback),
     CALLBACK("deleterCallback", "(JJIJ)V", &GraalDeleterCallback),
     CALLBACK("notifyGCCallbacks", "(Z)V", &GraalNotifyGCCallbacks),
@@ -386,6 +388,36 @@ jobject GraalExecuteFunction6(JNIEnv* env, jclass nativeAccess, jint id,
     return GraalExecuteFunction(env, isolate, id, callbackArgs, java_context);
 }
 
+// Keep in sync with ExecuteNativeFunctionNode.MAX_BATCHED_ARG_COUNT
+static const int MAX_BATCHED_ARGUMENT_COUNT = 16;
+
+jobject GraalExecuteFunctionN(JNIEnv* env, jclass nativeAccess, jint id,
+        jobject this_object, jint this_type, jobject new_target,
+        jobjectArray arguments, jintArray argument_types,
+        jobject java_context) {
+    GraalIsolate* isolate = CurrentIsolateChecked();
+    isolate->ResetSharedBuffer();
+    int argc = env->GetArrayLength(arguments);
+    if (argc > MAX_BATCHED_ARGUMENT_COUNT) {
+        fprintf(stderr, "Too many arguments passed to executeFunctionN: %d\n", argc);
+        abort();
+    }
+    std::array<GraalValue*, MAX_BATCHED_ARGUMENT_COUNT + 1> values;
+    std::array<jint, MAX_BATCHED_ARGUMENT_COUNT> types;
+    char memory[MAX_BATCHED_ARGUMENT_COUNT + 2][MAX_SIZE];
+    env->GetIntArrayRegion(argument_types, 0, argc, types.data());
+    v8::HandleScope scope(reinterpret_cast<v8::Isolate*> (isolate));
+    for (int i = 0; i < argc; i++) {
+        jobject java_value = env->GetObjectArrayElement(arguments, i);
+        values[1 + i] = GraalValue::FromJavaObject(isolate, java_value, types[i], true, memory[i]);
+    }
+    GraalValue* graal_this = GraalValue::FromJavaObject(isolate, this_object, this_type, false, memory[argc]);
+    GraalValue* graal_new_target = AllocateNewTarget(isolate, new_target, memory[argc + 1]);
+    GraalValue* graal_data = isolate->GetFunctionTemplateData(id);
+    GraalFunctionCallbackArguments callbackArgs(isolate, graal_this, graal_new_target, graal_data, values.data(), argc, new_target != NULL, false);
+    return GraalExecuteFunction(env, isolate, id, callbackArgs, java_context);
+}
+
 jobject GraalExecuteAccessorGetter(JNIEnv* env, jclass nativeAccess, jlong pointer, jobject holder, jobject name, jobjectArray arguments, jobject data) {
     GraalIsolate* isolate = CurrentIsolateChecked();
     v8::HandleScope scope(reinterpret_cast<v8::Isolate*> (isolate));
@@ -609,6 +641,14 @@ void GraalDeallocate(JNIEnv* env, jclass nativeAccess, jlong pointer) {
     free((void*) pointer);
 }
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count) {
+    jlong* elements = (jlong*) env->GetPrimitiveArrayCritical(pointers, nullptr);
+    for (int i = 0; i < count; i++) {
+        free((void*) elements[i]);
+    }
+    env->ReleasePrimitiveArrayCritical(pointers, elements, JNI_ABORT);
+}
+
 void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint type) {
     if (type == 0) {
         fprintf(stderr, "GraalWeakCallback (type == 0) not supported anymore!\n");
@@ -98,6 +98,11 @@ jobject GraalExecuteFunction6(JNIEnv* env, jclass nativeAccess, jint id,
         jobject argument6, jint argument6_type,
         jobject java_context);
 
+jobject GraalExecuteFunctionN(JNIEnv* env, jclass nativeAccess, jint id,
+        jobject this_object, jint this_type, jobject new_target,
+        jobjectArray arguments, jintArray argument_types,
+        jobject java_context);
+
 jobject GraalExecuteAccessorGetter(JNIEnv* env, jclass nativeAccess, jlong pointer, jobject holder, jobject name, jobjectArray arguments, jobject data);
 
 void GraalExecuteAccessorSetter(JNIEnv* env, jclass nativeAccess, jlong pointer, jobject holder, jobject name, jobjectArray arguments, jobject data);
@@ -118,6 +123,8 @@ jobject GraalExecutePropertyHandlerDescriptor(JNIEnv* env, jclass nativeAccess,
 
 void GraalDeallocate(JNIEnv* env, jclass nativeAccess, jlong pointer);
 
+void GraalDeallocateAll(JNIEnv* env, jclass nativeAccess, jlongArray pointers, jint count);
+
 void GraalWeakCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint type);
 
 void GraalDeleterCallback(JNIEnv* env, jclass nativeAccess, jlong callback, jlong data, jint length, jlong deleterData);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,21 +40,40 @@
  */
 package com.oracle.truffle.trufflenode;
 
-import java.lang.ref.Cleaner;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class responsible for the deallocation of the external memory segments associated with Java
  * objects. A direct {@code ByteBuffer} created by a JNI call is built on top of an existing memory
  * segment whose life-cycle may be associated with the created buffer.
+ *
+ * Collected buffers are taken from a reference queue in batches and their memory segments are
+ * released by a single JNI call per batch. The queue is shared by all isolates (including workers)
+ * and is drained by a single daemon thread. The drainer thread stops when it is interrupted; the
+ * next registration starts a new one. The size of the registered memory segments that have not
+ * been released yet is tracked per isolate; when it exceeds a threshold, a garbage collection is
+ * requested so that the unreachable buffers are discovered in time. The request is passed to the
+ * drainer thread through the queue, so the registering thread never waits for the collection.
  */
 final class Deallocator {
 
-    private final Cleaner cleaner;
+    private static final int BATCH_SIZE = 256;
+    private static final long MIN_GC_THRESHOLD = Long.getLong("truffle.node.js.externalMemoryGCThreshold", 64L << 20);
 
-    Deallocator() {
-        this.cleaner = Cleaner.create();
-    }
+    private static final ReferenceQueue<ByteBuffer> QUEUE = new ReferenceQueue<>();
+    /** Keeps the references reachable until they are enqueued. */
+    private static final Set<ExternalMemoryReference> REFERENCES = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean DRAINER_RUNNING = new AtomicBoolean();
+
+    private final AtomicLong externalMemory = new AtomicLong();
+    private volatile long gcThreshold = MIN_GC_THRESHOLD;
 
     /**
      * Registers the given {@code buffer} for deallocation.
@@ -63,9 +82,102 @@ final class Deallocator {
      * @param pointer pointer to the memory that should be deallocated.
      */
     public void register(ByteBuffer buffer, long pointer) {
-        cleaner.register(buffer, () -> {
-            NativeAccess.deallocate(pointer);
-        });
+        int size = buffer.capacity();
+        REFERENCES.add(new ExternalMemoryReference(buffer, pointer, size, this));
+        long current = externalMemory.addAndGet(size);
+        startDrainer();
+        if (current > gcThreshold) {
+            // back-pressure: let the GC discover the unreachable buffers
+            gcThreshold = Math.max(MIN_GC_THRESHOLD, 2 * current);
+            new GCRequest().enqueue();
+        }
+    }
+
+    /**
+     * Returns the size of the registered memory segments that have not been deallocated yet.
+     */
+    public long getExternalMemory() {
+        return externalMemory.get();
+    }
+
+    private void released(long size) {
+        long current = externalMemory.addAndGet(-size);
+        if (gcThreshold > MIN_GC_THRESHOLD && gcThreshold > 4 * current) {
+            gcThreshold = Math.max(MIN_GC_THRESHOLD, 2 * current);
+        }
+    }
+
+    private static void startDrainer() {
+        if (!DRAINER_RUNNING.get() && DRAINER_RUNNING.compareAndSet(false, true)) {
+            Thread thread = new Thread(Deallocator::run, "graal-nodejs-deallocator");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private static void run() {
+        long[] pointers = new long[BATCH_SIZE];
+        try {
+            while (true) {
+                drain(QUEUE.remove(), pointers);
+            }
+        } catch (InterruptedException iex) {
+            // stop signal
+        } finally {
+            DRAINER_RUNNING.set(false);
+        }
+    }
+
+    /**
+     * Deallocates the memory of the given (already dequeued) reference and of all references
+     * available in the queue, and performs the garbage collections requested meanwhile.
+     */
+    private static void drain(Reference<? extends ByteBuffer> first, long[] pointers) {
+        Reference<? extends ByteBuffer> ref = first;
+        boolean gcRequested = false;
+        int count = 0;
+        do {
+            if (ref instanceof GCRequest) {
+                gcRequested = true;
+                continue;
+            }
+            ExternalMemoryReference memoryRef = (ExternalMemoryReference) ref;
+            REFERENCES.remove(memoryRef);
+            pointers[count++] = memoryRef.pointer;
+            memoryRef.owner.released(memoryRef.size);
+            if (count == pointers.length) {
+                NativeAccess.deallocateAll(pointers, count);
+                count = 0;
+            }
+        } while ((ref = QUEUE.poll()) != null);
+        if (count != 0) {
+            NativeAccess.deallocateAll(pointers, count);
+        }
+        if (gcRequested) {
+            System.gc();
+        }
+    }
+
+    private static final class ExternalMemoryReference extends PhantomReference<ByteBuffer> {
+        final long pointer;
+        final int size;
+        final Deallocator owner;
+
+        ExternalMemoryReference(ByteBuffer buffer, long pointer, int size, Deallocator owner) {
+            super(buffer, QUEUE);
+            this.pointer = pointer;
+            this.size = size;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Enqueued explicitly (it has no referent) to ask the drainer thread for a garbage collection.
+     */
+    private static final class GCRequest extends PhantomReference<ByteBuffer> {
+        GCRequest() {
+            super(null, QUEUE);
+        }
     }
 
 }
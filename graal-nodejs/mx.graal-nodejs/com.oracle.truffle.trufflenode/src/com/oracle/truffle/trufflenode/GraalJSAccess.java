@@ -275,7 +275,6 @@ import com.oracle.truffle.trufflenode.serialization.Deserializer;
 import com.oracle.truffle.trufflenode.serialization.Serializer;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBindings;
-import com.oracle.truffle.trufflenode.threading.SharedMemMessagingManager;
 
 /**
  * Entry point for any access to the JavaScript engine from the native code.
@@ -3420,7 +3419,9 @@ public final class GraalJSAccess {
 
     public void isolateMeasureMemory(Object resolver, boolean detailed) {
         Runtime runtime = Runtime.getRuntime();
-        double total = runtime.totalMemory();
+        // memory of external array buffers (not released yet) is accounted as well
+        double external = deallocator.getExternalMemory();
+        double total = runtime.totalMemory() + external;
         double used = total - runtime.freeMemory();
 
         JSRealm realm = getCurrentRealm();
@@ -4253,11 +4254,10 @@ public final class GraalJSAccess {
         currentMessagePortData = null;
     }
 
-    public void setCurrentMessagePortData(JSExternalObject nativeMessagePortData) {
-        assert nativeMessagePortData != null;
+    public void setCurrentMessagePortData(JavaMessagePortData messagePortData) {
+        assert messagePortData != null;
         assert currentMessagePortData == null;
-        currentMessagePortData = SharedMemMessagingManager.getJavaMessagePortDataFor(nativeMessagePortData);
-        assert currentMessagePortData != null;
+        currentMessagePortData = messagePortData;
         currentMessagePortData.encodingBegin();
     }
 
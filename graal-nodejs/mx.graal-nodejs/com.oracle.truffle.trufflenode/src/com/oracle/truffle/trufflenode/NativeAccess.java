@@ -109,6 +109,12 @@ public final class NativeAccess {
                     Object argument6, int argument6Type,
                     Object context);
 
+    public static native Object executeFunctionN(
+                    int id,
+                    Object thisObject, int thisType, Object newTarget,
+                    Object[] arguments, int[] argumentTypes,
+                    Object context);
+
     public static native Object executeAccessorGetter(long functionPointer, Object holder, Object propertyName, Object[] arguments, Object additionalData);
 
     public static native void executeAccessorSetter(long functionPointer, Object holder, Object propertyName, Object[] arguments, Object additionalData);
@@ -130,6 +136,8 @@ public final class NativeAccess {
 
     public static native void deallocate(long pointer);
 
+    public static native void deallocateAll(long[] pointers, int count);
+
     public static native void weakCallback(long callback, long data, int type);
 
     public static native void deleterCallback(long callback, long data, int length, long deleterData);
@@ -41,8 +41,6 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -63,8 +61,6 @@ import com.oracle.truffle.trufflenode.node.ArrayBufferGetContentsNode;
 
 public abstract class NIOBufferAccessNode extends JSBuiltinNode {
 
-    protected static final Charset utf8 = StandardCharsets.UTF_8;
-
     @Child protected ArrayBufferViewGetByteLengthNode getLenNode;
     @Child private ArrayBufferGetContentsNode interopArrayBufferGetContents;
 
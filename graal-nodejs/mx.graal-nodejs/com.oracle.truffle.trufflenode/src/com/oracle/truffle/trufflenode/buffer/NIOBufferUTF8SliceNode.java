@@ -41,17 +41,10 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.BranchProfile;
-import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.Strings;
@@ -75,20 +68,12 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(JSDynamicObject target, int start, int end) {
-        try {
-            return doSlice(target, start, end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, start, end);
     }
 
     @Specialization(guards = {"accept(target)"})
     public Object slice(JSDynamicObject target, double start, double end) {
-        try {
-            return doSlice(target, (int) start, (int) end);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, start, end);
-        }
+        return doSlice(target, (int) start, (int) end);
     }
 
     @Specialization
@@ -107,7 +92,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
         return JSFunction.call(getNativeUtf8Slice(), target, new Object[]{start, end});
     }
 
-    private Object doSlice(JSDynamicObject target, int start, int end) throws CharacterCodingException {
+    private Object doSlice(JSDynamicObject target, int start, int end) {
         JSArrayBufferObject arrayBuffer = getArrayBuffer(target);
         ByteBuffer rawBuffer = getDirectByteBuffer(arrayBuffer);
         if (rawBuffer == null) {
@@ -135,17 +120,7 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
             errorBranch.enter();
             outOfBoundsFail();
         }
-        ByteBuffer data = Boundaries.byteBufferSlice(rawBuffer, byteOffset + start, byteOffset + end);
-        return doDecode(data);
-    }
-
-    @TruffleBoundary
-    private static TruffleString doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return Strings.fromJavaString(decoded.toString());
+        return UTF8Transcoder.decode(rawBuffer, byteOffset + start, byteOffset + actualEnd);
     }
 
     private static boolean oobCheck(int start, int end) {
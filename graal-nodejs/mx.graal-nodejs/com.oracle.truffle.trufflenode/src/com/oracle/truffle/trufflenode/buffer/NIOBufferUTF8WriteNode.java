@@ -41,13 +41,7 @@
 package com.oracle.truffle.trufflenode.buffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CoderResult;
-import java.nio.charset.CodingErrorAction;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
@@ -58,7 +52,6 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
@@ -69,7 +62,6 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
 
     @Child protected JSToIntegerAsIntNode toInt;
 
-    protected final BranchProfile nativePath = BranchProfile.create();
     protected final BranchProfile errorBranch = BranchProfile.create();
     protected final BranchProfile interopBranch = BranchProfile.create();
 
@@ -84,38 +76,24 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
 
     @Specialization(guards = "accept(target)")
     public Object write(JSDynamicObject target, TruffleString str, int destOffset, int bytes) {
-        try {
-            return doWrite(target, str, destOffset, bytes);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, destOffset, bytes);
     }
 
     @Specialization(guards = {"accept(target)", "isUndefined(bytes)"})
+    @SuppressWarnings("unused")
     public Object writeDefaultOffset(JSDynamicObject target, TruffleString str, int destOffset, Object bytes) {
-        try {
-            return doWrite(target, str, destOffset, getBytes(str).length);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, destOffset, Integer.MAX_VALUE);
     }
 
     @Specialization(guards = {"accept(target)", "isUndefined(destOffset)", "isUndefined(bytes)"})
+    @SuppressWarnings("unused")
     public Object writeDefaultValues(JSDynamicObject target, TruffleString str, Object destOffset, Object bytes) {
-        try {
-            return doWrite(target, str, 0, getBytes(str).length);
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, 0, Integer.MAX_VALUE);
     }
 
     @Specialization(guards = "accept(target)")
     public Object write(JSDynamicObject target, TruffleString str, double destOffset, double bytes) {
-        try {
-            return doWrite(target, str, toInt.executeInt(destOffset), toInt.executeInt(bytes));
-        } catch (CharacterCodingException e) {
-            return doNativeFallback(target, str, destOffset, bytes);
-        }
+        return doWrite(target, str, toInt.executeInt(destOffset), toInt.executeInt(bytes));
     }
 
     @Specialization
@@ -129,12 +107,7 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         throw Errors.createTypeErrorArrayBufferViewExpected();
     }
 
-    private Object doNativeFallback(JSDynamicObject target, TruffleString str, Object destOffset, Object bytes) {
-        nativePath.enter();
-        return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
-    }
-
-    private int doWrite(JSDynamicObject target, TruffleString str, int destOffset, int bytes) throws CharacterCodingException {
+    private int doWrite(JSDynamicObject target, TruffleString str, int destOffset, int bytes) {
         JSArrayBufferObject arrayBuffer = getArrayBuffer(target);
         int bufferOffset = getOffset(target);
         int bufferLen = getLength(target);
@@ -150,9 +123,9 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
             interopBuffer = true;
             rawBuffer = interopArrayBufferGetContents(arrayBuffer);
         }
-        int destLimit = Math.min(bufferLen, destOffset + bytes);
+        int destLimit = destOffset + Math.min(bytes, bufferLen - destOffset);
         ByteBuffer buffer = Boundaries.byteBufferSlice(rawBuffer, bufferOffset + destOffset, bufferOffset + destLimit);
-        doEncode(str, buffer);
+        UTF8Transcoder.encode(str, buffer);
         if (interopBuffer) {
             // Write the data to the original interop buffer
             InteropLibrary interop = InteropLibrary.getUncached(arrayBuffer);
@@ -167,30 +140,4 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         return buffer.position();
     }
 
-    @TruffleBoundary
-    private static CoderResult doEncode(TruffleString str, ByteBuffer buffer) throws CharacterCodingException {
-        CharsetEncoder encoder = utf8.newEncoder();
-        encoder.onMalformedInput(CodingErrorAction.REPORT);
-        encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer cb = CharBuffer.wrap(Strings.toJavaString(str));
-        CoderResult res = encoder.encode(cb, buffer, true);
-
-        if (res.isUnderflow()) {
-            encoder.encode(cb, buffer, true);
-            res = encoder.flush(buffer);
-        }
-
-        assert res.isError() == (res.isMalformed() || res.isUnmappable());
-        if (res.isError()) {
-            res.throwException();
-        }
-
-        return res;
-    }
-
-    @TruffleBoundary
-    private static byte[] getBytes(TruffleString str) {
-        return Strings.toJavaString(str).getBytes(utf8);
-    }
-
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.buffer;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Strings;
+
+/**
+ * UTF-8 transcoding between {@link TruffleString}s and the contents of (array) buffers, following
+ * the semantics of V8's {@code String::WriteUtf8} and {@code String::NewFromUtf8}: unpaired
+ * surrogates are encoded as U+FFFD, a character is only written if it fits completely, and every
+ * maximal subpart of an ill-formed byte sequence is decoded as one U+FFFD (WHATWG Encoding
+ * Standard).
+ */
+final class UTF8Transcoder {
+
+    private static final long NON_ASCII_MASK = 0x8080808080808080L;
+    private static final char REPLACEMENT_CHARACTER = '\ufffd';
+
+    private UTF8Transcoder() {
+    }
+
+    /**
+     * Encodes as many (complete) characters of {@code str} as fit between the position and the
+     * limit of {@code buffer}. Advances the position of the buffer by the number of bytes written.
+     */
+    @TruffleBoundary
+    static void encode(TruffleString str, ByteBuffer buffer) {
+        if (str.getCodeRangeUncached(TruffleString.Encoding.UTF_16) == TruffleString.CodeRange.BROKEN) {
+            encodeBroken(str, buffer);
+            return;
+        }
+        // well-formed UTF-16: let TruffleString transcode it (no copy for compacted ASCII strings)
+        TruffleString utf8Str = str.switchEncodingUncached(TruffleString.Encoding.UTF_8);
+        InternalByteArray bytes = utf8Str.getInternalByteArrayUncached(TruffleString.Encoding.UTF_8);
+        int length = bytes.getLength();
+        int copyLength = Math.min(length, buffer.remaining());
+        if (copyLength < length) {
+            // do not write a partial character
+            while (copyLength > 0 && isContinuationByte(bytes.get(copyLength))) {
+                copyLength--;
+            }
+        }
+        buffer.put(bytes.getArray(), bytes.getOffset(), copyLength);
+    }
+
+    private static void encodeBroken(TruffleString str, ByteBuffer buffer) {
+        int length = Strings.length(str);
+        for (int i = 0; i < length; i++) {
+            char c = Strings.charAt(str, i);
+            int codePoint = c;
+            if (Character.isSurrogate(c)) {
+                char next = i + 1 < length ? Strings.charAt(str, i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                    codePoint = Character.toCodePoint(c, next);
+                } else {
+                    codePoint = REPLACEMENT_CHARACTER;
+                }
+            }
+            if (!putCodePoint(buffer, codePoint)) {
+                return;
+            }
+            if (codePoint > Character.MAX_VALUE) {
+                i++;
+            }
+        }
+    }
+
+    private static boolean putCodePoint(ByteBuffer buffer, int codePoint) {
+        if (codePoint < 0x80) {
+            if (buffer.remaining() < 1) {
+                return false;
+            }
+            buffer.put((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            if (buffer.remaining() < 2) {
+                return false;
+            }
+            buffer.put((byte) (0xc0 | (codePoint >>> 6)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+        } else if (codePoint < 0x10000) {
+            if (buffer.remaining() < 3) {
+                return false;
+            }
+            buffer.put((byte) (0xe0 | (codePoint >>> 12)));
+            buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3f)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+        } else {
+            if (buffer.remaining() < 4) {
+                return false;
+            }
+            buffer.put((byte) (0xf0 | (codePoint >>> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3f)));
+            buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3f)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+        }
+        return true;
+    }
+
+    private static boolean isContinuationByte(byte b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    /**
+     * Decodes the bytes between {@code from} (inclusive) and {@code to} (exclusive) of
+     * {@code buffer}. Does not modify the position or the limit of the buffer.
+     */
+    @TruffleBoundary
+    static TruffleString decode(ByteBuffer buffer, int from, int to) {
+        int asciiEnd = skipAscii(buffer, from, to);
+        if (asciiEnd == to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            // ASCII is a subset of Latin-1 => compact representation of the UTF-16 string
+            return TruffleString.fromByteArrayUncached(bytes, TruffleString.Encoding.ISO_8859_1, false).switchEncodingUncached(TruffleString.Encoding.UTF_16);
+        }
+        // every byte decodes to at most one UTF-16 code unit, except for 4-byte sequences
+        char[] chars = new char[to - from];
+        int charCount = 0;
+        for (int i = from; i < asciiEnd; i++) {
+            chars[charCount++] = (char) buffer.get(i);
+        }
+        int i = asciiEnd;
+        while (i < to) {
+            int b = buffer.get(i) & 0xff;
+            if (b < 0x80) {
+                int runEnd = skipAscii(buffer, i, to);
+                for (; i < runEnd; i++) {
+                    chars[charCount++] = (char) buffer.get(i);
+                }
+                continue;
+            }
+            int needed;
+            int codePoint;
+            int lowerBoundary = 0x80;
+            int upperBoundary = 0xbf;
+            if (b >= 0xc2 && b <= 0xdf) {
+                needed = 1;
+                codePoint = b & 0x1f;
+            } else if (b >= 0xe0 && b <= 0xef) {
+                needed = 2;
+                codePoint = b & 0x0f;
+                if (b == 0xe0) {
+                    lowerBoundary = 0xa0;
+                } else if (b == 0xed) {
+                    upperBoundary = 0x9f;
+                }
+            } else if (b >= 0xf0 && b <= 0xf4) {
+                needed = 3;
+                codePoint = b & 0x07;
+                if (b == 0xf0) {
+                    lowerBoundary = 0x90;
+                } else if (b == 0xf4) {
+                    upperBoundary = 0x8f;
+                }
+            } else {
+                chars[charCount++] = REPLACEMENT_CHARACTER;
+                i++;
+                continue;
+            }
+            i++;
+            boolean complete = true;
+            for (int k = 0; k < needed; k++) {
+                int c = i < to ? buffer.get(i) & 0xff : -1;
+                if (c < lowerBoundary || c > upperBoundary) {
+                    // the offending byte is not consumed, it starts the next sequence
+                    complete = false;
+                    break;
+                }
+                lowerBoundary = 0x80;
+                upperBoundary = 0xbf;
+                codePoint = (codePoint << 6) | (c & 0x3f);
+                i++;
+            }
+            if (!complete) {
+                chars[charCount++] = REPLACEMENT_CHARACTER;
+            } else if (codePoint > Character.MAX_VALUE) {
+                chars[charCount++] = Character.highSurrogate(codePoint);
+                chars[charCount++] = Character.lowSurrogate(codePoint);
+            } else {
+                chars[charCount++] = (char) codePoint;
+            }
+        }
+        return Strings.fromCharArray(chars, 0, charCount);
+    }
+
+    /**
+     * Returns the index of the first non-ASCII byte between {@code from} and {@code to}, or
+     * {@code to} if there is none. Checks 8 bytes at a time.
+     */
+    private static int skipAscii(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        while (i + Long.BYTES <= to && (buffer.getLong(i) & NON_ASCII_MASK) == 0) {
+            i += Long.BYTES;
+        }
+        while (i < to && buffer.get(i) >= 0) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -44,6 +44,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.source.Source;
@@ -79,9 +80,16 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
     private final ConditionProfile isTemplate = ConditionProfile.createBinaryProfile();
     private final ConditionProfile eightOrLessArgs = ConditionProfile.createBinaryProfile();
     private final ConditionProfile argumentLengthTwo = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile batchedArgs = ConditionProfile.createBinaryProfile();
 
     private static final int IMPLICIT_ARG_COUNT = 2;
     private static final int EXPLICIT_ARG_COUNT = 6;
+    /**
+     * Maximum number of arguments passed to {@link NativeAccess#executeFunctionN}. Every argument
+     * occupies at most 8 bytes of the (128 bytes large) shared buffer. Keep in sync with
+     * MAX_BATCHED_ARGUMENT_COUNT in callbacks.cc.
+     */
+    private static final int MAX_BATCHED_ARG_COUNT = 16;
     @Children private final ValueTypeNode[] valueTypeNodes;
     @Children private final FlattenNode[] flattenNodes;
 
@@ -96,8 +104,8 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
         this.context = context;
         this.isNew = isNew;
         this.isNewTarget = isNewTarget;
-        this.valueTypeNodes = new ValueTypeNode[IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT];
-        this.flattenNodes = new FlattenNode[EXPLICIT_ARG_COUNT];
+        this.valueTypeNodes = new ValueTypeNode[IMPLICIT_ARG_COUNT + MAX_BATCHED_ARG_COUNT];
+        this.flattenNodes = new FlattenNode[MAX_BATCHED_ARG_COUNT];
         this.getFunctionTemplateNode = PropertyGetNode.createGetHidden(GraalJSAccess.FUNCTION_TEMPLATE_KEY, context);
     }
 
@@ -221,12 +229,37 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
                     }
                 }
             }
+        } else if (batchedArgs.profile(arguments.length <= IMPLICIT_ARG_COUNT + MAX_BATCHED_ARG_COUNT + offset)) {
+            result = executeFunctionBatched(templateId, thisObject, newTarget, arguments, offset, realm, graalAccess);
         } else {
             result = executeFunction(templateId, arguments, realm);
         }
         return graalAccess.correctReturnValue(result);
     }
 
+    /**
+     * Passes more than {@link #EXPLICIT_ARG_COUNT} arguments together with their (per call site
+     * specialized) value types, so that the native side does not have to call back into Java to
+     * determine the type of every argument.
+     */
+    @ExplodeLoop
+    private Object executeFunctionBatched(int templateId, Object thisObject, Object newTarget, Object[] arguments, int offset, JSRealm realm, GraalJSAccess graalAccess) {
+        int thisType = getValueType(0, thisObject);
+        int argumentCount = arguments.length - IMPLICIT_ARG_COUNT - offset;
+        Object[] batchedArguments = new Object[argumentCount];
+        int[] batchedArgumentTypes = new int[argumentCount];
+        graalAccess.resetSharedBuffer();
+        for (int i = 0; i < MAX_BATCHED_ARG_COUNT; i++) {
+            if (i >= argumentCount) {
+                break;
+            }
+            Object argument = flatten(i, arguments[IMPLICIT_ARG_COUNT + offset + i]);
+            batchedArguments[i] = argument;
+            batchedArgumentTypes[i] = getValueType(IMPLICIT_ARG_COUNT + i, argument);
+        }
+        return executeFunctionN(templateId, thisObject, thisType, newTarget, batchedArguments, batchedArgumentTypes, realm);
+    }
+
     private void objectTemplateInstantiate(VirtualFrame frame, JSDynamicObject thisObject, JSRealm realm, ObjectTemplate instanceTemplate, GraalJSAccess graalAccess) {
         if (USE_TEMPLATE_NODES && !context.isMultiContext()) {
             if (instanceTemplateNode == null) {
@@ -368,6 +401,13 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
                         argument5, argument5Type, argument6, argument6Type, realm);
     }
 
+    @CompilerDirectives.TruffleBoundary
+    private static Object executeFunctionN(int templateId, Object thisObject, int thisType, Object newTarget,
+                    Object[] arguments, int[] argumentTypes,
+                    JSRealm realm) {
+        return NativeAccess.executeFunctionN(templateId, thisObject, thisType, newTarget, arguments, argumentTypes, realm);
+    }
+
     public static class NativeFunctionRootNode extends JavaScriptRootNode {
         @Child private JavaScriptNode node;
         private final JSContext context;
@@ -73,8 +73,10 @@ import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSString;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -331,11 +333,16 @@ public class Deserializer {
 
     private JSDynamicObject readJSArrayBuffer(JSContext context, JSRealm realm) {
         int byteLength = readVarInt();
-        JSDynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, realm, byteLength);
-        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
-        for (int i = 0; i < byteLength; i++) {
-            byteBuffer.put(i, buffer.get());
+        if (buffer.remaining() < byteLength) {
+            throw underflowError();
         }
+        JSDynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, realm, byteLength);
+        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+        byteBuffer.clear();
+        ByteBuffer contents = buffer.duplicate();
+        contents.limit(contents.position() + byteLength);
+        byteBuffer.put(contents);
+        buffer.position(buffer.position() + byteLength);
         assignId(arrayBuffer);
         return (peekTag() == SerializationTag.ARRAY_BUFFER_VIEW) ? readJSArrayBufferView(context, realm, arrayBuffer) : arrayBuffer;
     }
@@ -343,7 +350,16 @@ public class Deserializer {
     private JSDynamicObject readJSObject(JSContext context, JSRealm realm) {
         JSDynamicObject object = JSOrdinary.create(context, realm);
         assignId(object);
-        int read = readJSObjectProperties(realm, object, SerializationTag.END_JS_OBJECT);
+        SerializationTag tag;
+        int read = 0;
+        while ((tag = readTag()) != SerializationTag.END_JS_OBJECT) {
+            read++;
+            Object key = JSRuntime.toPropertyKey(readValue(realm, tag));
+            Object value = readValue(realm);
+            // a fresh ordinary object has no setters or non-writable properties, so the
+            // property can be added directly (following the cached shape transitions)
+            JSObjectUtil.defineDataProperty(context, object, key, value, JSAttributes.getDefault());
+        }
         int expected = readVarInt();
         if (read != expected) {
             throw Errors.createError("unexpected number of properties");
@@ -402,16 +418,54 @@ public class Deserializer {
 
     private JSDynamicObject readDenseArray(JSContext context, JSRealm realm) {
         int length = readVarInt();
-        Object[] elements = new Object[length];
-        JSDynamicObject array = JSArray.createConstantObjectArray(context, realm, elements);
-        assignId(array);
-        List<Integer> holes = new ArrayList<>();
-        for (int i = 0; i < length; i++) {
-            SerializationTag tag = readTag();
-            if (tag == SerializationTag.THE_HOLE) {
-                holes.add(i);
+        // The array gets its ID before any of its elements. Leading numbers cannot refer to the
+        // array, so they are read into primitive storage before the array is created.
+        int id = nextId++;
+        int[] intElements = null;
+        double[] doubleElements = null;
+        int index = 0;
+        SerializationTag tag = null;
+        for (; index < length; index++) {
+            tag = readTag();
+            if (tag == SerializationTag.INT32 && doubleElements == null) {
+                if (intElements == null) {
+                    intElements = new int[length];
+                }
+                intElements[index] = readInt();
+            } else if (tag == SerializationTag.INT32 || tag == SerializationTag.DOUBLE) {
+                if (doubleElements == null) {
+                    doubleElements = new double[length];
+                    for (int i = 0; i < index; i++) {
+                        doubleElements[i] = intElements[i];
+                    }
+                }
+                doubleElements[index] = (tag == SerializationTag.INT32) ? readInt() : readCanonicalDouble();
             } else {
-                elements[i] = readValue(realm, tag);
+                break;
+            }
+        }
+        JSDynamicObject array;
+        List<Integer> holes = new ArrayList<>();
+        if (index == length && length != 0) {
+            array = (doubleElements == null) ? JSArray.createConstantIntArray(context, realm, intElements) : JSArray.createConstantDoubleArray(context, realm, doubleElements);
+            objectMap.put(id, array);
+        } else {
+            Object[] elements = new Object[length];
+            for (int i = 0; i < index; i++) {
+                elements[i] = (doubleElements == null) ? (Object) intElements[i] : (Object) doubleElements[i];
+            }
+            array = JSArray.createConstantObjectArray(context, realm, elements);
+            objectMap.put(id, array);
+            for (; index < length; index++) {
+                if (tag == null) {
+                    tag = readTag();
+                }
+                if (tag == SerializationTag.THE_HOLE) {
+                    holes.add(index);
+                } else {
+                    elements[index] = readValue(realm, tag);
+                }
+                tag = null;
             }
         }
         for (int hole : holes) {
@@ -429,6 +483,12 @@ public class Deserializer {
         return array;
     }
 
+    private double readCanonicalDouble() {
+        double value = readDouble();
+        // do not let arbitrary NaN payloads into double array storage
+        return Double.isNaN(value) ? Double.NaN : value;
+    }
+
     private JSDynamicObject readSparseArray(JSContext context, JSRealm realm) {
         long length = readVarLong();
         JSDynamicObject array = JSArray.createSparseArray(context, realm, length);
@@ -551,6 +611,8 @@ public class Deserializer {
         if (messagePortCache == null || messagePortCache.getMessagePortDataPointer() != messagePortPointer) {
             messagePortCache = SharedMemMessagingManager.getMessagePortDataFor(messagePortPointer);
         }
+        // the references of a message are queued once, so this relies on the message having a
+        // single receiver (see JavaMessagePortData)
         Object element = messagePortCache.removeJavaRef();
         assert element != null;
         return realm.getEnv().asGuestValue(element);
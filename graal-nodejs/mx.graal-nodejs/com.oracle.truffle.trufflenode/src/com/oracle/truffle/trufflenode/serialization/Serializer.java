@@ -43,20 +43,27 @@ package com.oracle.truffle.trufflenode.serialization;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
@@ -90,6 +97,8 @@ import com.oracle.truffle.js.runtime.builtins.JSStringObject;
 import com.oracle.truffle.js.runtime.builtins.JSTypedArrayObject;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -109,10 +118,16 @@ public class Serializer {
     public static final TruffleString COULD_NOT_BE_CLONED = Strings.constant(" could not be cloned.");
     public static final TruffleString HASH_BRACKETS_OBJECT = Strings.constant("#<Object>");
 
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    /** Largest buffer that is kept for reuse by the next serializer on the same thread. */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+    private static final ByteBuffer EMPTY_BUFFER = allocateBuffer(0);
+    private static final ThreadLocal<ByteBuffer> BUFFER_POOL = new ThreadLocal<>();
+
     /** Pointer to the corresponding v8::ValueSerializer. */
     private final long delegate;
     /** Buffer used for serialization. */
-    private ByteBuffer buffer = allocateBuffer(1024);
+    private ByteBuffer buffer = acquireBuffer();
     /** ID of the next serialized object. **/
     private int nextId;
     /** Maps a serialized object to its ID. */
@@ -121,6 +136,8 @@ public class Serializer {
     private final Map<Object, Integer> transferMap = new IdentityHashMap<>();
     /** Determines whether {@code ArrayBuffer}s should be serialized as host objects. */
     private boolean treatArrayBufferViewsAsHostObjects;
+    /** Enumerable properties and encoded keys of the shapes of serialized objects. */
+    private final Map<Shape, ShapeLayout> shapeLayouts = new HashMap<>();
 
     private final Env env;
     private final GraalJSAccess access;
@@ -139,12 +156,28 @@ public class Serializer {
         return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
     }
 
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer pooled = BUFFER_POOL.get();
+        if (pooled != null) {
+            BUFFER_POOL.set(null);
+            return pooled;
+        }
+        return allocateBuffer(INITIAL_BUFFER_SIZE);
+    }
+
+    private static void recycleBuffer(ByteBuffer released) {
+        if (released.capacity() != 0 && released.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+            released.clear();
+            BUFFER_POOL.set(released);
+        }
+    }
+
     private void ensureFreeSpace(int spaceNeeded) {
         ByteBuffer oldBuffer = buffer;
         int capacity = oldBuffer.capacity();
         int capacityNeeded = oldBuffer.position() + spaceNeeded;
         if (capacityNeeded > capacity) {
-            int newCapacity = Math.max(capacityNeeded, 2 * capacity);
+            int newCapacity = Math.max(capacityNeeded, Math.max(2 * capacity, INITIAL_BUFFER_SIZE));
             ByteBuffer newBuffer = allocateBuffer(newCapacity);
             oldBuffer.flip();
             newBuffer.put(oldBuffer);
@@ -286,18 +319,13 @@ public class Serializer {
     }
 
     public void writeVarInt(long value) {
+        ensureFreeSpace(10);
         long rest = value;
-        byte[] bytes = new byte[10];
-        int idx = 0;
-        do {
-            byte b = (byte) rest;
-            b |= 0x80;
-            bytes[idx] = b;
-            idx++;
+        while ((rest & ~0x7fL) != 0) {
+            buffer.put((byte) (rest | 0x80));
             rest >>>= 7;
-        } while (rest != 0);
-        bytes[idx - 1] &= 0x7f;
-        writeBytes(bytes, idx);
+        }
+        buffer.put((byte) rest);
     }
 
     private void writeBytes(byte[] bytes, int length) {
@@ -375,13 +403,11 @@ public class Serializer {
         Integer id = transferMap.get(arrayBuffer);
         if (id == null) {
             int byteLength = JSArrayBuffer.getDirectByteLength(arrayBuffer);
-            ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+            ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+            byteBuffer.clear().limit(byteLength);
             writeTag(SerializationTag.ARRAY_BUFFER);
             writeVarInt(byteLength);
-            ensureFreeSpace(byteLength);
-            for (int i = 0; i < byteLength; i++) {
-                buffer.put(byteBuffer.get(i));
-            }
+            writeBytes(byteBuffer);
         } else {
             writeTag(SerializationTag.ARRAY_BUFFER_TRANSFER);
             writeVarInt(Integer.toUnsignedLong(id));
@@ -397,27 +423,75 @@ public class Serializer {
     private void writeJSObject(JSDynamicObject object) {
         assert JSDynamicObject.isJSDynamicObject(object);
         writeTag(SerializationTag.BEGIN_JS_OBJECT);
-        List<TruffleString> names = JSObject.enumerableOwnNames(object);
-        writeJSObjectProperties(object, names);
+        int count;
+        if (JSConfig.FastOwnKeys && JSObject.getJSClass(object).hasOnlyShapeProperties(object)) {
+            count = writeJSObjectShapeProperties(object);
+        } else {
+            List<TruffleString> names = JSObject.enumerableOwnNames(object);
+            writeJSObjectProperties(object, names);
+            count = names.size();
+        }
         writeTag(SerializationTag.END_JS_OBJECT);
-        writeVarInt(names.size());
+        writeVarInt(count);
     }
 
     private void writeJSObjectProperties(JSDynamicObject object, List<TruffleString> keys) {
         assert JSDynamicObject.isJSDynamicObject(object);
         for (TruffleString key : keys) {
-            if (JSRuntime.isArrayIndex(key)) {
-                try {
-                    writeIntOrDouble(Strings.parseDouble(key));
-                } catch (TruffleString.NumberFormatException e) {
-                    throw CompilerDirectives.shouldNotReachHere(e);
-                }
+            writeKey(key);
+            Object value = JSObject.get(object, key);
+            writeValue(value);
+        }
+    }
+
+    /**
+     * Writes the enumerable properties of an object that has only shape properties. The keys of a
+     * shape are encoded once per serializer, and values of data properties are read directly from
+     * their locations as long as the shape does not change (writing a value may invoke getters).
+     */
+    private int writeJSObjectShapeProperties(JSDynamicObject object) {
+        Shape shape = object.getShape();
+        ShapeLayout layout = shapeLayouts.get(shape);
+        if (layout == null) {
+            layout = new ShapeLayout(JSShape.getEnumerablePropertyNames(shape), JSShape.getEnumerableDataPropertiesOrNull(shape));
+            shapeLayouts.put(shape, layout);
+        }
+        List<TruffleString> names = layout.names;
+        int count = names.size();
+        for (int i = 0; i < count; i++) {
+            byte[] encodedKey = layout.encodedKeys[i];
+            if (encodedKey == null) {
+                int start = buffer.position();
+                writeKey(names.get(i));
+                encodedKey = new byte[buffer.position() - start];
+                ByteBuffer written = buffer.duplicate();
+                written.position(start);
+                written.get(encodedKey);
+                layout.encodedKeys[i] = encodedKey;
             } else {
-                writeString(key);
+                writeBytes(encodedKey, encodedKey.length);
+            }
+            Object value;
+            if (layout.properties != null && object.getShape() == shape) {
+                value = JSProperty.getValue(layout.properties[i], object, object, null);
+            } else {
+                value = JSObject.get(object, names.get(i));
             }
-            Object value = JSObject.get(object, key);
             writeValue(value);
         }
+        return count;
+    }
+
+    private void writeKey(TruffleString key) {
+        if (JSRuntime.isArrayIndex(key)) {
+            try {
+                writeIntOrDouble(Strings.parseDouble(key));
+            } catch (TruffleString.NumberFormatException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        } else {
+            writeString(key);
+        }
     }
 
     private void writeJSMap(JSMapObject object) {
@@ -450,6 +524,18 @@ public class Serializer {
     private void writeJSArray(JSArrayObject object) {
         assert JSArray.isJSArray(object);
         long length = JSAbstractArray.arrayGetLength(object);
+        if (JSConfig.FastOwnKeys && isDenseFastArray(object, length)) {
+            // elements are written from the array storage, other properties are in the shape
+            List<TruffleString> names = JSShape.getEnumerablePropertyNames(object.getShape());
+            writeTag(SerializationTag.BEGIN_DENSE_JS_ARRAY);
+            writeVarInt(length);
+            writeDenseArrayElements(object, (int) length);
+            writeJSObjectProperties(object, names);
+            writeTag(SerializationTag.END_DENSE_JS_ARRAY);
+            writeVarInt(names.size());
+            writeVarInt(length);
+            return;
+        }
         List<TruffleString> names = JSObject.enumerableOwnNames(object);
         boolean dense = names.size() >= length;
         if (dense) {
@@ -479,6 +565,30 @@ public class Serializer {
         writeVarInt(length);
     }
 
+    private static boolean isDenseFastArray(JSArrayObject object, long length) {
+        if (!JSArray.isJSFastArray(object)) {
+            return false;
+        }
+        ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(object);
+        return length == 0 || (!arrayType.hasHoles(object) && arrayType.firstElementIndex(object) == 0 && arrayType.lastElementIndex(object) == length - 1);
+    }
+
+    private void writeDenseArrayElements(JSArrayObject object, int length) {
+        for (int i = 0; i < length; i++) {
+            // the array type is re-read since writing an element may invoke getters
+            ScriptArray arrayType = JSAbstractArray.arrayGetArrayType(object);
+            if (!arrayType.hasElement(object, i)) {
+                writeValue(JSObject.get(object, i));
+            } else if (arrayType instanceof AbstractIntArray) {
+                writeInt(((AbstractIntArray) arrayType).getInBoundsFastInt(object, i));
+            } else if (arrayType instanceof AbstractDoubleArray) {
+                writeIntOrDouble(((AbstractDoubleArray) arrayType).getInBoundsFastDouble(object, i));
+            } else {
+                writeValue(arrayType.getElement(object, i));
+            }
+        }
+    }
+
     private void writeJSArrayBufferView(JSTypedArrayObject view) {
         if (treatArrayBufferViewsAsHostObjects) {
             writeHostObject(view);
@@ -606,12 +716,31 @@ public class Serializer {
     }
 
     public void release(ByteBuffer targetBuffer) {
-        buffer.flip();
-        targetBuffer.put(buffer);
+        ByteBuffer released = buffer;
+        released.flip();
+        targetBuffer.put(released);
+        // the buffer can be reused by the next serializer, this one starts over if written again
+        buffer = EMPTY_BUFFER;
+        recycleBuffer(released);
     }
 
     private void assignId(Object object) {
         objectMap.put(object, nextId++);
     }
 
+    private static final class ShapeLayout {
+        /** Enumerable string keys of the shape. */
+        final List<TruffleString> names;
+        /** Properties corresponding to {@link #names}, or {@code null} if there are accessors. */
+        final Property[] properties;
+        /** Encoded keys, filled in when the key is written for the first time. */
+        final byte[][] encodedKeys;
+
+        ShapeLayout(List<TruffleString> names, Property[] properties) {
+            this.names = names;
+            this.properties = properties;
+            this.encodedKeys = new byte[names.size()][];
+        }
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,21 +40,59 @@
  */
 package com.oracle.truffle.trufflenode.threading;
 
-import java.util.Deque;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.oracle.truffle.trufflenode.JSExternalObject;
 
+/**
+ * Java references exchanged through one node::MessagePortData object. References are enqueued by
+ * the thread that encodes (posts) messages through the port and dequeued by the thread that
+ * decodes them. The references are kept in a lock-free linked queue that supports a single
+ * producer and a single consumer only: the producer only touches the tail, the consumer only the
+ * head, and they synchronize on the (volatile) link between the two.
+ *
+ * The single consumer is an assumption about the messages, not something the queue can enforce:
+ * every reference must be decoded exactly once, by the one receiver of the message. A message that
+ * is delivered to several receivers (e.g., through a {@code BroadcastChannel}) would dequeue its
+ * references once per receiver, possibly concurrently from different threads, so it must not carry
+ * Java references. Concurrent dequeues are detected by an assertion.
+ */
 public class JavaMessagePortData {
 
     private final long nativePointer;
-    private final Deque<Object> queue;
+    /**
+     * Number of users that {@link SharedMemMessagingManager#acquire acquired} this object; 0 once
+     * it has been disposed.
+     */
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    /** Sentinel node, the references are in its successors. Accessed by the consumer only. */
+    private Node head;
+    /** Last enqueued node. Accessed by the producer only. */
+    private Node tail;
+    /** Value of {@link #tail} before the references of the current message were enqueued. */
+    private Node messageStart;
     private int encodedRefs;
 
+    /**
+     * Throughput statistics. Every counter is updated by one thread only; they are plain fields to
+     * keep the queue operations cheap, so other threads may read slightly stale values.
+     */
+    private long enqueuedRefs;
+    private long dequeuedRefs;
+    private long discardedRefs;
+
+    /** Set while a reference is dequeued; only used to assert that there is a single consumer. */
+    private final AtomicBoolean dequeuing = new AtomicBoolean();
+
     public JavaMessagePortData(JSExternalObject external) {
-        this.encodedRefs = 0;
-        this.queue = new ConcurrentLinkedDeque<>();
         this.nativePointer = external.getPointer();
+        Node sentinel = new Node(null);
+        this.head = sentinel;
+        this.tail = sentinel;
+        this.messageStart = sentinel;
     }
 
     public long getMessagePortDataPointer() {
@@ -63,6 +101,7 @@ public class JavaMessagePortData {
 
     public void encodingBegin() {
         encodedRefs = 0;
+        messageStart = tail;
     }
 
     public void encodingEnd() {
@@ -74,19 +113,98 @@ public class JavaMessagePortData {
     }
 
     public void enqueueJavaRef(Object hostObject) {
-        queue.add(hostObject);
+        Node node = new Node(hostObject);
+        tail.next = node;
+        tail = node;
         encodedRefs++;
+        enqueuedRefs++;
     }
 
+    /**
+     * Removes the references of the message that has just been encoded. The message has not been
+     * delivered, so the consumer never reaches these references and unlinking them is safe.
+     */
     public void disposeLastMessageRefs() {
-        for (int i = 0; i < encodedRefs; i++) {
-            queue.removeLast();
-        }
+        messageStart.next = null;
+        tail = messageStart;
+        discardedRefs += encodedRefs;
         encodedRefs = 0;
     }
 
+    /**
+     * Dequeues the next reference. Must only be called by the single receiver of the messages (see
+     * class comment).
+     */
     public Object removeJavaRef() {
-        return queue.removeFirst();
+        assert dequeuing.compareAndSet(false, true) : "concurrent consumers of the Java references";
+        try {
+            Node next = head.next;
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Object value = next.value;
+            next.value = null;
+            head = next;
+            dequeuedRefs++;
+            return value;
+        } finally {
+            assert resetDequeuing();
+        }
+    }
+
+    private boolean resetDequeuing() {
+        dequeuing.set(false);
+        return true;
+    }
+
+    boolean retain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count == 0) {
+                return false;
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the last reference has been released, i.e., this object has been
+     * disposed.
+     */
+    boolean release() {
+        int count = refCount.decrementAndGet();
+        assert count >= 0;
+        return count == 0;
+    }
+
+    public boolean isDisposed() {
+        return refCount.get() == 0;
+    }
+
+    public long getEnqueuedRefs() {
+        return enqueuedRefs;
+    }
+
+    public long getDequeuedRefs() {
+        return dequeuedRefs;
+    }
+
+    public long getDiscardedRefs() {
+        return discardedRefs;
+    }
+
+    public long getPendingRefs() {
+        return enqueuedRefs - discardedRefs - dequeuedRefs;
+    }
+
+    private static final class Node {
+        Object value;
+        volatile Node next;
+
+        Node(Object value) {
+            this.value = value;
+        }
     }
 
 }
@@ -55,6 +55,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSNonProxyObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.trufflenode.JSExternalObject;
 
 /**
  * JS Builtins used by Node.s workers to send Java object references via message passing (@see
@@ -100,8 +101,37 @@ public final class SharedMemMessagingBindings extends JSNonProxy {
 
     public static final class Instance extends JSNonProxyObject {
 
+        /** Java-space representation of the MessagePortData of the port this instance belongs to. */
+        private JavaMessagePortData messagePortData;
+
         protected Instance(Shape shape) {
             super(shape);
         }
+
+        @TruffleBoundary
+        JavaMessagePortData getMessagePortData(JSExternalObject nativeMessagePortData) {
+            JavaMessagePortData data = messagePortData;
+            if (data == null || data.getMessagePortDataPointer() != nativeMessagePortData.getPointer() || data.isDisposed()) {
+                if (data != null && !data.isDisposed()) {
+                    SharedMemMessagingManager.release(data);
+                }
+                data = SharedMemMessagingManager.acquire(nativeMessagePortData);
+                messagePortData = data;
+            }
+            return data;
+        }
+
+        JavaMessagePortData getMessagePortData() {
+            return messagePortData;
+        }
+
+        @TruffleBoundary
+        void disposeMessagePortData(JSExternalObject nativeMessagePortData) {
+            JavaMessagePortData data = messagePortData;
+            if (data != null && data.getMessagePortDataPointer() == nativeMessagePortData.getPointer()) {
+                messagePortData = null;
+                SharedMemMessagingManager.release(data);
+            }
+        }
     }
 }
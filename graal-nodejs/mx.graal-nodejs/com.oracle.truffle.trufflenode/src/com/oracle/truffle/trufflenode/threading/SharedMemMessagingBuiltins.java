@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -49,8 +49,11 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.JSExternal;
 import com.oracle.truffle.trufflenode.JSExternalObject;
@@ -59,6 +62,7 @@ import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactor
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.EnterNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.FreeNodeGen;
 import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.LeaveNodeGen;
+import com.oracle.truffle.trufflenode.threading.SharedMemMessagingBuiltinsFactory.StatisticsNodeGen;
 
 public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<SharedMemMessagingBuiltins.API> {
 
@@ -73,7 +77,8 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         leave(0),
         free(0),
         encodedJavaRefs(0),
-        dispose(1);
+        dispose(1),
+        statistics(0);
 
         private final int length;
 
@@ -100,6 +105,8 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
                 return EncodedRefsNodeGen.create(context, builtin, args().withThis().fixedArgs(0).createArgumentNodes(context));
             case dispose:
                 return DisposeNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case statistics:
+                return StatisticsNodeGen.create(context, builtin, args().withThis().fixedArgs(0).createArgumentNodes(context));
         }
         return null;
     }
@@ -116,7 +123,7 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         @TruffleBoundary
         @Specialization
         public Object enter(SharedMemMessagingBindings.Instance self, JSExternalObject nativeMessagePortData) {
-            GraalJSAccess.get(this).setCurrentMessagePortData(nativeMessagePortData);
+            GraalJSAccess.get(this).setCurrentMessagePortData(self.getMessagePortData(nativeMessagePortData));
             return self;
         }
 
@@ -212,7 +219,7 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         @TruffleBoundary
         @Specialization
         static Object dispose(SharedMemMessagingBindings.Instance self, JSExternalObject external) {
-            SharedMemMessagingManager.disposeReferences(external);
+            self.disposeMessagePortData(external);
             return self;
         }
 
@@ -226,4 +233,39 @@ public class SharedMemMessagingBuiltins extends JSBuiltinsContainer.SwitchEnum<S
         }
     }
 
+    /**
+     * Returns the number of Java references enqueued, dequeued, discarded (because the message was
+     * not delivered) and pending for the port of this instance.
+     */
+    public abstract static class StatisticsNode extends JSBuiltinNode {
+
+        private static final TruffleString ENQUEUED = Strings.constant("enqueued");
+        private static final TruffleString DEQUEUED = Strings.constant("dequeued");
+        private static final TruffleString DISCARDED = Strings.constant("discarded");
+        private static final TruffleString PENDING = Strings.constant("pending");
+
+        protected StatisticsNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @TruffleBoundary
+        @Specialization
+        Object statistics(SharedMemMessagingBindings.Instance self) {
+            JavaMessagePortData data = self.getMessagePortData();
+            JSRealm realm = getRealm();
+            JSObject result = JSOrdinary.create(getContext(), realm);
+            JSObject.set(result, ENQUEUED, data == null ? 0 : (double) data.getEnqueuedRefs());
+            JSObject.set(result, DEQUEUED, data == null ? 0 : (double) data.getDequeuedRefs());
+            JSObject.set(result, DISCARDED, data == null ? 0 : (double) data.getDiscardedRefs());
+            JSObject.set(result, PENDING, data == null ? 0 : (double) data.getPendingRefs());
+            return result;
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        @Fallback
+        final Object incompatibleReceiver(Object self) {
+            throw Errors.createTypeErrorIncompatibleReceiver(getBuiltin().getFullName(), self);
+        }
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -49,6 +49,10 @@ import com.oracle.truffle.trufflenode.JSExternalObject;
 /**
  * Registry of active node::MessagePortData objects that have exchanged Java object references
  * during message encoding using Node's workers.
+ *
+ * The registry is consulted by the receiving side only (the encoded message contains just the
+ * native pointer). The sending side {@link #acquire acquires} the Java-space representation once
+ * per port and keeps it until the port is closed, see {@link SharedMemMessagingBindings.Instance}.
  */
 public class SharedMemMessagingManager {
 
@@ -64,21 +68,33 @@ public class SharedMemMessagingManager {
         return activeMessagePortRefs.get(nativePointer);
     }
 
+    /**
+     * Returns the Java-space representation of the given MessagePortData, creating it if needed.
+     * Every call has to be balanced by a call to {@link #release}.
+     */
     @TruffleBoundary
-    public static JavaMessagePortData getJavaMessagePortDataFor(JSExternalObject nativeMessagePortData) {
+    public static JavaMessagePortData acquire(JSExternalObject nativeMessagePortData) {
         long pointer = nativeMessagePortData.getPointer();
-
-        JavaMessagePortData data = activeMessagePortRefs.get(pointer);
-        if (data == null) {
-            data = new JavaMessagePortData(nativeMessagePortData);
-            activeMessagePortRefs.put(pointer, data);
+        while (true) {
+            JavaMessagePortData data = activeMessagePortRefs.get(pointer);
+            if (data == null) {
+                data = new JavaMessagePortData(nativeMessagePortData);
+                if (activeMessagePortRefs.putIfAbsent(pointer, data) == null) {
+                    return data;
+                }
+            } else if (data.retain()) {
+                return data;
+            } else {
+                // disposed concurrently
+                activeMessagePortRefs.remove(pointer, data);
+            }
         }
-        return data;
     }
 
     @TruffleBoundary
-    public static void disposeReferences(JSExternalObject nativeMessagePortData) {
-        long pointer = nativeMessagePortData.getPointer();
-        activeMessagePortRefs.remove(pointer);
+    public static void release(JavaMessagePortData data) {
+        if (data.release()) {
+            activeMessagePortRefs.remove(data.getMessagePortDataPointer(), data);
+        }
     }
 }
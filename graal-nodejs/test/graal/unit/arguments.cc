@@ -72,4 +72,14 @@ EXPORT_TO_JS(Identity) {
     args.GetReturnValue().Set(args[0]);
 }
 
+EXPORT_TO_JS(ToArray) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Array> result = Array::New(isolate, args.Length());
+    for (int i = 0; i < args.Length(); i++) {
+        result->Set(context, i, args[i]).FromJust();
+    }
+    args.GetReturnValue().Set(result);
+}
+
 #undef SUITE
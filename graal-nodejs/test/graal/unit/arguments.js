@@ -105,4 +105,47 @@ describe('Arguments', function () {
             });
         });
     });
+    describe('Length', function () {
+        it('should pass all arguments of various types', function () {
+            var values = [
+                undefined,
+                null,
+                true,
+                false,
+                42,
+                Math.PI,
+                'string',
+                Symbol.iterator,
+                10n,
+                { foo: 'bar' },
+                [1, 2, 3],
+                new Uint8Array(4),
+                new Float64Array(new ArrayBuffer(64), 8, 2),
+                new DataView(new ArrayBuffer(16), 4),
+                new ArrayBuffer(8),
+                function () {}
+            ];
+            for (var length = 0; length <= 20; length++) {
+                var args = [];
+                for (var i = 0; i < length; i++) {
+                    args.push(values[(i * 7 + length) % values.length]);
+                }
+                var result = module.Arguments_ToArray.apply(null, args);
+                assert.strictEqual(result.length, length);
+                for (var j = 0; j < length; j++) {
+                    assert.strictEqual(result[j], args[j]);
+                }
+            }
+        });
+        it('should preserve numbers and array buffer views for many arguments', function () {
+            var buffer = new ArrayBuffer(32);
+            var view = new Int32Array(buffer, 4, 3);
+            for (var k = 0; k < 100; k++) {
+                var result = module.Arguments_ToArray(0, 1.5, view, -2, true, view, 3, 'x', 4.25, view, 5, false, 6, 7, view, 8, 9, 10);
+                assert.deepStrictEqual(result, [0, 1.5, view, -2, true, view, 3, 'x', 4.25, view, 5, false, 6, 7, view, 8, 9, 10]);
+                assert.strictEqual(result[2].byteOffset, 4);
+                assert.strictEqual(result[2].length, 3);
+            }
+        });
+    });
 });
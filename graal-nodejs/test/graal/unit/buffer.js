@@ -90,6 +90,28 @@ describe('Buffer.utf8Write', function() {
     it('should deal with utf8 inputs #2', function() {
         assert.strictEqual(Buffer.alloc(10).utf8Write('½½½'), 6);
     });
+    it('should not write partial characters', function() {
+        var buffer = Buffer.alloc(10);
+        assert.strictEqual(buffer.utf8Write('a\u20ac\ud83d\ude00', 0, 3), 1);
+        assert.strictEqual(buffer.utf8Write('a\u20ac\ud83d\ude00', 0, 7), 4);
+        assert.strictEqual(buffer.utf8Write('a\u20ac\ud83d\ude00', 0, 8), 8);
+        assert.strictEqual(buffer.toString('hex'), '61e282acf09f98800000');
+    });
+    it('should replace unpaired surrogates', function() {
+        var buffer = Buffer.alloc(12);
+        assert.strictEqual(buffer.utf8Write('\ud800a\udc00\ud83d'), 10);
+        assert.strictEqual(buffer.toString('hex'), 'efbfbd61efbfbdefbfbd0000');
+        assert.strictEqual(buffer.utf8Write('\udc00\ud800', 0, 5), 3);
+    });
+    it('should write long ASCII and Latin-1 strings', function() {
+        var ascii = 'abcdefghijklmnopqrstuvwxyz0123456789'.repeat(100);
+        var buffer = Buffer.alloc(ascii.length + 10);
+        assert.strictEqual(buffer.utf8Write(ascii, 5), ascii.length);
+        assert.strictEqual(buffer.toString('latin1', 5, 5 + ascii.length), ascii);
+        var latin1 = 'caf\u00e9 '.repeat(100);
+        assert.strictEqual(buffer.utf8Write(latin1, 0, 10), 9);
+        assert.strictEqual(buffer.toString('utf8', 0, 9), 'caf\u00e9 caf');
+    });
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Write.length, 0);
     });
@@ -156,6 +178,31 @@ describe('Buffer.utf8Slice', function() {
             Buffer.prototype.utf8Slice.call(1)
         }, TypeError);
     });
+    it('should decode ASCII', function() {
+        var ascii = 'abcdefghijklmnopqrstuvwxyz0123456789'.repeat(100);
+        var buffer = Buffer.from('xx' + ascii + 'yy', 'latin1');
+        assert.strictEqual(buffer.utf8Slice(2, 2 + ascii.length), ascii);
+    });
+    it('should decode multi-byte sequences', function() {
+        var buffer = Buffer.from('61c3a9e282acf09f9880' + '62'.repeat(20) + 'c3a9', 'hex');
+        assert.strictEqual(buffer.utf8Slice(), 'a\u00e9\u20ac\ud83d\ude00' + 'b'.repeat(20) + '\u00e9');
+    });
+    it('should replace ill-formed sequences', function() {
+        var cases = [
+            ['80', '\ufffd'],
+            ['c0af', '\ufffd\ufffd'],
+            ['e282', '\ufffd'],
+            ['e28261', '\ufffda'],
+            ['eda080', '\ufffd\ufffd\ufffd'],
+            ['f09f98', '\ufffd'],
+            ['f4908080', '\ufffd\ufffd\ufffd\ufffd'],
+            ['ff61fe', '\ufffda\ufffd'],
+            ['6161616161616161e2', 'aaaaaaaa\ufffd']
+        ];
+        cases.forEach(function([hex, expected]) {
+            assert.strictEqual(Buffer.from(hex, 'hex').utf8Slice(), expected, hex);
+        });
+    });
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Slice.length, 0);
     });
@@ -43,6 +43,7 @@ var assert = require('assert');
 var module = require('./_unit');
 
 const {
+    MessageChannel,
     Worker,
     MessagePort,
     isMainThread,
@@ -337,4 +338,26 @@ describe('Java interop messages', function() {
             new JavaAsyncClass(asyncJavaEvents.queue).doAsynchronousWork();
         }
     });
+    it('reports statistics of exchanged Java references', function(done) {
+        const A = Java.type('java.util.concurrent.atomic.AtomicInteger');
+        const { port1, port2 } = new MessageChannel();
+        const messages = 5;
+        var received = 0;
+        port2.on('message', (m) => {
+            assert.strictEqual(m.first.get(), received);
+            assert.strictEqual(m.second.get(), -received);
+            if (++received === messages) {
+                const stats = port1.sharedMemMessaging.statistics();
+                assert.strictEqual(stats.enqueued, 2 * messages);
+                assert.strictEqual(stats.dequeued, 2 * messages);
+                assert.strictEqual(stats.discarded, 0);
+                assert.strictEqual(stats.pending, 0);
+                port1.close();
+                done();
+            }
+        });
+        for (var i = 0; i < messages; i++) {
+            port1.postMessage({ first: new A(i), second: new A(-i) });
+        }
+    });
 });
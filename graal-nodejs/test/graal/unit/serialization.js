@@ -112,6 +112,11 @@ var data = [
     [sparseArray, 'ff0d61e807495449a6034001e807'],
     [sparseArrayWithProperty, 'ff0d61e807495449a6032203666f6f22036261724002e807'],
     [denseArrayWithProperty, 'ff0d4102495449a6032203666f6f2203626172240102'],
+    [[1,2,3], 'ff0d4103490249044906240003'],
+    [[1,2.5,'x'], 'ff0d410349024e0000000000000440220178240003'],
+    [[{a:1,b:'x'},{a:2,b:'y'}], 'ff0d41026f22016149022201622201787b026f22016149042201622201797b02240002'],
+    [{arr:[[1,2],[3,4]]}, 'ff0d6f220361727241024102490249042400024102490649082400022400027b01'],
+    [{1:1,b:2}, 'ff0d6f4902490222016249047b02'],
     [sparseArrayWithHighIndex, 'ff0d61ffffffff0f4e0000c0ffffffef4149004001ffffffff0f'],
     [0n, 'ff0d5a00'],
     [1n, 'ff0d5a100100000000000000'],
@@ -160,6 +165,35 @@ describe('Serialization', function () {
         assert.deepEqual(deserialized.ref1, object);
         assert.deepEqual(deserialized.ref2, object);
     });
+    it('should round-trip numeric arrays and objects of the same shape', function () {
+        var objects = [];
+        for (var i = 0; i < 100; i++) {
+            objects.push({ id: i, name: 'item' + i, tags: [i, i + 0.5], 0: i });
+        }
+        var values = [
+            objects,
+            [1.5, -0, NaN, Infinity, 2],
+            [1, 2, 3.5, 'x', objects[0]],
+            new Float64Array([1.5, -2.5]),
+            new Uint8Array(100000).fill(7)
+        ];
+        for (var value of values) {
+            assert.deepStrictEqual(v8.deserialize(v8.serialize(value)), value);
+        }
+    });
+    it('should serialize objects whose shape changes during serialization', function () {
+        var object = { a: 1, get b() { delete this.c; this.d = 4; return 2; }, c: 3 };
+        var deserialized = v8.deserialize(v8.serialize([object, { e: object }]));
+        assert.strictEqual(deserialized[0].a, 1);
+        assert.strictEqual(deserialized[0].b, 2);
+        assert.strictEqual(deserialized[0].c, undefined);
+        assert.strictEqual(deserialized[1].e, deserialized[0]);
+        var array = [1, 2, { get x() { array.length = 1; return 'x'; } }, 4];
+        deserialized = v8.deserialize(v8.serialize(array));
+        assert.strictEqual(deserialized.length, 4);
+        assert.deepStrictEqual(deserialized.slice(0, 3), [1, 2, { x: 'x' }]);
+        assert.strictEqual(deserialized[3], undefined);
+    });
     it('should refuse to serialize SharedArrayBuffer', function () {
         assert.throws(function() {
             v8.serialize(new SharedArrayBuffer(10))